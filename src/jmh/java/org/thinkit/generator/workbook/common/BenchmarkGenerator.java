@@ -0,0 +1,38 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.thinkit.generator.workbook.common;
+
+/**
+ * ベンチマークで使用する何も生成しない生成器です。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class BenchmarkGenerator extends AbstractGenerator {
+
+    /**
+     * コンストラクタ
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     */
+    public BenchmarkGenerator(DefinitionPath definitionPath) {
+        super(definitionPath);
+    }
+
+    @Override
+    protected boolean run() {
+        return true;
+    }
+}
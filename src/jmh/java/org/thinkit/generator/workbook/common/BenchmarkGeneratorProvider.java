@@ -0,0 +1,38 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.thinkit.generator.workbook.common;
+
+import org.thinkit.generator.common.Generator;
+import org.thinkit.generator.common.catalog.GeneratorDivision;
+
+/**
+ * ベンチマークで使用する {@link BenchmarkGenerator} を提供するプロバイダです。<br>
+ * 生成器区分の先頭の要素に対応する生成器として登録されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class BenchmarkGeneratorProvider implements GeneratorProvider {
+
+    @Override
+    public GeneratorDivision getGeneratorDivision() {
+        return GeneratorDivision.values()[0];
+    }
+
+    @Override
+    public Generator create(DefinitionPath definitionPath) {
+        return new BenchmarkGenerator(definitionPath);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thinkit.common.catalog.Platform;
+import org.thinkit.generator.workbook.common.content.entity.DefaultOutputPath;
+import org.thinkit.generator.workbook.common.content.rule.DefaultOutputPathCache;
+import org.thinkit.generator.workbook.common.content.rule.DefaultOutputPathCollector;
+
+/**
+ * コンテンツ「既定出力先」の読み込みに関するベンチマークです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultOutputPathCollectorBenchmark {
+
+    /**
+     * プログラム実行時のプラットフォーム
+     */
+    private final Platform platform = Platform.getPlatform();
+
+    /**
+     * {@link DefaultOutputPathCollector#execute()} を直接実行しコンテンツを読み込みます。
+     *
+     * @return 既定出力先
+     */
+    @Benchmark
+    public DefaultOutputPath collectorExecute() {
+        return DefaultOutputPathCollector.of(this.platform).execute();
+    }
+
+    /**
+     * {@link DefaultOutputPathCache} を介して既定出力先を取得します。
+     *
+     * @return 既定出力先
+     */
+    @Benchmark
+    public DefaultOutputPath cacheGet() {
+        return DefaultOutputPathCache.getInstance().get(this.platform);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DefinitionPath} の生成と出力先パスの解決に関するベンチマークです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefinitionPathBenchmark {
+
+    /**
+     * 定義書のファイルパス
+     */
+    private static final String FILE_PATH = "definition/DtoDefinition.xlsx";
+
+    /**
+     * 出力先パス
+     */
+    private static final String OUTPUT_PATH = "build/generated";
+
+    /**
+     * 出力先パスを指定せずに {@link DefinitionPath} を生成します。
+     *
+     * @return 生成した {@link DefinitionPath}
+     */
+    @Benchmark
+    public DefinitionPath ofWithoutOutputPath() {
+        return DefinitionPath.of(FILE_PATH);
+    }
+
+    /**
+     * 出力先パスを指定せずに {@link DefinitionPath} を生成し、既定の出力先パスを解決します。
+     *
+     * @return 解決した出力先パス
+     */
+    @Benchmark
+    public String ofWithoutOutputPathAndResolve() {
+        return DefinitionPath.of(FILE_PATH).getOutputPath();
+    }
+
+    /**
+     * 出力先パスを指定して {@link DefinitionPath} を生成し、出力先パスを取得します。
+     *
+     * @return 出力先パス
+     */
+    @Benchmark
+    public String ofWithOutputPath() {
+        return DefinitionPath.of(FILE_PATH, OUTPUT_PATH).getOutputPath();
+    }
+}
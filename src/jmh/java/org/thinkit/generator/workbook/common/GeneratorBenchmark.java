@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thinkit.generator.common.Generator;
+import org.thinkit.generator.common.catalog.GeneratorDivision;
+
+/**
+ * 生成器の出力先パスの解決と {@link GeneratorFactory} による生成器の生成に関するベンチマークです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    /**
+     * パッケージ名
+     */
+    @Param({ "", "org.thinkit.generator.workbook.common" })
+    private String packageName;
+
+    /**
+     * 生成する定義のパスを管理するオブジェクト
+     */
+    private DefinitionPath definitionPath;
+
+    /**
+     * 生成器
+     */
+    private BenchmarkGenerator generator;
+
+    /**
+     * 生成器区分
+     */
+    private GeneratorDivision generatorDivision;
+
+    /**
+     * ベンチマークの前処理です。
+     */
+    @Setup
+    public void setUp() {
+        this.definitionPath = DefinitionPath.of("definition/DtoDefinition.xlsx", "build/generated");
+        this.generator = new BenchmarkGenerator(this.definitionPath);
+        this.generatorDivision = new BenchmarkGeneratorProvider().getGeneratorDivision();
+    }
+
+    /**
+     * {@link AbstractGenerator#getOutputPath(String)} を実行します。
+     *
+     * @return パッケージ情報を付与した出力先のパス
+     */
+    @Benchmark
+    public String getOutputPath() {
+        return this.generator.getOutputPath(this.packageName);
+    }
+
+    /**
+     * {@link AbstractGenerator#getPackagePath(String)} を実行します。
+     *
+     * @return パッケージ情報を付与した出力先のパス
+     */
+    @Benchmark
+    public Path getPackagePath() {
+        return this.generator.getPackagePath(this.packageName);
+    }
+
+    /**
+     * {@link GeneratorFactory} から生成器を生成します。
+     *
+     * @return 生成器
+     */
+    @Benchmark
+    public Generator factoryDispatch() {
+        return GeneratorFactory.getInstance().create(this.generatorDivision, this.definitionPath);
+    }
+}
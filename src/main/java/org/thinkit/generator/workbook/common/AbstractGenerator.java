@@ -14,17 +14,35 @@
 
 package org.thinkit.generator.workbook.common;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.flogger.FluentLogger;
 
-import org.apache.commons.lang3.StringUtils;
-import org.thinkit.common.catalog.Delimiter;
-import org.thinkit.common.util.file.FluentFile;
 import org.thinkit.generator.common.Generator;
+import org.thinkit.generator.common.catalog.GeneratorDivision;
+import org.thinkit.generator.workbook.common.metrics.ExecutionMeter;
+import org.thinkit.generator.workbook.common.metrics.GenerationMetrics;
+import org.thinkit.generator.workbook.common.output.OutputSink;
+import org.thinkit.generator.workbook.common.output.WriteMode;
+import org.thinkit.generator.workbook.common.reader.SheetData;
+import org.thinkit.generator.workbook.common.reader.SheetDataCache;
+import org.thinkit.generator.workbook.common.reader.WorkbookReader;
+import org.thinkit.generator.workbook.common.reader.WorkbookReaders;
+import org.thinkit.generator.workbook.common.trace.GenerationEvent;
+import org.thinkit.generator.workbook.common.trace.TraceContext;
 
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.ToString;
 
 /**
@@ -43,12 +61,67 @@ public abstract class AbstractGenerator implements Generator {
      */
     private static final FluentLogger logger = FluentLogger.forEnclosingClass();
 
+    /**
+     * パッケージ毎の出力先パスを保持するキャッシュの最大要素数
+     */
+    private static final int PACKAGE_PATH_CACHE_SIZE = 256;
+
     /**
      * 生成する定義のパスを管理するオブジェクト
      */
-    @Getter(AccessLevel.PRIVATE)
+    @Getter(AccessLevel.PACKAGE)
     private DefinitionPath definitionPath = null;
 
+    /**
+     * 生成器区分
+     */
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private GeneratorDivision generatorDivision = null;
+
+    /**
+     * パッケージ名をキーとした出力先パスのキャッシュ
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Cache<String, Path> packagePathCache = CacheBuilder.newBuilder()
+            .maximumSize(PACKAGE_PATH_CACHE_SIZE).build();
+
+    /**
+     * 生成されたファイルを出力するオブジェクト
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private OutputSink outputSink = null;
+
+    /**
+     * 実行の取り消しが要求されたか否か
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile boolean cancelled = false;
+
+    /**
+     * 実行中の計測を行うオブジェクト(計測が有効でない場合は {@code null})
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile ExecutionMeter executionMeter = null;
+
+    /**
+     * 実行中か否か({@link #runLock} で排他制御される)
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean running = false;
+
+    /**
+     * 実行状態と取り消し要求を排他制御するオブジェクト
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Object runLock = new Object();
+
     /**
      * デフォルトコンストラクタ
      */
@@ -75,19 +148,249 @@ public abstract class AbstractGenerator implements Generator {
 
     @Override
     public boolean execute() {
+        return this.executeForResult().isSuccessful();
+    }
 
-        try {
-            if (!this.run()) {
-                return false;
+    /**
+     * 引数として指定された {@link Executor} で {@link #run()} を非同期に実行し、その結果を {@link CompletableFuture}
+     * として返却します。<br>
+     * {@link #run()} の実行時に発生した例外は {@link CompletableFuture} の例外としてではなく、実行結果の異常終了の原因として設定されます。
+     * <p>
+     * 返却された {@link CompletableFuture} を取り消した場合、実行開始前であれば {@link #run()} は実行されません。<br>
+     * 実行中に取り消された場合は {@link #cancel()} が呼び出され、{@link #run()} が {@link #isCancelled()} または
+     * {@link #checkCancelled()} で取り消しを検知して処理を中断することができます。<br>
+     * 実行終了後に取り消された場合は次回の実行には影響しません。
+     *
+     * @param executor {@link #run()} を実行する {@link Executor}
+     * @return 生成器の実行結果を返却する {@link CompletableFuture}
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public CompletableFuture<GenerationResult> executeAsync(@NonNull Executor executor) {
+
+        final long submittedTime = System.nanoTime();
+        final CompletableFuture<GenerationResult> future = new CompletableFuture<>();
+
+        future.whenComplete((result, cause) -> {
+            if (future.isCancelled()) {
+                this.cancelIfRunning();
+            }
+        });
+
+        executor.execute(() -> {
+            if (future.isDone()) {
+                return;
             }
+
+            final long queuedNanos = System.nanoTime() - submittedTime;
+            this.beginRun();
+
+            try {
+                // 実行開始の直前に取り消された場合は cancelIfRunning() が実行中と判定できないため、ここで取り消しを反映する
+                if (future.isCancelled()) {
+                    this.cancelled = true;
+                }
+
+                future.complete(this.executeMeasured().withQueuedNanos(queuedNanos));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                this.endRun();
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * 生成器の実行の取り消しを要求します。<br>
+     * 取り消しは {@link #run()} が {@link #isCancelled()} または {@link #checkCancelled()} で検知した時点で反映されます。<br>
+     * 実行開始前に要求された取り消しは次回の実行に反映され、その実行は {@link #run()} を実行せずに
+     * {@link GenerationStatus#CANCELLED} となります。取り消しの要求は実行の終了時に消去されます。
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * 実行中の場合のみ生成器の実行の取り消しを要求します。<br>
+     * 実行が終了した後の取り消しが次回の実行に持ち越されないようにするために使用します。
+     */
+    private void cancelIfRunning() {
+        synchronized (this.runLock) {
+            if (this.running) {
+                this.cancelled = true;
+            }
+        }
+    }
+
+    /**
+     * 実行の開始を記録します。
+     */
+    private void beginRun() {
+        synchronized (this.runLock) {
+            this.running = true;
+        }
+    }
+
+    /**
+     * 実行の終了を記録し、実行中に要求された取り消しを消去します。
+     */
+    private void endRun() {
+        synchronized (this.runLock) {
+            this.running = false;
+            this.cancelled = false;
+        }
+    }
+
+    /**
+     * 生成器の実行の取り消しが要求されているか判定します。
+     *
+     * @return 取り消しが要求されている場合は {@code true} 、それ以外は {@code false}
+     */
+    protected boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * 生成器の実行の取り消しが要求されている場合は {@link CancellationException} を送出します。<br>
+     * {@link #run()} の処理の区切りで呼び出すことで、取り消された実行を速やかに中断することができます。
+     *
+     * @exception CancellationException 取り消しが要求されている場合
+     */
+    protected void checkCancelled() {
+        if (this.cancelled) {
+            throw new CancellationException(
+                    String.format("生成器の実行が取り消されました。定義書 = (%s)", this.definitionPath.getFilePath()));
+        }
+    }
+
+    /**
+     * {@link #run()} を実行し、その結果を {@link GenerationResult} として返却します。<br>
+     * {@link #run()} の実行時に発生した例外は実行結果の異常終了の原因として設定されます。
+     * <p>
+     * {@link GenerationMetrics} に計測値の出力先が登録されている場合は {@link #run()}
+     * の経過時間、CPU時間、割り当てバイト数を計測し出力先へ出力します。
+     * <p>
+     * 実行開始前に {@link #cancel()} で取り消しが要求されていた場合は {@link #run()} を実行せずに
+     * {@link GenerationStatus#CANCELLED} を返却します。
+     *
+     * @return 生成器の実行結果
+     */
+    final GenerationResult executeForResult() {
+
+        this.beginRun();
+
+        try {
+            return this.executeMeasured();
+        } finally {
+            this.endRun();
+        }
+    }
+
+    /**
+     * {@link #run()} を実行し、その結果を {@link GenerationResult} として返却します。<br>
+     * {@link GenerationMetrics} に計測値の出力先が登録されている場合は計測値を出力先へ出力します。
+     * <p>
+     * 実行中は {@link TraceContext} に生成器区分と定義書のパスが設定され、実行全体は {@link GenerationEvent} として記録されます。
+     *
+     * @return 生成器の実行結果
+     */
+    private GenerationResult executeMeasured() {
+
+        final TraceContext traceContext = TraceContext.of(
+                this.generatorDivision == null ? "" : this.generatorDivision.name(), this.definitionPath.getFilePath());
+        final GenerationEvent generationEvent = new GenerationEvent();
+        generationEvent.begin();
+
+        final TraceContext.Scope scope = traceContext.enter();
+
+        try {
+            final GenerationResult result = this.runMeasured();
+            generationEvent.complete(traceContext, this.getClass().getName(), result.getStatus().name(),
+                    result.getFilesWritten());
+
+            return result;
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * {@link #run()} を実行し、その結果を {@link GenerationResult} として返却します。<br>
+     * {@link GenerationMetrics} に計測値の出力先が登録されている場合は計測値を出力先へ出力します。
+     *
+     * @return 生成器の実行結果
+     */
+    private GenerationResult runMeasured() {
+
+        final GenerationMetrics generationMetrics = GenerationMetrics.getInstance();
+
+        if (!generationMetrics.isEnabled()) {
+            return this.runForResult();
+        }
+
+        final ExecutionMeter executionMeter = ExecutionMeter.start();
+        final GenerationResult result;
+
+        // シートを並列に処理するワーカースレッドの計測値も合算するため実行中の計測を保持する
+        this.executionMeter = executionMeter;
+
+        try {
+            result = this.runForResult();
+        } finally {
+            this.executionMeter = null;
+        }
+
+        generationMetrics
+                .publish(executionMeter.stop(this.getClass().getName(), this.definitionPath, result.getStatus()));
+
+        return result;
+    }
+
+    /**
+     * {@link #run()} を実行し、その結果を {@link GenerationResult} として返却します。<br>
+     * 実行開始前に取り消しが要求されている場合は {@link #run()} を実行せずに {@link GenerationStatus#CANCELLED} を返却します。
+     *
+     * @return 生成器の実行結果
+     */
+    private GenerationResult runForResult() {
+
+        final long startTime = System.nanoTime();
+
+        if (this.cancelled) {
+            return GenerationResult.of(this.definitionPath, GenerationStatus.CANCELLED,
+                    new CancellationException("実行開始前に取り消されました。"), 0L);
+        }
+
+        try {
+            final boolean successful = this.run();
+            final OutputSink closedOutputSink = this.closeOutputSink();
+            final GenerationStatus status = successful ? GenerationStatus.SUCCESS
+                    : this.cancelled ? GenerationStatus.CANCELLED : GenerationStatus.FAILURE;
+            final GenerationResult result = GenerationResult.of(this.definitionPath, status,
+                    System.nanoTime() - startTime);
+
+            return closedOutputSink == null ? result
+                    : result.withOutputCounts(closedOutputSink.getWrittenCount(), closedOutputSink.getSkippedCount())
+                            .withOutputFiles(closedOutputSink.getOutputFiles());
+        } catch (CancellationException e) {
+            this.closeOutputSinkQuietly(e);
+            logger.atInfo().log("生成器の実行が取り消されました。定義書 = (%s)", this.definitionPath.getFilePath());
+            return GenerationResult.of(this.definitionPath, GenerationStatus.CANCELLED, e,
+                    System.nanoTime() - startTime);
         } catch (Exception e) {
+            this.closeOutputSinkQuietly(e);
             logger.atSevere().log("実行時に想定外のエラーが発生しました。");
             logger.atSevere().log("ログを解析し原因調査と修正を行ってください。");
             e.printStackTrace();
-            return false;
+            return GenerationResult.of(this.definitionPath, GenerationStatus.FAILURE, e, System.nanoTime() - startTime);
+        } catch (Error e) {
+            // OutOfMemoryError 等は呼び出し元で扱うが、書き込みスレッドと未処理の出力内容が残らないようにクローズする
+            this.closeOutputSinkQuietly(e);
+            throw e;
         }
-
-        return true;
     }
 
     /**
@@ -99,6 +402,139 @@ public abstract class AbstractGenerator implements Generator {
         return this.definitionPath.getFilePath();
     }
 
+    /**
+     * 生成されたファイルを出力する {@link OutputSink} を返却します。<br>
+     * {@link OutputSink} は初回呼び出し時に生成され、{@link #run()} の終了後に登録済みの全ての出力内容の書き込みを待機してクローズされます。<br>
+     * 書き込みに失敗した出力内容が存在する場合、生成器の実行結果は異常終了となります。
+     *
+     * @return 生成されたファイルを出力するオブジェクト
+     */
+    protected synchronized OutputSink getOutputSink() {
+
+        if (this.outputSink == null) {
+            this.outputSink = OutputSink.of(this::resolvePackage, OutputSink.DEFAULT_CAPACITY, this.getWriteMode(),
+                    this.getOutputDirectory());
+        }
+
+        return this.outputSink;
+    }
+
+    /**
+     * {@link #getOutputSink()} が返却する {@link OutputSink} の書き込み方法を返却します。<br>
+     * 既定では {@link WriteMode#getDefault()} が返却する値となります。書き込み方法を固定する場合はオーバーライドしてください。
+     *
+     * @return 書き込み方法
+     */
+    protected WriteMode getWriteMode() {
+        return WriteMode.getDefault();
+    }
+
+    /**
+     * 引数として指定された出力内容を {@link OutputSink} へ登録します。<br>
+     * ファイルの書き込みは専用のスレッドで行われるため、当メソッドは書き込みの完了を待機しません。
+     *
+     * @param packageName ピリオド区切りで表現されたパッケージ名
+     * @param fileName    ファイル名
+     * @param content     ファイルの内容
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException ファイル名が空文字列の場合
+     *
+     * @see #getOutputSink()
+     */
+    protected void submitOutput(@NonNull String packageName, @NonNull String fileName, @NonNull String content) {
+        this.getOutputSink().submit(packageName, fileName, content);
+    }
+
+    /**
+     * 生成済みの {@link OutputSink} が存在する場合はクローズします。
+     *
+     * @return クローズした {@link OutputSink} 、生成済みの {@link OutputSink} が存在しない場合は {@code null}
+     *
+     * @exception UncheckedIOException 書き込みに失敗した出力内容が存在する場合
+     */
+    private OutputSink closeOutputSink() {
+
+        final OutputSink closingOutputSink;
+
+        synchronized (this) {
+            closingOutputSink = this.outputSink;
+            this.outputSink = null;
+        }
+
+        if (closingOutputSink != null) {
+            closingOutputSink.close();
+        }
+
+        return closingOutputSink;
+    }
+
+    /**
+     * 生成済みの {@link OutputSink} が存在する場合はクローズします。<br>
+     * クローズ時に発生した例外は引数として指定された例外の抑制された例外として設定されます。
+     *
+     * @param cause 実行時に発生した例外
+     */
+    private void closeOutputSinkQuietly(@NonNull Throwable cause) {
+        try {
+            this.closeOutputSink();
+        } catch (RuntimeException suppressed) {
+            cause.addSuppressed(suppressed);
+        }
+    }
+
+    /**
+     * 定義書を1行ずつ読み込む {@link WorkbookReader} を生成し返却します。<br>
+     * 返却された {@link WorkbookReader} は使用後に必ずクローズしてください。
+     *
+     * @return 定義書を読み込むオブジェクト
+     *
+     * @exception IllegalArgumentException 定義書の形式に対応する {@link WorkbookReader} が存在しない場合
+     * @exception UncheckedIOException     定義書を開けなかった場合
+     *
+     * @see WorkbookReaders#open(DefinitionPath)
+     */
+    protected WorkbookReader openWorkbookReader() {
+        return WorkbookReaders.open(this.definitionPath);
+    }
+
+    /**
+     * 引数として指定されたシートの解析結果を返却します。<br>
+     * 解析結果は {@link SheetDataCache} で共有されるため、同一の定義書を参照する他の生成器と解析処理を重複しません。
+     *
+     * @param sheet シート
+     * @return シートの解析結果
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 指定されたシートが定義書に存在しない場合
+     * @exception UncheckedIOException     定義書の読み込みに失敗した場合
+     *
+     * @see SheetDataCache#get(DefinitionPath, Sheet)
+     */
+    protected SheetData readSheet(@NonNull Sheet sheet) {
+        return SheetDataCache.getInstance().get(this.definitionPath, sheet);
+    }
+
+    /**
+     * 引数として指定された互いに独立したシートを共有のスレッドプールで並列に解析し処理します。<br>
+     * 処理結果は引数として指定されたシートの順序で返却されるため、呼び出し側で順序を意識せずに結果を結合できます。
+     * <p>
+     * シートの処理は複数のスレッドから同時に呼び出されるため、シート間で可変な状態を共有しないでください。
+     *
+     * @param <S>       シートの型
+     * @param <R>       処理結果の型
+     * @param sheets    シートの一覧
+     * @param processor シート毎の処理
+     * @return シートの順序で並べた処理結果の一覧
+     *
+     * @throws NullPointerException 引数として {@code null} が渡された場合
+     * @throws Exception            いずれかのシートの処理で例外が発生した場合、または処理の完了を待機している間に割り込まれた場合
+     */
+    protected <S extends Sheet, R> List<R> processSheets(@NonNull List<S> sheets,
+            @NonNull SheetProcessor<S, R> processor) throws Exception {
+        return SheetExecutor.process(this.definitionPath, sheets, processor, this.executionMeter);
+    }
+
     /**
      * 出力先のパスを返却します。
      *
@@ -122,6 +558,8 @@ public abstract class AbstractGenerator implements Generator {
      * @return 出力先へのパス
      *
      * @exception NullPointerException 引数として {@code null} が渡された場合
+     *
+     * @see #getPackagePath(String)
      */
     protected String getOutputPath(@NonNull String packageName) {
 
@@ -129,11 +567,63 @@ public abstract class AbstractGenerator implements Generator {
             return this.definitionPath.getOutputPath();
         }
 
-        final String fileSeparator = FluentFile.getFileSeparator();
+        return this.getPackagePath(packageName).toString();
+    }
 
-        final StringBuilder outputPath = new StringBuilder().append(this.definitionPath.getOutputPath())
-                .append(fileSeparator).append(StringUtils.replace(packageName, Delimiter.period(), fileSeparator));
+    /**
+     * パッケージ情報を付与した出力先のパスを {@link Path} として返却します。<br>
+     * パッケージ情報の形式は {@link #getOutputPath(String)} と同様です。
+     * <p>
+     * 解決した出力先のパスは生成器毎に上限付きでキャッシュされるため、<br>
+     * 同一のパッケージ名で繰り返し呼び出した場合は文字列の連結やパスの解析を行わずに同一の {@link Path} を返却します。
+     *
+     * @param packageName カンマ区切りで表現されたパッケージ名
+     * @return 出力先へのパス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    protected Path getPackagePath(@NonNull String packageName) {
+
+        final Path cachedPackagePath = this.packagePathCache.getIfPresent(packageName);
+
+        if (cachedPackagePath != null) {
+            return cachedPackagePath;
+        }
+
+        final Path packagePath = this.definitionPath.toPackagePath(packageName);
+        this.packagePathCache.put(packageName, packagePath);
 
-        return outputPath.toString();
+        return packagePath;
+    }
+
+    /**
+     * 出力先のディレクトリを {@link Path} として返却します。<br>
+     * 返却するディレクトリは作成済みであることが保証されます。
+     *
+     * @return 出力先のディレクトリ
+     *
+     * @exception UncheckedIOException 出力先のディレクトリの作成に失敗した場合
+     *
+     * @see DefinitionPath#getOutputDirectory()
+     */
+    protected Path getOutputDirectory() {
+        return this.definitionPath.getOutputDirectory();
+    }
+
+    /**
+     * パッケージ情報を付与した出力先のディレクトリを {@link Path} として返却します。<br>
+     * パッケージ情報の形式は {@link #getOutputPath(String)} と同様です。
+     * <p>
+     * 出力先のディレクトリは {@link #getPackagePath(String)} のキャッシュを利用して解決され、<br>
+     * {@link OutputDirectoryRegistry} を介して実行中に1度のみ作成処理が行われます。
+     *
+     * @param packageName ピリオド区切りで表現されたパッケージ名
+     * @return パッケージ情報を付与した出力先のディレクトリ
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 出力先のディレクトリの作成に失敗した場合
+     */
+    protected Path resolvePackage(@NonNull String packageName) {
+        return OutputDirectoryRegistry.getInstance().createDirectories(this.getPackagePath(packageName));
     }
 }
@@ -50,6 +50,8 @@ abstract class AbstractGeneratorFactory {
      * 業務に応じた生成器を取得する際にはサブクラスで実装された
      * {@link #createGenerator(GeneratorDivision, DefinitionPath)} ではなく、<br>
      * {@link #create(GeneratorDivision, DefinitionPath)} を呼び出してください。
+     * <p>
+     * 返却する生成器が {@link AbstractGenerator} の場合は、トレースイベントへ記録するために生成器区分が設定されます。
      *
      * @param generatorDivision 生成器区分
      * @param definitionPath    生成する定義を管理するオブジェクト
@@ -61,7 +63,14 @@ abstract class AbstractGeneratorFactory {
      */
     public final Generator create(@NonNull final GeneratorDivision generatorDivision,
             @NonNull DefinitionPath definitionPath) {
-        return this.createGenerator(generatorDivision, definitionPath);
+
+        final Generator generator = this.createGenerator(generatorDivision, definitionPath);
+
+        if (generator instanceof AbstractGenerator) {
+            ((AbstractGenerator) generator).setGeneratorDivision(generatorDivision);
+        }
+
+        return generator;
     }
 
     /**
@@ -87,4 +96,35 @@ abstract class AbstractGeneratorFactory {
      */
     protected abstract Generator createGenerator(@NonNull GeneratorDivision generatorDivision,
             @NonNull DefinitionPath definitionPath);
+
+    /**
+     * {@link #create(GeneratorDivision, DefinitionPath)} で取得した生成器の実行終了を通知し、生成器を返却します。<br>
+     * 返却された生成器は再利用される可能性があるため、返却後は生成器を参照しないでください。
+     * <p>
+     * 実行が正常に完了しなかった生成器、またはタイムアウトなどで実行終了後に取り消しが要求される可能性がある生成器は返却しないでください。
+     *
+     * @param generatorDivision 生成器区分
+     * @param definitionPath    生成する定義を管理するオブジェクト
+     * @param generator         返却する生成器
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public final void release(@NonNull GeneratorDivision generatorDivision, @NonNull DefinitionPath definitionPath,
+            @NonNull Generator generator) {
+        this.releaseGenerator(generatorDivision, definitionPath, generator);
+    }
+
+    /**
+     * 返却された生成器を再利用するための処理を定義するメソッドです。<br>
+     * 既定の実装では何も行わず、返却された生成器は破棄されます。
+     *
+     * @param generatorDivision 生成器区分
+     * @param definitionPath    生成する定義を管理するオブジェクト
+     * @param generator         返却された生成器
+     *
+     * @see {@link #release(GeneratorDivision, DefinitionPath, Generator)}
+     */
+    protected void releaseGenerator(@NonNull GeneratorDivision generatorDivision,
+            @NonNull DefinitionPath definitionPath, @NonNull Generator generator) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 生成器の実行に必要なメモリ量を見積もり、実行中の生成器のメモリ使用量の合計を上限内に制御するクラスです。
+ * <p>
+ * 生成器のメモリ使用量は定義書のファイルサイズに係数を乗じ、固定の使用量を加えた値として見積もります。<br>
+ * 見積もりの合計がメモリ上限を超える生成器は先に実行された生成器の終了まで待機させられるため、<br>
+ * 巨大な定義書を多数同時に処理する場合でも {@link OutOfMemoryError} を発生させずに可能な限り並列に実行できます。<br>
+ * 待機中の生成器は到着順に実行され、見積もりがメモリ上限を超える生成器は他の生成器が全て終了した後に単独で実行されます。
+ * <p>
+ * 既定のメモリ上限、係数および固定の使用量はそれぞれシステムプロパティ {@value #MAX_BYTES_PROPERTY} 、
+ * {@value #BYTES_PER_FILE_BYTE_PROPERTY} 、{@value #BASE_BYTES_PROPERTY} で指定でき、<br>
+ * 指定されない場合はそれぞれ最大ヒープサイズの2分の1、{@value #DEFAULT_BYTES_PER_FILE_BYTE} 、
+ * {@value #DEFAULT_BASE_BYTES} バイトとなります。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see GeneratorBatchExecutor
+ * @see GenerationScheduler
+ */
+@ToString
+public final class AdmissionController {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * メモリ上限を指定するシステムプロパティ名
+     */
+    public static final String MAX_BYTES_PROPERTY = "org.thinkit.generator.workbook.admission.maxBytes";
+
+    /**
+     * 定義書の1バイトあたりのメモリ使用量の見積もりを指定するシステムプロパティ名
+     */
+    public static final String BYTES_PER_FILE_BYTE_PROPERTY = "org.thinkit.generator.workbook.admission.bytesPerFileByte";
+
+    /**
+     * 生成器毎の固定のメモリ使用量の見積もりを指定するシステムプロパティ名
+     */
+    public static final String BASE_BYTES_PROPERTY = "org.thinkit.generator.workbook.admission.baseBytes";
+
+    /**
+     * 定義書の1バイトあたりのメモリ使用量の見積もりの既定値(圧縮されたブックを展開し解析した結果を考慮した値)
+     */
+    private static final long DEFAULT_BYTES_PER_FILE_BYTE = 32L;
+
+    /**
+     * 生成器毎の固定のメモリ使用量の見積もりの既定値(バイト)
+     */
+    private static final long DEFAULT_BASE_BYTES = 4L * 1024L * 1024L;
+
+    /**
+     * 許可数の単位(バイト)
+     */
+    private static final long PERMIT_UNIT_BYTES = 1024L;
+
+    /**
+     * {@link AdmissionController} のシングルトンインスタンスを保持するインナークラスです。<br>
+     * {@link AdmissionController} シングルトンインスタンスは初回参照時にメモリに読み込まれます。
+     */
+    private static class InstanceHolder {
+
+        /**
+         * シングルトンインスタンス
+         */
+        private static final AdmissionController INSTANCE = new AdmissionController(
+                Long.getLong(MAX_BYTES_PROPERTY, Runtime.getRuntime().maxMemory() / 2),
+                Long.getLong(BYTES_PER_FILE_BYTE_PROPERTY, DEFAULT_BYTES_PER_FILE_BYTE),
+                Long.getLong(BASE_BYTES_PROPERTY, DEFAULT_BASE_BYTES));
+    }
+
+    /**
+     * メモリ上限(バイト)
+     */
+    @Getter
+    private long maxBytes;
+
+    /**
+     * 定義書の1バイトあたりのメモリ使用量の見積もり(バイト)
+     */
+    @Getter
+    private long bytesPerFileByte;
+
+    /**
+     * 生成器毎の固定のメモリ使用量の見積もり(バイト)
+     */
+    @Getter
+    private long baseBytes;
+
+    /**
+     * メモリ上限の許可数
+     */
+    private int maxPermits;
+
+    /**
+     * 実行中の生成器に割り当てたメモリを管理するセマフォ
+     */
+    @ToString.Exclude
+    private Semaphore semaphore;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private AdmissionController() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param maxBytes         メモリ上限(バイト)
+     * @param bytesPerFileByte 定義書の1バイトあたりのメモリ使用量の見積もり(バイト)
+     * @param baseBytes        生成器毎の固定のメモリ使用量の見積もり(バイト)
+     *
+     * @throws IllegalArgumentException メモリ上限が1024バイト未満の場合、または見積もりに負数が指定された場合
+     */
+    private AdmissionController(long maxBytes, long bytesPerFileByte, long baseBytes) {
+
+        if (maxBytes < PERMIT_UNIT_BYTES) {
+            throw new IllegalArgumentException(
+                    String.format("メモリ上限には%sバイト以上を指定してください。メモリ上限 = (%s)", PERMIT_UNIT_BYTES, maxBytes));
+        }
+
+        if (bytesPerFileByte < 0 || baseBytes < 0) {
+            throw new IllegalArgumentException(String.format("メモリ使用量の見積もりに負数は指定できません。係数 = (%s), 固定の使用量 = (%s)",
+                    bytesPerFileByte, baseBytes));
+        }
+
+        this.maxBytes = maxBytes;
+        this.bytesPerFileByte = bytesPerFileByte;
+        this.baseBytes = baseBytes;
+        this.maxPermits = (int) Math.min(Integer.MAX_VALUE, maxBytes / PERMIT_UNIT_BYTES);
+        this.semaphore = new Semaphore(this.maxPermits, true);
+    }
+
+    /**
+     * {@link AdmissionController} クラスのシングルトンインスタンスを返却します。
+     *
+     * @return {@link AdmissionController} クラスのシングルトンインスタンス
+     */
+    public static AdmissionController getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link AdmissionController} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param maxBytes         メモリ上限(バイト)
+     * @param bytesPerFileByte 定義書の1バイトあたりのメモリ使用量の見積もり(バイト)
+     * @param baseBytes        生成器毎の固定のメモリ使用量の見積もり(バイト)
+     * @return {@link AdmissionController} クラスの新しいインスタンス
+     *
+     * @throws IllegalArgumentException メモリ上限が1024バイト未満の場合、または見積もりに負数が指定された場合
+     */
+    public static AdmissionController of(long maxBytes, long bytesPerFileByte, long baseBytes) {
+        return new AdmissionController(maxBytes, bytesPerFileByte, baseBytes);
+    }
+
+    /**
+     * 引数として指定された定義に対する生成器のメモリ使用量を見積もり返却します。<br>
+     * 見積もりはメモリ上限を超えない値に切り詰められます。定義書のファイルサイズを取得できない場合は固定の使用量のみで見積もります。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return メモリ使用量の見積もり(バイト)
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public long estimate(@NonNull DefinitionPath definitionPath) {
+
+        long fileSize = 0L;
+
+        try {
+            fileSize = Files.size(Paths.get(definitionPath.getFilePath()));
+        } catch (IOException e) {
+            logger.atFine().log("定義書のファイルサイズを取得できないため固定の使用量のみで見積もります。定義書 = (%s)",
+                    definitionPath.getFilePath());
+        }
+
+        if (this.bytesPerFileByte > 0 && fileSize >= this.maxBytes / this.bytesPerFileByte) {
+            return this.maxBytes;
+        }
+
+        return Math.min(this.maxBytes, fileSize * this.bytesPerFileByte + this.baseBytes);
+    }
+
+    /**
+     * 引数として指定された定義に対する生成器の実行に必要なメモリを割り当てます。<br>
+     * 実行中の生成器の見積もりの合計がメモリ上限を超える場合は、他の生成器の終了によりメモリが解放されるまで待機します。<br>
+     * 返却された {@link Admission} は生成器の実行終了後に必ずクローズしてください。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return 割り当てたメモリ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws InterruptedException 待機中に割り込みが発生した場合
+     */
+    public Admission acquire(@NonNull DefinitionPath definitionPath) throws InterruptedException {
+
+        final long estimatedBytes = this.estimate(definitionPath);
+        final int permits = (int) Math.max(1L,
+                Math.min(this.maxPermits, (estimatedBytes + PERMIT_UNIT_BYTES - 1) / PERMIT_UNIT_BYTES));
+
+        // 引数なしの tryAcquire は公平性を無視して待機中の生成器を追い越すため、待機時間0の tryAcquire を使用する
+        if (!this.semaphore.tryAcquire(permits, 0L, TimeUnit.NANOSECONDS)) {
+            logger.atFine().log("メモリ上限に達したため実行を待機します。定義書 = (%s), 見積もり = (%s)", definitionPath.getFilePath(),
+                    estimatedBytes);
+            this.semaphore.acquire(permits);
+        }
+
+        return new Admission(this.semaphore, permits);
+    }
+
+    /**
+     * 現在割り当て可能なメモリ量を返却します。
+     *
+     * @return 割り当て可能なメモリ量(バイト)
+     */
+    public long getAvailableBytes() {
+        return this.semaphore.availablePermits() * PERMIT_UNIT_BYTES;
+    }
+
+    /**
+     * 生成器に割り当てたメモリを表すクラスです。<br>
+     * クローズすると割り当てたメモリが解放され、待機中の生成器が実行されます。
+     */
+    public static final class Admission implements AutoCloseable {
+
+        /**
+         * 割り当て元のセマフォ
+         */
+        private final Semaphore semaphore;
+
+        /**
+         * 割り当てた許可数
+         */
+        private final int permits;
+
+        /**
+         * 解放済みか否か
+         */
+        private boolean released = false;
+
+        /**
+         * コンストラクタ
+         *
+         * @param semaphore 割り当て元のセマフォ
+         * @param permits   割り当てた許可数
+         */
+        private Admission(@NonNull Semaphore semaphore, int permits) {
+            this.semaphore = semaphore;
+            this.permits = permits;
+        }
+
+        /**
+         * 割り当てたメモリを解放します。<br>
+         * 複数回呼び出された場合は2回目以降の呼び出しを無視します。
+         */
+        @Override
+        public synchronized void close() {
+            if (!this.released) {
+                this.released = true;
+                this.semaphore.release(this.permits);
+            }
+        }
+    }
+}
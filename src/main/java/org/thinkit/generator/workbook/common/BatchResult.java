@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 複数の生成器の実行結果を集約したデータクラスです。
+ * <p>
+ * 各生成器の実行結果は実行を依頼した順序で {@link #getResults()} から取得できます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see GenerationResult
+ */
+@ToString
+@EqualsAndHashCode
+public final class BatchResult {
+
+    /**
+     * 各生成器の実行結果
+     */
+    @Getter
+    private List<GenerationResult> results;
+
+    /**
+     * 全体の実行に要した時間(ナノ秒)
+     */
+    @Getter
+    private long elapsedNanos;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private BatchResult() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param results      各生成器の実行結果
+     * @param elapsedNanos 全体の実行に要した時間(ナノ秒)
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private BatchResult(@NonNull List<GenerationResult> results, long elapsedNanos) {
+        this.results = Collections.unmodifiableList(results);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link BatchResult} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param results      各生成器の実行結果
+     * @param elapsedNanos 全体の実行に要した時間(ナノ秒)
+     * @return {@link BatchResult} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static BatchResult of(@NonNull List<GenerationResult> results, long elapsedNanos) {
+        return new BatchResult(results, elapsedNanos);
+    }
+
+    /**
+     * 全ての生成器が正常終了したか判定します。
+     *
+     * @return 全ての生成器が正常終了した場合は {@code true} 、それ以外は {@code false}
+     */
+    public boolean isSuccessful() {
+        return this.results.stream().allMatch(GenerationResult::isSuccessful);
+    }
+
+    /**
+     * 引数として指定された状態の実行結果数を返却します。
+     *
+     * @param status 実行結果の状態
+     * @return 引数として指定された状態の実行結果数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public long count(@NonNull GenerationStatus status) {
+        return this.results.stream().filter(result -> result.getStatus() == status).count();
+    }
+
+    /**
+     * 正常終了しなかった実行結果を返却します。
+     *
+     * @return 正常終了しなかった実行結果
+     */
+    public List<GenerationResult> getFailures() {
+        return this.results.stream().filter(result -> !result.isSuccessful()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義書の変更を監視するクラスです。
+ * <p>
+ * {@link #watch(Path)} で登録された定義書が作成、更新、削除された場合に、登録時に指定された処理へ定義書のパスを通知します。<br>
+ * 監視は定義書の親ディレクトリ単位で {@link WatchService} に登録され、通知は専用のスレッドで行われます。<br>
+ * 使用後は必ず {@link #close()} を呼び出してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see GeneratorDaemon
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class DefinitionFileWatcher implements Closeable {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 変更を監視するサービス
+     */
+    private WatchService watchService;
+
+    /**
+     * 定義書の変更を通知する処理
+     */
+    private Consumer<Path> listener;
+
+    /**
+     * 監視中のディレクトリ毎の定義書
+     */
+    @ToString.Include
+    private final Map<Path, Set<Path>> watchedFiles = new ConcurrentHashMap<>();
+
+    /**
+     * 変更を通知するスレッド
+     */
+    private Thread watcherThread;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DefinitionFileWatcher() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param listener 定義書の変更を通知する処理
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 変更を監視するサービスの生成に失敗した場合
+     */
+    private DefinitionFileWatcher(@NonNull Consumer<Path> listener) {
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.listener = listener;
+        this.watcherThread = new Thread(this::pollEvents, "definition-file-watcher");
+        this.watcherThread.setDaemon(true);
+    }
+
+    /**
+     * 引数として指定された処理へ定義書の変更を通知する {@link DefinitionFileWatcher} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param listener 定義書の変更を通知する処理
+     * @return {@link DefinitionFileWatcher} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 変更を監視するサービスの生成に失敗した場合
+     */
+    public static DefinitionFileWatcher of(@NonNull Consumer<Path> listener) {
+        final DefinitionFileWatcher definitionFileWatcher = new DefinitionFileWatcher(listener);
+        definitionFileWatcher.watcherThread.start();
+        return definitionFileWatcher;
+    }
+
+    /**
+     * 引数として指定された定義書の監視を開始します。<br>
+     * 監視中の定義書が指定された場合は何もしません。
+     *
+     * @param filePath 定義書のパス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 監視の登録に失敗した場合
+     */
+    public void watch(@NonNull Path filePath) {
+
+        final Path normalizedPath = filePath.toAbsolutePath().normalize();
+        final Path directory = normalizedPath.getParent();
+        final Set<Path> createdFiles = ConcurrentHashMap.newKeySet();
+        final Set<Path> registeredFiles = this.watchedFiles.putIfAbsent(directory, createdFiles);
+
+        if (registeredFiles != null) {
+            registeredFiles.add(normalizedPath);
+            return;
+        }
+
+        createdFiles.add(normalizedPath);
+
+        // 監視キーから参照される定義書の一覧を先に登録した後に監視を開始する
+        try {
+            directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            this.watchedFiles.remove(directory, createdFiles);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 定義書の監視を終了します。
+     */
+    @Override
+    public void close() {
+        try {
+            this.watchService.close();
+        } catch (IOException e) {
+            logger.atWarning().withCause(e).log("定義書の監視の終了に失敗しました。");
+        }
+    }
+
+    /**
+     * 変更を通知するスレッドのメイン処理です。<br>
+     * {@link WatchService} から取得した変更のうち監視中の定義書に関する変更を通知します。<br>
+     * 変更の処理中に発生した例外は記録され、監視は継続されます。
+     */
+    private void pollEvents() {
+        while (true) {
+            final WatchKey watchKey;
+
+            try {
+                watchKey = this.watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            try {
+                this.processEvents(watchKey);
+            } catch (RuntimeException e) {
+                logger.atWarning().withCause(e).log("定義書の変更の処理に失敗しました。");
+            }
+
+            if (!watchKey.reset()) {
+                // 監視対象のディレクトリが削除された場合は再度監視を登録できるように定義書の一覧も破棄する
+                this.watchedFiles.remove((Path) watchKey.watchable());
+            }
+        }
+    }
+
+    /**
+     * 引数として指定された監視キーから取得した変更のうち監視中の定義書に関する変更を通知します。<br>
+     * 監視対象のディレクトリは監視キー自体から取得するため、監視の登録直後に発生した変更も取りこぼしません。
+     *
+     * @param watchKey 監視キー
+     */
+    private void processEvents(@NonNull WatchKey watchKey) {
+
+        final Path directory = (Path) watchKey.watchable();
+        final Set<Path> files = this.watchedFiles.get(directory);
+
+        if (files == null) {
+            watchKey.pollEvents();
+            return;
+        }
+
+        for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+            if (watchEvent.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // 取りこぼした変更を特定できないためディレクトリ内の全ての定義書を通知する
+                files.forEach(this::notifyChange);
+            } else {
+                final Path changedPath = directory.resolve((Path) watchEvent.context());
+
+                if (files.contains(changedPath)) {
+                    this.notifyChange(changedPath);
+                }
+            }
+        }
+    }
+
+    /**
+     * 引数として指定された定義書の変更を通知します。<br>
+     * 通知先の処理で発生した例外は記録され、監視は継続されます。
+     *
+     * @param filePath 変更された定義書のパス
+     */
+    private void notifyChange(@NonNull Path filePath) {
+
+        logger.atFine().log("定義書の変更を検知しました。定義書 = (%s)", filePath);
+
+        try {
+            this.listener.accept(filePath);
+        } catch (RuntimeException e) {
+            logger.atWarning().withCause(e).log("定義書の変更の通知に失敗しました。定義書 = (%s)", filePath);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import com.google.common.hash.Hashing;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義書と出力先の状態を表す指紋を管理するデータクラスです。
+ * <p>
+ * 指紋は定義書のファイルサイズ、最終更新日時、内容のハッシュ値と解決済みの出力先パス、
+ * 及び生成器が出力したファイルの状態から構成されます。<br>
+ * 内容のハッシュ値の計算は定義書を全て読み込むため、
+ * ファイルサイズと最終更新日時のみを取得する {@link #stat(DefinitionPath)} と
+ * ハッシュ値まで計算する {@link #of(DefinitionPath)} を用途に応じて使い分けてください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see GenerationManifest
+ */
+@ToString
+@EqualsAndHashCode
+public final class DefinitionFingerprint {
+
+    /**
+     * 定義書のファイルサイズ
+     */
+    @Getter
+    private long size;
+
+    /**
+     * 定義書の最終更新日時(エポックミリ秒)
+     */
+    @Getter
+    private long lastModified;
+
+    /**
+     * 定義書の内容のハッシュ値(SHA-256)
+     */
+    @Getter
+    private String contentHash;
+
+    /**
+     * 出力先パス
+     */
+    @Getter
+    private String outputPath;
+
+    /**
+     * 生成器が出力したファイルの状態の一覧
+     */
+    @Getter
+    private List<OutputFileStamp> outputFiles = List.of();
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DefinitionFingerprint() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param size         定義書のファイルサイズ
+     * @param lastModified 定義書の最終更新日時(エポックミリ秒)
+     * @param contentHash  定義書の内容のハッシュ値(未計算の場合は空文字列)
+     * @param outputPath   出力先パス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private DefinitionFingerprint(long size, long lastModified, @NonNull String contentHash,
+            @NonNull String outputPath) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+        this.outputPath = outputPath;
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link DefinitionFingerprint} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param size         定義書のファイルサイズ
+     * @param lastModified 定義書の最終更新日時(エポックミリ秒)
+     * @param contentHash  定義書の内容のハッシュ値(未計算の場合は空文字列)
+     * @param outputPath   出力先パス
+     * @return {@link DefinitionFingerprint} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static DefinitionFingerprint of(long size, long lastModified, @NonNull String contentHash,
+            @NonNull String outputPath) {
+        return new DefinitionFingerprint(size, lastModified, contentHash, outputPath);
+    }
+
+    /**
+     * 引数として指定された定義書の内容のハッシュ値を含む指紋を生成し返却します。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return 内容のハッシュ値を含む指紋
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 定義書の読み込みに失敗した場合
+     */
+    public static DefinitionFingerprint of(@NonNull DefinitionPath definitionPath) {
+        return stat(definitionPath).withContentHash(hash(definitionPath));
+    }
+
+    /**
+     * 引数として指定された定義書のファイルサイズと最終更新日時のみを含む指紋を生成し返却します。<br>
+     * 当メソッドは定義書の内容を読み込まないため内容のハッシュ値は空文字列となります。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return 内容のハッシュ値を含まない指紋
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 定義書の属性の取得に失敗した場合
+     */
+    public static DefinitionFingerprint stat(@NonNull DefinitionPath definitionPath) {
+
+        final Path filePath = Paths.get(definitionPath.getFilePath());
+
+        try {
+            return new DefinitionFingerprint(Files.size(filePath), Files.getLastModifiedTime(filePath).toMillis(), "",
+                    definitionPath.getOutputPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された定義書の内容のハッシュ値を計算し返却します。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return 定義書の内容のハッシュ値
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 定義書の読み込みに失敗した場合
+     */
+    public static String hash(@NonNull DefinitionPath definitionPath) {
+        try {
+            return com.google.common.io.Files.asByteSource(Paths.get(definitionPath.getFilePath()).toFile())
+                    .hash(Hashing.sha256()).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 当指紋の内容のハッシュ値を引数として指定された値に置き換えた指紋を生成し返却します。
+     *
+     * @param contentHash 定義書の内容のハッシュ値
+     * @return 内容のハッシュ値を置き換えた指紋
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public DefinitionFingerprint withContentHash(@NonNull String contentHash) {
+        final DefinitionFingerprint fingerprint = new DefinitionFingerprint(this.size, this.lastModified, contentHash,
+                this.outputPath);
+        fingerprint.outputFiles = this.outputFiles;
+        return fingerprint;
+    }
+
+    /**
+     * 当指紋の出力ファイルの状態の一覧を引数として指定された値に置き換えた指紋を生成し返却します。
+     *
+     * @param outputFiles 生成器が出力したファイルの状態の一覧
+     * @return 出力ファイルの状態の一覧を置き換えた指紋
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public DefinitionFingerprint withOutputFiles(@NonNull List<OutputFileStamp> outputFiles) {
+        final DefinitionFingerprint fingerprint = new DefinitionFingerprint(this.size, this.lastModified,
+                this.contentHash, this.outputPath);
+        fingerprint.outputFiles = List.copyOf(outputFiles);
+        return fingerprint;
+    }
+}
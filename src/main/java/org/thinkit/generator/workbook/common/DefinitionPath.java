@@ -14,15 +14,25 @@
 
 package org.thinkit.generator.workbook.common;
 
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
 import com.google.common.flogger.FluentLogger;
+import com.google.common.hash.Hashing;
 
 import org.apache.commons.lang3.StringUtils;
 import org.thinkit.common.Precondition;
+import org.thinkit.common.catalog.Delimiter;
 import org.thinkit.common.catalog.Platform;
 import org.thinkit.common.util.file.FluentFile;
-import org.thinkit.framework.content.rule.RuleInvoker;
 import org.thinkit.generator.workbook.common.content.entity.DefaultOutputPath;
-import org.thinkit.generator.workbook.common.content.rule.DefaultOutputPathCollector;
+import org.thinkit.generator.workbook.common.content.entity.OutputSharding;
+import org.thinkit.generator.workbook.common.content.rule.DefaultOutputPathCache;
+import org.thinkit.generator.workbook.common.trace.DefinitionPathResolutionEvent;
+import org.thinkit.generator.workbook.common.trace.TraceContext;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -45,9 +55,21 @@ import lombok.ToString;
  * <p>
  * {@link DefinitionPath} のインスタンス生成時に出力先パスが設定されない状態で {@link #getOutputPath()}
  * が呼び出された場合は、<br>
- * {@link DefaultOutputPathManager#execute()}
+ * {@link DefaultOutputPathCache#get(Platform)}
  * を呼び出しプラットフォームに対応した既定出力先のパスを生成し返却します。<br>
- * この既定出力先のパスを生成する際にエラーが発生した場合は {@link #getOutputPath()} は必ず空文字列を返却します。
+ * 既定出力先のパスはインスタンス生成時ではなく {@link #getOutputPath()} の初回呼び出し時に解決されるため、<br>
+ * 解決に失敗した場合の例外はインスタンス生成時ではなく {@link #getOutputPath()} の初回呼び出し元から送出されます。<br>
+ * 出力先パスを参照するメトリクスの記録やログ出力( {@code JsonLinesMetricsSink#record} など)が初回呼び出しとなった場合は、
+ * それらの処理から例外が送出されます。<br>
+ * 解決に失敗した結果は保持されないため、次回の {@link #getOutputPath()} の呼び出し時に再度解決が行われます。
+ * <p>
+ * {@link DefinitionPath} の同値性はファイルパスとインスタンス生成時に指定された出力先パスで判定し、既定出力先のパスは解決しません。<br>
+ * そのため出力先パスを指定せずに生成したインスタンスと、既定出力先と同一の出力先パスを指定して生成したインスタンスは同値になりません。<br>
+ * {@link #toString()} も同様に既定出力先のパスを解決せず、解決済みの場合のみ出力先パスを含めます。
+ * <p>
+ * 出力先を {@link Path} として扱う場合は {@link #getOutputDirectory()} と {@link #resolvePackage(String)}
+ * を呼び出してください。<br>
+ * これらのメソッドが返却するディレクトリは {@link OutputDirectoryRegistry} により作成済みであることが保証されます。
  *
  * @author Kato Shinya
  * @since 1.0
@@ -56,8 +78,8 @@ import lombok.ToString;
  * @see #getFilePath()
  * @see #getOutputPath()
  */
-@ToString
-@EqualsAndHashCode
+@ToString(doNotUseGetters = true)
+@EqualsAndHashCode(doNotUseGetters = true)
 public final class DefinitionPath {
 
     /**
@@ -71,10 +93,31 @@ public final class DefinitionPath {
     @Getter
     private String filePath = "";
 
+    /**
+     * インスタンス生成時に指定された出力先パス(指定されなかった場合は空文字列)
+     * <p>
+     * 同値性の判定は既定の出力先パスを解決せずに行うため、解決済みの出力先パスではなく当フィールドを使用します。
+     */
+    @ToString.Exclude
+    private String specifiedOutputPath = "";
+
     /**
      * 出力先パス
+     * <p>
+     * インスタンス生成時に出力先パスが指定されなかった場合は {@code null} が設定され、<br>
+     * {@link #getOutputPath()} の初回呼び出し時に既定の出力先パスが解決されます。
+     */
+    @EqualsAndHashCode.Exclude
+    private volatile String outputPath = null;
+
+    /**
+     * 出力先ディレクトリ
+     * <p>
+     * {@link #getOutputDirectory()} の初回呼び出し時に出力先パスから生成されます。
      */
-    private String outputPath = "";
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile Path outputDirectory = null;
 
     /**
      * デフォルトコンストラクタ
@@ -108,9 +151,8 @@ public final class DefinitionPath {
 
         this.filePath = filePath;
 
-        if (StringUtils.isEmpty(outputPath)) {
-            this.outputPath = this.getDefaultOutputPath();
-        } else {
+        if (StringUtils.isNotEmpty(outputPath)) {
+            this.specifiedOutputPath = outputPath;
             this.outputPath = outputPath;
         }
     }
@@ -146,22 +188,123 @@ public final class DefinitionPath {
      * インスタンス生成時の出力先パスが優先的に返却されます。
      * <p>
      * {@link DefinitionPath} のインスタンス生成時に出力パスを指定しなかった場合、または空文字列を指定した場合は、<br>
-     * プログラム実行時のプラットフォームに応じた既定の出力先パスを取得し返却します。
+     * プログラム実行時のプラットフォームに応じた既定の出力先パスを取得し返却します。<br>
+     * 既定の出力先パスは初回呼び出し時に1度のみ解決され、以降の呼び出しでは解決済みの値が返却されます。<br>
+     * 複数のスレッドから同時に初回呼び出しが行われた場合でも既定の出力先パスの解決は1度のみ行われます。<br>
+     * 当メソッドは生成処理の中で繰り返し呼び出されるため、出力先パスのログは既定の出力先パスを解決した際に
+     * {@code FINE} レベルで1度のみ出力されます。
      * <p>
-     * 以下の場合は空文字列を返却します。<br>
-     * 1, {@link Platform#getPlatform()} 実行時に未対応のプラットフォームでプログラムが実行されたことを検知された場合<br>
-     * 2, {@link DefaultOutputPathManager#execute()} 実行時にエラーが発生した場合
+     * 既定の出力先パスの解決に失敗した場合は例外を送出し、解決済みの値は保持されません。
      *
      * @return 出力先のパス
+     *
+     * @exception NullPointerException 未対応のプラットフォームでプログラムが実行された場合
+     * @throws IllegalStateException 既定出力先のコンテンツに必要な属性が定義されていない場合
+     * @exception UncheckedIOException 出力先ルートの設定ファイルの読み込みに失敗した場合
      */
     public String getOutputPath() {
-        logger.atInfo().log("出力先のパス = (%s)", this.outputPath);
-        return this.outputPath;
+
+        String outputPath = this.outputPath;
+
+        if (outputPath == null) {
+            synchronized (this) {
+                outputPath = this.outputPath;
+
+                if (outputPath == null) {
+                    final DefinitionPathResolutionEvent resolutionEvent = new DefinitionPathResolutionEvent();
+                    resolutionEvent.begin();
+                    outputPath = this.getDefaultOutputPath();
+                    resolutionEvent.complete(TraceContext.current(), outputPath);
+
+                    this.outputPath = outputPath;
+                    logger.atFine().log("既定の出力先パスを解決しました。定義書 = (%s), 出力先のパス = (%s)", this.filePath,
+                            outputPath);
+                }
+            }
+        }
+
+        return outputPath;
+    }
+
+    /**
+     * 出力先のディレクトリを {@link Path} として返却します。<br>
+     * 出力先のディレクトリは {@link OutputDirectoryRegistry} を介して作成され、実行中に1度のみ作成処理が行われます。
+     *
+     * @return 出力先のディレクトリ
+     *
+     * @exception UncheckedIOException 出力先のディレクトリの作成に失敗した場合
+     */
+    public Path getOutputDirectory() {
+        return OutputDirectoryRegistry.getInstance().createDirectories(this.toOutputDirectory());
+    }
+
+    /**
+     * 引数として指定されたパッケージ名を出力先のディレクトリに付与したディレクトリを {@link Path} として返却します。<br>
+     * パッケージ名はピリオド区切りの文字列として渡してください。<br>
+     * パッケージ名として空文字列が渡された場合は {@link #getOutputDirectory()} と同一の結果を返却します。
+     * <p>
+     * 返却するディレクトリは {@link OutputDirectoryRegistry} を介して作成され、実行中に1度のみ作成処理が行われます。
+     *
+     * @param packageName ピリオド区切りで表現されたパッケージ名
+     * @return パッケージ名を付与した出力先のディレクトリ
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 出力先のディレクトリの作成に失敗した場合
+     */
+    public Path resolvePackage(@NonNull String packageName) {
+        return OutputDirectoryRegistry.getInstance().createDirectories(this.toPackagePath(packageName));
+    }
+
+    /**
+     * 引数として指定されたパッケージ名を出力先のディレクトリに付与したパスを返却します。<br>
+     * 当メソッドはディレクトリの作成を行いません。
+     *
+     * @param packageName ピリオド区切りで表現されたパッケージ名
+     * @return パッケージ名を付与した出力先のパス
+     */
+    Path toPackagePath(@NonNull String packageName) {
+
+        final Path outputDirectory = this.toOutputDirectory();
+
+        if (packageName.isEmpty()) {
+            return outputDirectory;
+        }
+
+        Path packagePath = outputDirectory;
+
+        for (String element : StringUtils.split(packageName, Delimiter.period())) {
+            packagePath = packagePath.resolve(element);
+        }
+
+        return packagePath;
+    }
+
+    /**
+     * 出力先パスを {@link Path} に変換し返却します。<br>
+     * 変換結果は初回呼び出し時に保持され、以降の呼び出しでは保持した値を返却します。<br>
+     * 当メソッドはディレクトリの作成を行いません。
+     *
+     * @return 出力先のパス
+     */
+    private Path toOutputDirectory() {
+
+        Path outputDirectory = this.outputDirectory;
+
+        if (outputDirectory == null) {
+            // 変換処理は冪等であるため複数のスレッドで同時に変換が行われても問題ない
+            outputDirectory = Paths.get(this.getOutputPath());
+            this.outputDirectory = outputDirectory;
+        }
+
+        return outputDirectory;
     }
 
     /**
      * 既定の出力先パスを取得し返却します。<br>
-     * 既定の出力パスを取得する際にエラーが発生した場合は空文字列を返却します。
+     * 既定の出力パスの取得に失敗した場合の例外はそのまま呼び出し元へ送出されます。
+     * <p>
+     * 出力先ルートが設定されている場合は {@link #selectOutputRoot(DefaultOutputPath)} で選択した出力先ルートを使用し、<br>
+     * テナントが設定されている場合は出力先ルート配下のテナント名のディレクトリを既定の出力先パスとします。
      *
      * @return 既定の出力先パス
      */
@@ -169,14 +312,51 @@ public final class DefinitionPath {
 
         final Platform platform = Platform.getPlatform();
         Precondition.requireNonNull(platform);
-        logger.atInfo().log("プログラム実行時のプラットフォーム = (%s)", platform);
+        logger.atFine().log("プログラム実行時のプラットフォーム = (%s)", platform);
 
-        final DefaultOutputPath defaultOutputPath = RuleInvoker.of(DefaultOutputPathCollector.of(platform)).invoke();
+        final DefaultOutputPath defaultOutputPath = DefaultOutputPathCache.getInstance().get(platform);
 
         final StringBuilder outputPath = new StringBuilder();
-        outputPath.append(System.getenv(defaultOutputPath.getEnvironmentVariableName()))
-                .append(FluentFile.getFileSeparator()).append(defaultOutputPath.getOutputDirectory());
+
+        if (defaultOutputPath.getOutputRoots().isEmpty()) {
+            outputPath.append(System.getenv(defaultOutputPath.getEnvironmentVariableName()))
+                    .append(FluentFile.getFileSeparator()).append(defaultOutputPath.getOutputDirectory());
+        } else {
+            outputPath.append(this.selectOutputRoot(defaultOutputPath));
+
+            if (!defaultOutputPath.getTenant().isEmpty()) {
+                outputPath.append(FluentFile.getFileSeparator()).append(defaultOutputPath.getTenant());
+            }
+        }
 
         return outputPath.toString();
     }
+
+    /**
+     * 既定出力先に設定された出力先ルートから当定義の出力先ルートを選択し返却します。
+     * <p>
+     * 振り分け方法が {@link OutputSharding#TENANT} の場合はテナント名、{@link OutputSharding#DEFINITION_HASH}
+     * の場合は定義書の絶対パスを基に出力先ルートを選択します。<br>
+     * {@link OutputSharding#TENANT} が指定されていてもテナントが設定されていない場合は、全ての定義が同一の出力先ルートへ偏らないように定義書の絶対パスを使用します。<br>
+     * 選択には {@link Hashing#consistentHash(com.google.common.hash.HashCode, int)}
+     * を使用するため、出力先ルートを追加した場合でも多くの定義は同じ出力先ルートへ出力され続けます。
+     *
+     * @param defaultOutputPath 既定出力先
+     * @return 出力先ルート
+     */
+    String selectOutputRoot(@NonNull DefaultOutputPath defaultOutputPath) {
+
+        final List<String> outputRoots = defaultOutputPath.getOutputRoots();
+
+        if (outputRoots.size() == 1) {
+            return outputRoots.get(0);
+        }
+
+        final String shardingKey = defaultOutputPath.getOutputSharding() == OutputSharding.TENANT
+                && !defaultOutputPath.getTenant().isEmpty() ? defaultOutputPath.getTenant()
+                : Paths.get(this.filePath).toAbsolutePath().normalize().toString();
+
+        return outputRoots.get(Hashing.consistentHash(
+                Hashing.murmur3_128().hashString(shardingKey, StandardCharsets.UTF_8), outputRoots.size()));
+    }
 }
\ No newline at end of file
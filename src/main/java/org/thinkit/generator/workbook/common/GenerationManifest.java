@@ -0,0 +1,316 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 生成器毎に前回正常終了時の定義書と出力先の指紋を記録するマニフェストを管理するクラスです。
+ * <p>
+ * マニフェストは {@link #load(Path)} で読み込み、{@link #save()} でファイルへ保存します。<br>
+ * マニフェストの各エントリは生成器のクラス名と定義書のファイルパスをキーとして管理されます。<br>
+ * 生成器が出力したファイルの状態はエントリのキーに {@code #output.} と連番を付与したキーで記録されます。
+ * <p>
+ * 当クラスはスレッドセーフであり、並列に実行される生成器から同時に参照、更新することができます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DefinitionFingerprint
+ * @see IncrementalExecutor
+ */
+@ToString
+public final class GenerationManifest {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 既定のマニフェストファイル名
+     */
+    public static final String DEFAULT_FILE_NAME = ".generator-manifest";
+
+    /**
+     * マニフェストの値の区切り文字
+     */
+    private static final String VALUE_DELIMITER = ",";
+
+    /**
+     * マニフェストの値の要素数
+     */
+    private static final int VALUE_ELEMENT_COUNT = 4;
+
+    /**
+     * 出力ファイルの状態を記録するキーの接続文字列
+     */
+    private static final String OUTPUT_KEY_INFIX = "#output.";
+
+    /**
+     * 出力ファイルの状態を記録する値の要素数
+     */
+    private static final int OUTPUT_VALUE_ELEMENT_COUNT = 3;
+
+    /**
+     * マニフェストファイルのパス
+     */
+    @Getter
+    private Path manifestPath;
+
+    /**
+     * マニフェストのエントリ
+     */
+    @ToString.Exclude
+    private final Map<String, DefinitionFingerprint> entries = new ConcurrentHashMap<>();
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private GenerationManifest() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param manifestPath マニフェストファイルのパス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private GenerationManifest(@NonNull Path manifestPath) {
+        this.manifestPath = manifestPath;
+    }
+
+    /**
+     * 作業ディレクトリにある既定のマニフェストファイルを読み込みます。<br>
+     * マニフェストファイルが存在しない場合は空のマニフェストを返却します。
+     *
+     * @return マニフェスト
+     *
+     * @exception UncheckedIOException マニフェストファイルの読み込みに失敗した場合
+     */
+    public static GenerationManifest load() {
+        return load(Paths.get(DEFAULT_FILE_NAME));
+    }
+
+    /**
+     * 引数として指定されたマニフェストファイルを読み込みます。<br>
+     * マニフェストファイルが存在しない場合は空のマニフェストを返却します。<br>
+     * 形式が不正なエントリは読み飛ばされます。
+     *
+     * @param manifestPath マニフェストファイルのパス
+     * @return マニフェスト
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception UncheckedIOException マニフェストファイルの読み込みに失敗した場合
+     */
+    public static GenerationManifest load(@NonNull Path manifestPath) {
+
+        final GenerationManifest manifest = new GenerationManifest(manifestPath);
+
+        if (!Files.exists(manifestPath)) {
+            return manifest;
+        }
+
+        final Properties properties = new Properties();
+
+        try (InputStream inputStream = Files.newInputStream(manifestPath)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final Map<String, List<OutputFileStamp>> outputFiles = new HashMap<>();
+        final Set<String> malformedKeys = new HashSet<>();
+
+        for (String key : properties.stringPropertyNames()) {
+            final int infixIndex = key.lastIndexOf(OUTPUT_KEY_INFIX);
+
+            if (infixIndex >= 0) {
+                final String entryKey = key.substring(0, infixIndex);
+                final OutputFileStamp outputFile = parseOutputFile(properties.getProperty(key));
+
+                if (outputFile == null) {
+                    logger.atWarning().log("マニフェストの形式が不正なエントリを読み飛ばします。キー = (%s)", key);
+                    malformedKeys.add(entryKey);
+                } else {
+                    outputFiles.computeIfAbsent(entryKey, k -> new ArrayList<>()).add(outputFile);
+                }
+
+                continue;
+            }
+
+            final String[] values = properties.getProperty(key).split(VALUE_DELIMITER, VALUE_ELEMENT_COUNT);
+
+            if (values.length != VALUE_ELEMENT_COUNT) {
+                logger.atWarning().log("マニフェストの形式が不正なエントリを読み飛ばします。キー = (%s)", key);
+                continue;
+            }
+
+            try {
+                manifest.entries.put(key, DefinitionFingerprint.of(Long.parseLong(values[0]),
+                        Long.parseLong(values[1]), values[2], values[3]));
+            } catch (NumberFormatException e) {
+                logger.atWarning().log("マニフェストの形式が不正なエントリを読み飛ばします。キー = (%s)", key);
+            }
+        }
+
+        // 出力ファイルの状態を確認できないエントリは生成を省略しないよう削除する
+        manifest.entries.keySet().removeAll(malformedKeys);
+        outputFiles.forEach((key, stamps) -> manifest.entries.computeIfPresent(key,
+                (k, fingerprint) -> fingerprint.withOutputFiles(stamps)));
+
+        return manifest;
+    }
+
+    /**
+     * 引数として指定されたマニフェストの値から出力ファイルの状態を生成し返却します。<br>
+     * 値の形式が不正な場合は {@code null} を返却します。
+     *
+     * @param value マニフェストの値
+     * @return 出力ファイルの状態
+     */
+    private static OutputFileStamp parseOutputFile(@NonNull String value) {
+
+        final String[] values = value.split(VALUE_DELIMITER, OUTPUT_VALUE_ELEMENT_COUNT);
+
+        if (values.length != OUTPUT_VALUE_ELEMENT_COUNT) {
+            return null;
+        }
+
+        try {
+            return OutputFileStamp.of(values[2], Long.parseLong(values[0]), Long.parseLong(values[1]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 引数として指定された生成器と定義書の組み合わせで記録された指紋を返却します。<br>
+     * 指紋が記録されていない場合は {@code null} を返却します。
+     *
+     * @param generatorClass 生成器のクラス
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return 記録された指紋
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public DefinitionFingerprint get(@NonNull Class<?> generatorClass, @NonNull DefinitionPath definitionPath) {
+        return this.entries.get(this.toKey(generatorClass, definitionPath));
+    }
+
+    /**
+     * 引数として指定された生成器と定義書の組み合わせで指紋を記録します。
+     *
+     * @param generatorClass 生成器のクラス
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param fingerprint    記録する指紋
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void put(@NonNull Class<?> generatorClass, @NonNull DefinitionPath definitionPath,
+            @NonNull DefinitionFingerprint fingerprint) {
+        this.entries.put(this.toKey(generatorClass, definitionPath), fingerprint);
+    }
+
+    /**
+     * 引数として指定された生成器と定義書の組み合わせで記録された指紋を削除します。
+     *
+     * @param generatorClass 生成器のクラス
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void remove(@NonNull Class<?> generatorClass, @NonNull DefinitionPath definitionPath) {
+        this.entries.remove(this.toKey(generatorClass, definitionPath));
+    }
+
+    /**
+     * マニフェストをファイルへ保存します。<br>
+     * 保存は一時ファイルへ書き込んだ後に置き換えることで行われるため、保存中に処理が中断された場合でも既存のマニフェストは破損しません。
+     *
+     * @exception UncheckedIOException マニフェストファイルの保存に失敗した場合
+     */
+    public synchronized void save() {
+
+        final Properties properties = new Properties();
+
+        this.entries.forEach((key, fingerprint) -> {
+            properties.setProperty(key,
+                    String.join(VALUE_DELIMITER, String.valueOf(fingerprint.getSize()),
+                            String.valueOf(fingerprint.getLastModified()), fingerprint.getContentHash(),
+                            fingerprint.getOutputPath()));
+
+            final List<OutputFileStamp> outputFiles = fingerprint.getOutputFiles();
+
+            for (int i = 0; i < outputFiles.size(); i++) {
+                final OutputFileStamp outputFile = outputFiles.get(i);
+                properties.setProperty(key + OUTPUT_KEY_INFIX + i,
+                        String.join(VALUE_DELIMITER, String.valueOf(outputFile.getSize()),
+                                String.valueOf(outputFile.getLastModified()), outputFile.getFilePath()));
+            }
+        });
+
+        try {
+            final Path absolutePath = this.manifestPath.toAbsolutePath();
+            Files.createDirectories(absolutePath.getParent());
+
+            final Path temporaryPath = Files.createTempFile(absolutePath.getParent(),
+                    absolutePath.getFileName().toString(), ".tmp");
+
+            try (OutputStream outputStream = Files.newOutputStream(temporaryPath)) {
+                properties.store(outputStream, null);
+            }
+
+            Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された生成器と定義書の組み合わせからマニフェストのキーを生成し返却します。
+     *
+     * @param generatorClass 生成器のクラス
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return マニフェストのキー
+     */
+    private String toKey(@NonNull Class<?> generatorClass, @NonNull DefinitionPath definitionPath) {
+        return generatorClass.getName() + "@" + Paths.get(definitionPath.getFilePath()).toAbsolutePath().normalize();
+    }
+}
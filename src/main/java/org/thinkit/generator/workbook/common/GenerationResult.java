@@ -0,0 +1,220 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 1つの生成器の実行結果を管理するデータクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see GenerationStatus
+ */
+@ToString
+@EqualsAndHashCode
+public final class GenerationResult {
+
+    /**
+     * 生成する定義のパスを管理するオブジェクト
+     */
+    @Getter
+    private DefinitionPath definitionPath;
+
+    /**
+     * 実行結果の状態
+     */
+    @Getter
+    private GenerationStatus status;
+
+    /**
+     * 異常終了の原因となった例外
+     */
+    private Throwable cause;
+
+    /**
+     * 実行に要した時間(ナノ秒)
+     */
+    @Getter
+    private long elapsedNanos;
+
+    /**
+     * 実行が開始されるまでの待機時間(ナノ秒)
+     */
+    @Getter
+    private long queuedNanos;
+
+    /**
+     * 書き込んだファイル数
+     */
+    @Getter
+    private long filesWritten;
+
+    /**
+     * 内容が同一のため書き込みを省略したファイル数
+     */
+    @Getter
+    private long filesSkipped;
+
+    /**
+     * 書き込み、または書き込みを省略した出力ファイルのパスの一覧
+     */
+    @Getter
+    private List<Path> outputFiles = List.of();
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private GenerationResult() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param status         実行結果の状態
+     * @param cause          異常終了の原因となった例外(任意)
+     * @param elapsedNanos   実行に要した時間(ナノ秒)
+     *
+     * @exception NullPointerException 定義パスまたは状態として {@code null} が渡された場合
+     */
+    private GenerationResult(@NonNull DefinitionPath definitionPath, @NonNull GenerationStatus status,
+            Throwable cause, long elapsedNanos) {
+        this.definitionPath = definitionPath;
+        this.status = status;
+        this.cause = cause;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * コピーコンストラクタ
+     *
+     * @param source       コピー元の実行結果
+     * @param queuedNanos  実行が開始されるまでの待機時間(ナノ秒)
+     * @param filesWritten 書き込んだファイル数
+     * @param filesSkipped 書き込みを省略したファイル数
+     * @param outputFiles  出力ファイルのパスの一覧
+     */
+    private GenerationResult(@NonNull GenerationResult source, long queuedNanos, long filesWritten,
+            long filesSkipped, @NonNull List<Path> outputFiles) {
+        this(source.definitionPath, source.status, source.cause, source.elapsedNanos);
+        this.queuedNanos = queuedNanos;
+        this.filesWritten = filesWritten;
+        this.filesSkipped = filesSkipped;
+        this.outputFiles = List.copyOf(outputFiles);
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link GenerationResult} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param status         実行結果の状態
+     * @param elapsedNanos   実行に要した時間(ナノ秒)
+     * @return {@link GenerationResult} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static GenerationResult of(@NonNull DefinitionPath definitionPath, @NonNull GenerationStatus status,
+            long elapsedNanos) {
+        return new GenerationResult(definitionPath, status, null, elapsedNanos);
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link GenerationResult} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param status         実行結果の状態
+     * @param cause          異常終了の原因となった例外
+     * @param elapsedNanos   実行に要した時間(ナノ秒)
+     * @return {@link GenerationResult} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static GenerationResult of(@NonNull DefinitionPath definitionPath, @NonNull GenerationStatus status,
+            @NonNull Throwable cause, long elapsedNanos) {
+        return new GenerationResult(definitionPath, status, cause, elapsedNanos);
+    }
+
+    /**
+     * 引数として指定された待機時間を設定した実行結果を返却します。
+     *
+     * @param queuedNanos 実行が開始されるまでの待機時間(ナノ秒)
+     * @return 待機時間を設定した {@link GenerationResult} クラスの新しいインスタンス
+     */
+    public GenerationResult withQueuedNanos(long queuedNanos) {
+        return new GenerationResult(this, queuedNanos, this.filesWritten, this.filesSkipped, this.outputFiles);
+    }
+
+    /**
+     * 引数として指定された出力ファイル数を設定した実行結果を返却します。
+     *
+     * @param filesWritten 書き込んだファイル数
+     * @param filesSkipped 書き込みを省略したファイル数
+     * @return 出力ファイル数を設定した {@link GenerationResult} クラスの新しいインスタンス
+     */
+    public GenerationResult withOutputCounts(long filesWritten, long filesSkipped) {
+        return new GenerationResult(this, this.queuedNanos, filesWritten, filesSkipped, this.outputFiles);
+    }
+
+    /**
+     * 引数として指定された出力ファイルのパスの一覧を設定した実行結果を返却します。
+     *
+     * @param outputFiles 書き込み、または書き込みを省略した出力ファイルのパスの一覧
+     * @return 出力ファイルのパスの一覧を設定した {@link GenerationResult} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public GenerationResult withOutputFiles(@NonNull List<Path> outputFiles) {
+        return new GenerationResult(this, this.queuedNanos, this.filesWritten, this.filesSkipped, outputFiles);
+    }
+
+    /**
+     * 実行に要した時間を返却します。
+     *
+     * @return 実行に要した時間
+     */
+    public Duration getElapsed() {
+        return Duration.ofNanos(this.elapsedNanos);
+    }
+
+    /**
+     * 実行結果が正常終了を表すか判定します。
+     *
+     * @return 正常終了を表す場合は {@code true} 、それ以外は {@code false}
+     */
+    public boolean isSuccessful() {
+        return this.status.isSuccessful();
+    }
+
+    /**
+     * 異常終了の原因となった例外を返却します。<br>
+     * 原因となる例外が存在しない場合は空の {@link Optional} を返却します。
+     *
+     * @return 異常終了の原因となった例外
+     */
+    public Optional<Throwable> getCause() {
+        return Optional.ofNullable(this.cause);
+    }
+}
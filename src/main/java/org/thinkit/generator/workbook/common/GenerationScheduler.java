@@ -0,0 +1,336 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.common.Generator;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 生成処理間の依存関係を考慮して複数の生成器を並列に実行するクラスです。
+ * <p>
+ * {@link #addTask(GenerationTask)} で登録した生成処理は {@link #addDependency(GenerationTask, GenerationTask)}
+ * で宣言された依存関係に従って実行されます。<br>
+ * 依存関係のない生成処理は並列度の上限まで同時に実行され、各生成処理は依存する全ての生成処理が終了した時点で実行が開始されます。<br>
+ * 依存する生成処理のいずれかが正常終了しなかった場合、その生成処理は実行されずに実行結果が {@link GenerationStatus#BLOCKED} となります。<br>
+ * 各生成処理は {@link AdmissionController} からメモリを割り当てられた後に実行されます。
+ * <p>
+ * 当クラスは生成処理の登録に関してスレッドセーフではありません。生成処理の登録は {@link #execute()} の呼び出し前に単一のスレッドで行ってください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see GenerationTask
+ * @see GeneratorBatchExecutor
+ */
+@ToString
+public final class GenerationScheduler {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 並列度
+     */
+    private int parallelism;
+
+    /**
+     * 生成器の実行に必要なメモリを割り当てるオブジェクト
+     */
+    private AdmissionController admissionController;
+
+    /**
+     * 生成処理毎の依存する生成処理
+     */
+    @ToString.Exclude
+    private final Map<GenerationTask, Set<GenerationTask>> dependencies = new LinkedHashMap<>();
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private GenerationScheduler() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param parallelism         並列度
+     * @param admissionController 生成器の実行に必要なメモリを割り当てるオブジェクト
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     */
+    private GenerationScheduler(int parallelism, @NonNull AdmissionController admissionController) {
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format("並列度には1以上の値を指定してください。並列度 = (%s)", parallelism));
+        }
+
+        this.parallelism = parallelism;
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * {@link GenerationScheduler} クラスの新しいインスタンスを生成し返却します。<br>
+     * 並列度は利用可能なプロセッサ数となります。
+     *
+     * @return {@link GenerationScheduler} クラスの新しいインスタンス
+     */
+    public static GenerationScheduler of() {
+        return of(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 引数として指定された並列度を基に {@link GenerationScheduler} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param parallelism 並列度
+     * @return {@link GenerationScheduler} クラスの新しいインスタンス
+     *
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     */
+    public static GenerationScheduler of(int parallelism) {
+        return of(parallelism, AdmissionController.getInstance());
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link GenerationScheduler} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param parallelism         並列度
+     * @param admissionController 生成器の実行に必要なメモリを割り当てるオブジェクト
+     * @return {@link GenerationScheduler} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     */
+    public static GenerationScheduler of(int parallelism, @NonNull AdmissionController admissionController) {
+        return new GenerationScheduler(parallelism, admissionController);
+    }
+
+    /**
+     * 引数として指定された生成処理を登録します。<br>
+     * 登録済みの生成処理が指定された場合は何もしません。
+     *
+     * @param task 生成処理
+     * @return 当インスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public GenerationScheduler addTask(@NonNull GenerationTask task) {
+        this.dependencies.computeIfAbsent(task, key -> new LinkedHashSet<>());
+        return this;
+    }
+
+    /**
+     * 引数として指定された生成処理間の依存関係を宣言します。<br>
+     * 未登録の生成処理が指定された場合は登録した上で依存関係を宣言します。
+     *
+     * @param task      生成処理
+     * @param dependsOn {@code task} が依存する生成処理
+     * @return 当インスタンス
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 生成処理自身への依存関係が指定された場合
+     */
+    public GenerationScheduler addDependency(@NonNull GenerationTask task, @NonNull GenerationTask dependsOn) {
+
+        if (task.equals(dependsOn)) {
+            throw new IllegalArgumentException(String.format("生成処理自身に依存することはできません。生成処理 = (%s)", task));
+        }
+
+        this.addTask(dependsOn);
+        this.dependencies.computeIfAbsent(task, key -> new LinkedHashSet<>()).add(dependsOn);
+
+        return this;
+    }
+
+    /**
+     * 登録された生成処理を登録順に返却します。<br>
+     * {@link #execute()} が返却する {@link BatchResult#getResults()} は当メソッドが返却する生成処理と同一の順序となります。
+     *
+     * @return 登録された生成処理
+     */
+    public List<GenerationTask> getTasks() {
+        return Collections.unmodifiableList(new ArrayList<>(this.dependencies.keySet()));
+    }
+
+    /**
+     * 登録された全ての生成処理を依存関係に従って実行し、その結果を集約して返却します。<br>
+     * 当メソッドは全ての生成処理が終了するまで処理を返却しません。
+     *
+     * @return 全ての生成処理の実行結果
+     *
+     * @exception IllegalStateException 生成処理間の依存関係が循環している場合
+     */
+    public BatchResult execute() {
+
+        final long startTime = System.nanoTime();
+        final List<GenerationTask> orderedTasks = this.sortTopologically();
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+
+        try {
+            final Map<GenerationTask, CompletableFuture<GenerationResult>> futures = new HashMap<>();
+
+            for (GenerationTask task : orderedTasks) {
+                final List<CompletableFuture<GenerationResult>> dependencyFutures = new ArrayList<>();
+                this.dependencies.get(task).forEach(dependency -> dependencyFutures.add(futures.get(dependency)));
+
+                // 1つの生成処理の失敗が全体の実行結果の集約を妨げないよう、想定外の失敗も異常終了の実行結果とする
+                futures.put(task,
+                        CompletableFuture.allOf(dependencyFutures.toArray(new CompletableFuture<?>[0]))
+                                .thenApplyAsync(ignored -> this.executeTask(task, dependencyFutures), pool)
+                                .exceptionally(cause -> GenerationResult.of(task.getDefinitionPath(),
+                                        GenerationStatus.FAILURE, cause, 0L)));
+            }
+
+            final List<GenerationResult> results = new ArrayList<>(futures.size());
+
+            for (GenerationTask task : this.dependencies.keySet()) {
+                results.add(futures.get(task).join());
+            }
+
+            return BatchResult.of(results, System.nanoTime() - startTime);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 引数として指定された生成処理を実行します。<br>
+     * 依存する生成処理のいずれかが正常終了しなかった場合は実行せずに {@link GenerationStatus#BLOCKED} を返却します。<br>
+     * 生成器の実行中に {@link OutOfMemoryError} などの {@link Error} が発生した場合は他の生成処理の実行を継続するため異常終了として扱います。
+     *
+     * @param task              生成処理
+     * @param dependencyFutures 依存する生成処理の実行結果
+     * @return 生成処理の実行結果
+     */
+    private GenerationResult executeTask(@NonNull GenerationTask task,
+            @NonNull List<CompletableFuture<GenerationResult>> dependencyFutures) {
+
+        final DefinitionPath definitionPath = task.getDefinitionPath();
+
+        for (CompletableFuture<GenerationResult> dependencyFuture : dependencyFutures) {
+            if (!dependencyFuture.join().isSuccessful()) {
+                logger.atWarning().log("依存する生成処理が正常終了しなかったため実行を中止します。生成処理 = (%s)", task);
+                return GenerationResult.of(definitionPath, GenerationStatus.BLOCKED, 0L);
+            }
+        }
+
+        final long startTime = System.nanoTime();
+        final AdmissionController.Admission admission;
+
+        try {
+            admission = this.admissionController.acquire(definitionPath);
+        } catch (InterruptedException e) {
+            // 割り込み状態がプールの後続タスクへ漏れないように割り込み状態は復元しない
+            logger.atWarning().log("メモリの割り当てを待機中に割り込まれました。生成処理 = (%s)", task);
+            return GenerationResult.of(definitionPath, GenerationStatus.CANCELLED, e, System.nanoTime() - startTime);
+        }
+
+        try {
+            final Generator generator = GeneratorFactory.getInstance().create(task.getGeneratorDivision(),
+                    definitionPath);
+
+            if (generator == null) {
+                throw new IllegalStateException(String.format("生成器区分に対応する生成器が存在しません。生成器区分 = (%s)",
+                        task.getGeneratorDivision()));
+            }
+
+            final GenerationResult result;
+
+            if (generator instanceof AbstractGenerator) {
+                result = ((AbstractGenerator) generator).executeForResult();
+            } else {
+                final GenerationStatus status = generator.execute() ? GenerationStatus.SUCCESS
+                        : GenerationStatus.FAILURE;
+                result = GenerationResult.of(definitionPath, status, System.nanoTime() - startTime);
+            }
+
+            GeneratorFactory.getInstance().release(task.getGeneratorDivision(), definitionPath, generator);
+            return result;
+        } catch (Exception e) {
+            logger.atSevere().withCause(e).log("生成器の実行に失敗しました。生成処理 = (%s)", task);
+            return GenerationResult.of(definitionPath, GenerationStatus.FAILURE, e, System.nanoTime() - startTime);
+        } catch (Error e) {
+            logger.atSevere().withCause(e).log("生成器の実行中にエラーが発生しました。生成処理 = (%s)", task);
+            return GenerationResult.of(definitionPath, GenerationStatus.FAILURE, e, System.nanoTime() - startTime);
+        } finally {
+            admission.close();
+        }
+    }
+
+    /**
+     * 登録された生成処理を依存する生成処理が先に来るように並べ替えて返却します。
+     *
+     * @return 並べ替えた生成処理
+     *
+     * @exception IllegalStateException 生成処理間の依存関係が循環している場合
+     */
+    private List<GenerationTask> sortTopologically() {
+
+        final Map<GenerationTask, Integer> remainingCounts = new HashMap<>();
+        final Map<GenerationTask, List<GenerationTask>> dependents = new HashMap<>();
+        final Deque<GenerationTask> readyTasks = new ArrayDeque<>();
+
+        this.dependencies.forEach((task, taskDependencies) -> {
+            remainingCounts.put(task, taskDependencies.size());
+            taskDependencies.forEach(
+                    dependency -> dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(task));
+
+            if (taskDependencies.isEmpty()) {
+                readyTasks.add(task);
+            }
+        });
+
+        final List<GenerationTask> orderedTasks = new ArrayList<>(this.dependencies.size());
+
+        while (!readyTasks.isEmpty()) {
+            final GenerationTask task = readyTasks.poll();
+            orderedTasks.add(task);
+
+            for (GenerationTask dependent : dependents.getOrDefault(task, Collections.emptyList())) {
+                if (remainingCounts.merge(dependent, -1, Integer::sum) == 0) {
+                    readyTasks.add(dependent);
+                }
+            }
+        }
+
+        if (orderedTasks.size() != this.dependencies.size()) {
+            final List<GenerationTask> cyclicTasks = new ArrayList<>(this.dependencies.keySet());
+            cyclicTasks.removeAll(orderedTasks);
+            throw new IllegalStateException(String.format("生成処理間の依存関係が循環しています。生成処理 = (%s)", cyclicTasks));
+        }
+
+        return orderedTasks;
+    }
+}
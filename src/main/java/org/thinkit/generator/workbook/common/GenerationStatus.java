@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+/**
+ * 生成器の実行結果を表す状態を定義したEnumクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public enum GenerationStatus {
+
+    /**
+     * 正常終了
+     */
+    SUCCESS,
+
+    /**
+     * 異常終了
+     */
+    FAILURE,
+
+    /**
+     * タイムアウト
+     */
+    TIMEOUT,
+
+    /**
+     * 定義書と出力先に変更がないため実行を省略
+     */
+    SKIPPED,
+
+    /**
+     * 実行の取り消し
+     */
+    CANCELLED,
+
+    /**
+     * 依存する生成器が正常終了しなかったため実行を中止
+     */
+    BLOCKED;
+
+    /**
+     * 実行結果が正常終了を表すか判定します。<br>
+     * 実行を省略した場合は前回の正常終了時の生成物が有効であるため正常終了として扱います。
+     *
+     * @return 正常終了を表す場合は {@code true} 、それ以外は {@code false}
+     */
+    public boolean isSuccessful() {
+        return this == SUCCESS || this == SKIPPED;
+    }
+}
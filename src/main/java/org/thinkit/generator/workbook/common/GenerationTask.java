@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import org.thinkit.generator.common.catalog.GeneratorDivision;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 生成器区分と定義書の組み合わせで表現される生成処理の単位を管理するデータクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see GenerationScheduler
+ */
+@ToString
+@EqualsAndHashCode
+public final class GenerationTask {
+
+    /**
+     * 生成器区分
+     */
+    @Getter
+    private GeneratorDivision generatorDivision;
+
+    /**
+     * 生成する定義のパスを管理するオブジェクト
+     */
+    @Getter
+    private DefinitionPath definitionPath;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private GenerationTask() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param generatorDivision 生成器区分
+     * @param definitionPath    生成する定義のパスを管理するオブジェクト
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private GenerationTask(@NonNull GeneratorDivision generatorDivision, @NonNull DefinitionPath definitionPath) {
+        this.generatorDivision = generatorDivision;
+        this.definitionPath = definitionPath;
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link GenerationTask} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param generatorDivision 生成器区分
+     * @param definitionPath    生成する定義のパスを管理するオブジェクト
+     * @return {@link GenerationTask} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static GenerationTask of(@NonNull GeneratorDivision generatorDivision,
+            @NonNull DefinitionPath definitionPath) {
+        return new GenerationTask(generatorDivision, definitionPath);
+    }
+}
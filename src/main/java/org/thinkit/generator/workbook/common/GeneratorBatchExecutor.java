@@ -0,0 +1,559 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.common.Generator;
+import org.thinkit.generator.common.catalog.GeneratorDivision;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 複数の定義書に対する生成器を並列に実行するクラスです。
+ * <p>
+ * {@link #execute(Collection)} に渡された各 {@link DefinitionPath} に対して
+ * {@link AbstractGeneratorFactory#create(GeneratorDivision, DefinitionPath)}
+ * から生成器を取得し、並列度の上限が設定された {@link ForkJoinPool} 上で実行します。<br>
+ * 各生成器の実行結果は {@link BatchResult} として集約され返却されます。
+ * <p>
+ * タイムアウトが設定された場合は各生成器の実行開始からタイムアウトまでの時間が経過した時点で実行スレッドに割り込みを行うとともに<br>
+ * {@link AbstractGenerator#cancel()} で実行の取り消しを要求し、その生成器の実行結果を {@link GenerationStatus#TIMEOUT} とします。<br>
+ * 割り込みまたは取り消しに応答して処理を中断するかは各生成器の実装に依存するため、{@link #execute(Collection)}
+ * は全ての実行結果を集約した後に、タイムアウトした生成器の実行終了をシステムプロパティ {@value #TIMEOUT_GRACE_MILLIS_PROPERTY}
+ * で指定された猶予時間(既定値は {@value #DEFAULT_TIMEOUT_GRACE_MILLIS} ミリ秒)まで待機します。<br>
+ * 猶予時間内に終了しなかった生成器の実行結果は破棄され、終了するまで割り当てられたメモリを保持したまま出力を続ける可能性があります。<br>
+ * タイムアウトした生成器の指紋は増分生成のマニフェストに記録されません。
+ * <p>
+ * 生成器の実行中に発生した例外および {@link Error} はその生成器の異常終了として実行結果に記録され、他の生成器の実行結果には影響しません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see BatchResult
+ */
+@ToString
+@EqualsAndHashCode
+public final class GeneratorBatchExecutor {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * タイムアウトした生成器の実行終了を待機する猶予時間(ミリ秒)を指定するシステムプロパティ名
+     */
+    public static final String TIMEOUT_GRACE_MILLIS_PROPERTY = "org.thinkit.generator.workbook.batch."
+            + "timeoutGraceMillis";
+
+    /**
+     * タイムアウトした生成器の実行終了を待機する猶予時間の既定値(ミリ秒)
+     */
+    public static final long DEFAULT_TIMEOUT_GRACE_MILLIS = 5000L;
+
+    /**
+     * 生成器区分
+     */
+    @Getter
+    private GeneratorDivision generatorDivision;
+
+    /**
+     * 並列度
+     */
+    @Getter
+    private int parallelism;
+
+    /**
+     * 生成器毎のタイムアウト時間
+     */
+    @Getter
+    private Duration timeout;
+
+    /**
+     * 生成器の実行に必要なメモリを割り当てるオブジェクト
+     */
+    @Getter
+    private AdmissionController admissionController;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private GeneratorBatchExecutor() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param generatorDivision 生成器区分
+     * @param parallelism       並列度
+     * @param timeout             生成器毎のタイムアウト時間
+     * @param admissionController 生成器の実行に必要なメモリを割り当てるオブジェクト
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 並列度が1未満の場合、またはタイムアウト時間が負数の場合
+     */
+    private GeneratorBatchExecutor(@NonNull GeneratorDivision generatorDivision, int parallelism,
+            @NonNull Duration timeout, @NonNull AdmissionController admissionController) {
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(String.format("並列度は1以上を指定してください。並列度 = (%s)", parallelism));
+        }
+
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException(String.format("タイムアウト時間に負数は指定できません。タイムアウト時間 = (%s)", timeout));
+        }
+
+        this.generatorDivision = generatorDivision;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * 引数として指定された生成器区分を基に {@link GeneratorBatchExecutor} クラスの新しいインスタンスを生成し返却します。<br>
+     * 並列度は利用可能なプロセッサ数となり、タイムアウトは設定されません。
+     *
+     * @param generatorDivision 生成器区分
+     * @return {@link GeneratorBatchExecutor} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static GeneratorBatchExecutor of(@NonNull GeneratorDivision generatorDivision) {
+        return of(generatorDivision, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 引数として指定された生成器区分と並列度を基に {@link GeneratorBatchExecutor} クラスの新しいインスタンスを生成し返却します。<br>
+     * タイムアウトは設定されません。
+     *
+     * @param generatorDivision 生成器区分
+     * @param parallelism       並列度
+     * @return {@link GeneratorBatchExecutor} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     */
+    public static GeneratorBatchExecutor of(@NonNull GeneratorDivision generatorDivision, int parallelism) {
+        return of(generatorDivision, parallelism, Duration.ZERO);
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link GeneratorBatchExecutor} クラスの新しいインスタンスを生成し返却します。<br>
+     * タイムアウト時間として {@link Duration#ZERO} が指定された場合はタイムアウトは設定されません。<br>
+     * 生成器の実行に必要なメモリは {@link AdmissionController#getInstance()} から割り当てられます。
+     *
+     * @param generatorDivision 生成器区分
+     * @param parallelism       並列度
+     * @param timeout           生成器毎のタイムアウト時間
+     * @return {@link GeneratorBatchExecutor} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 並列度が1未満の場合、またはタイムアウト時間が負数の場合
+     */
+    public static GeneratorBatchExecutor of(@NonNull GeneratorDivision generatorDivision, int parallelism,
+            @NonNull Duration timeout) {
+        return of(generatorDivision, parallelism, timeout, AdmissionController.getInstance());
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link GeneratorBatchExecutor} クラスの新しいインスタンスを生成し返却します。<br>
+     * 各生成器は {@link AdmissionController} からメモリを割り当てられた後に実行されます。
+     *
+     * @param generatorDivision   生成器区分
+     * @param parallelism         並列度
+     * @param timeout             生成器毎のタイムアウト時間
+     * @param admissionController 生成器の実行に必要なメモリを割り当てるオブジェクト
+     * @return {@link GeneratorBatchExecutor} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 並列度が1未満の場合、またはタイムアウト時間が負数の場合
+     */
+    public static GeneratorBatchExecutor of(@NonNull GeneratorDivision generatorDivision, int parallelism,
+            @NonNull Duration timeout, @NonNull AdmissionController admissionController) {
+        return new GeneratorBatchExecutor(generatorDivision, parallelism, timeout, admissionController);
+    }
+
+    /**
+     * 引数として指定された全ての定義書に対する生成器を並列に実行し、その結果を集約して返却します。<br>
+     * 当メソッドは全ての生成器の実行が終了するまで処理を返却しません。
+     *
+     * @param definitionPaths 生成する定義のパスを管理するオブジェクトのコレクション
+     * @return 全ての生成器の実行結果
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public BatchResult execute(@NonNull Collection<DefinitionPath> definitionPaths) {
+        return this.execute(definitionPaths, null);
+    }
+
+    /**
+     * 引数として指定された全ての定義書に対する生成器を増分生成として並列に実行し、その結果を集約して返却します。<br>
+     * 定義書と出力先に前回正常終了時から変更がない生成器の実行は省略されます。<br>
+     * 全ての生成器の実行が終了した後にマニフェストはファイルへ保存されます。
+     *
+     * @param definitionPaths     生成する定義のパスを管理するオブジェクトのコレクション
+     * @param incrementalExecutor 増分生成を行うオブジェクト
+     * @return 全ての生成器の実行結果
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public BatchResult executeIncrementally(@NonNull Collection<DefinitionPath> definitionPaths,
+            @NonNull IncrementalExecutor incrementalExecutor) {
+
+        final BatchResult batchResult = this.execute(definitionPaths, incrementalExecutor);
+        incrementalExecutor.getManifest().save();
+
+        return batchResult;
+    }
+
+    /**
+     * 引数として指定された全ての定義書に対する生成器を並列に実行し、その結果を集約して返却します。
+     *
+     * @param definitionPaths     生成する定義のパスを管理するオブジェクトのコレクション
+     * @param incrementalExecutor 増分生成を行うオブジェクト(増分生成を行わない場合は {@code null})
+     * @return 全ての生成器の実行結果
+     */
+    private BatchResult execute(@NonNull Collection<DefinitionPath> definitionPaths,
+            IncrementalExecutor incrementalExecutor) {
+
+        final long startTime = System.nanoTime();
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        final ScheduledExecutorService watchdog = this.timeout.isZero() ? null
+                : Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "generator-batch-watchdog");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        try {
+            final List<CompletableFuture<GenerationResult>> futures = new ArrayList<>(definitionPaths.size());
+            final List<CompletableFuture<GenerationResult>> tasks = new ArrayList<>(definitionPaths.size());
+
+            for (DefinitionPath definitionPath : definitionPaths) {
+                // タイムアウト時は監視スレッドが生成器の終了を待たずに実行結果を確定させる
+                final CompletableFuture<GenerationResult> future = new CompletableFuture<>();
+                final CompletableFuture<GenerationResult> task = CompletableFuture.supplyAsync(
+                        () -> this.executeTask(definitionPath, incrementalExecutor, watchdog, future), pool);
+                task.whenComplete((result, cause) -> future.complete(cause == null ? result
+                        : GenerationResult.of(definitionPath, GenerationStatus.FAILURE, cause, 0L)));
+                futures.add(future);
+                tasks.add(task);
+            }
+
+            final List<GenerationResult> results = new ArrayList<>(futures.size());
+
+            for (CompletableFuture<GenerationResult> future : futures) {
+                results.add(future.join());
+            }
+
+            if (watchdog != null) {
+                awaitTimedOutTasks(tasks);
+            }
+
+            return BatchResult.of(results, System.nanoTime() - startTime);
+        } finally {
+            pool.shutdown();
+
+            if (watchdog != null) {
+                watchdog.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * タイムアウトした生成器を含む全ての生成器の実行終了を猶予時間まで待機します。<br>
+     * 猶予時間内に終了しなかった生成器は実行結果を破棄したものとして扱います。
+     *
+     * @param tasks 生成器の実行
+     */
+    private static void awaitTimedOutTasks(@NonNull List<CompletableFuture<GenerationResult>> tasks) {
+
+        final long graceMillis = Long.getLong(TIMEOUT_GRACE_MILLIS_PROPERTY, DEFAULT_TIMEOUT_GRACE_MILLIS);
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).get(graceMillis,
+                    TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.atSevere().log("猶予時間内に終了しなかった生成器の実行結果を破棄します。実行中の生成器数 = (%s), 猶予時間 = (%sms)",
+                    tasks.stream().filter(task -> !task.isDone()).count(), graceMillis);
+        } catch (ExecutionException e) {
+            // 各生成器の例外は実行結果として記録済みのため無視する
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 引数として指定された定義書に対する生成器の実行に必要なメモリを割り当てた後に、生成器を生成し実行します。<br>
+     * 生成器の実行中に {@link OutOfMemoryError} などの {@link Error} が発生した場合は他の生成器の実行を継続するため異常終了として扱います。
+     *
+     * @param definitionPath      生成する定義のパスを管理するオブジェクト
+     * @param incrementalExecutor 増分生成を行うオブジェクト(増分生成を行わない場合は {@code null})
+     * @param watchdog            タイムアウトを監視するスケジューラ(タイムアウトが設定されない場合は {@code null})
+     * @param future              タイムアウト時に実行結果を確定させる {@link CompletableFuture}
+     * @return 生成器の実行結果
+     */
+    private GenerationResult executeTask(@NonNull DefinitionPath definitionPath,
+            IncrementalExecutor incrementalExecutor, ScheduledExecutorService watchdog,
+            @NonNull CompletableFuture<GenerationResult> future) {
+
+        final long startTime = System.nanoTime();
+        final AdmissionController.Admission admission;
+
+        try {
+            admission = this.admissionController.acquire(definitionPath);
+        } catch (InterruptedException e) {
+            // 割り込み状態がプールの後続タスクへ漏れないように割り込み状態は復元しない
+            logger.atWarning().log("メモリの割り当てを待機中に割り込まれました。定義書 = (%s)", definitionPath.getFilePath());
+            return GenerationResult.of(definitionPath, GenerationStatus.CANCELLED, e, System.nanoTime() - startTime);
+        }
+
+        try {
+            final long queuedNanos = System.nanoTime() - startTime;
+            return this.executeAdmitted(definitionPath, incrementalExecutor, watchdog, future)
+                    .withQueuedNanos(queuedNanos);
+        } catch (Error e) {
+            logger.atSevere().withCause(e).log("生成器の実行中にエラーが発生しました。定義書 = (%s)", definitionPath.getFilePath());
+            return GenerationResult.of(definitionPath, GenerationStatus.FAILURE, e, System.nanoTime() - startTime);
+        } finally {
+            admission.close();
+        }
+    }
+
+    /**
+     * 引数として指定された定義書に対する生成器を生成し実行します。
+     *
+     * @param definitionPath      生成する定義のパスを管理するオブジェクト
+     * @param incrementalExecutor 増分生成を行うオブジェクト(増分生成を行わない場合は {@code null})
+     * @param watchdog            タイムアウトを監視するスケジューラ(タイムアウトが設定されない場合は {@code null})
+     * @param future              タイムアウト時に実行結果を確定させる {@link CompletableFuture}
+     * @return 生成器の実行結果
+     */
+    private GenerationResult executeAdmitted(@NonNull DefinitionPath definitionPath,
+            IncrementalExecutor incrementalExecutor, ScheduledExecutorService watchdog,
+            @NonNull CompletableFuture<GenerationResult> future) {
+
+        final long startTime = System.nanoTime();
+        final TimeoutGuard timeoutGuard = new TimeoutGuard(Thread.currentThread(),
+                () -> this.timeoutResult(definitionPath, startTime), future);
+        final ScheduledFuture<?> timeoutFuture = watchdog == null ? null
+                : watchdog.schedule(timeoutGuard, this.timeout.toNanos(), TimeUnit.NANOSECONDS);
+
+        GenerationResult result;
+        boolean completed = false;
+
+        try {
+            result = this.createAndExecute(definitionPath, incrementalExecutor, timeoutGuard);
+            completed = true;
+        } catch (Exception | Error e) {
+            logger.atSevere().withCause(e).log("生成器の実行に失敗しました。定義書 = (%s)", definitionPath.getFilePath());
+            result = GenerationResult.of(definitionPath, GenerationStatus.FAILURE, e, System.nanoTime() - startTime);
+        } finally {
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+        }
+
+        final boolean timedOut = timeoutGuard.finish();
+
+        // 割り込み状態がプールの後続タスクへ漏れないように消去する
+        Thread.interrupted();
+
+        if (timedOut) {
+            if (incrementalExecutor != null && timeoutGuard.generator != null) {
+                // 取り消しに応答せずに正常終了した場合でも実行結果は破棄されるため、次回は再生成する
+                incrementalExecutor.getManifest().remove(timeoutGuard.generator.getClass(), definitionPath);
+            }
+
+            logger.atWarning().log("タイムアウトした生成器の実行が終了しました。定義書 = (%s), 経過時間 = (%sms)",
+                    definitionPath.getFilePath(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            return this.timeoutResult(definitionPath, startTime);
+        }
+
+        if (completed && timeoutGuard.generator != null) {
+            // タイムアウトしていないため以降に取り消しが要求されることはなく、生成器を次回の生成要求へ貸し出せる
+            GeneratorFactory.getInstance().release(this.generatorDivision, definitionPath, timeoutGuard.generator);
+        }
+
+        return result;
+    }
+
+    /**
+     * 引数として指定された定義書に対するタイムアウト時の実行結果を返却します。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param startTime      生成器の実行開始時刻
+     * @return タイムアウト時の実行結果
+     */
+    private GenerationResult timeoutResult(@NonNull DefinitionPath definitionPath, long startTime) {
+        return GenerationResult.of(definitionPath, GenerationStatus.TIMEOUT,
+                new TimeoutException(String.format("タイムアウト時間 = (%s)", this.timeout)),
+                System.nanoTime() - startTime);
+    }
+
+    /**
+     * 引数として指定された定義書に対する生成器を生成し実行します。
+     *
+     * @param definitionPath      生成する定義のパスを管理するオブジェクト
+     * @param incrementalExecutor 増分生成を行うオブジェクト(増分生成を行わない場合は {@code null})
+     * @param timeoutGuard        タイムアウト時に生成器の実行を取り消すオブジェクト
+     * @return 生成器の実行結果
+     *
+     * @throws IllegalStateException 生成器区分に対応する生成器が存在しない場合
+     */
+    private GenerationResult createAndExecute(@NonNull DefinitionPath definitionPath,
+            IncrementalExecutor incrementalExecutor, @NonNull TimeoutGuard timeoutGuard) {
+
+        final long startTime = System.nanoTime();
+        final Generator generator = GeneratorFactory.getInstance().create(this.generatorDivision, definitionPath);
+
+        if (generator == null) {
+            throw new IllegalStateException(
+                    String.format("生成器区分に対応する生成器が存在しません。生成器区分 = (%s)", this.generatorDivision));
+        }
+
+        timeoutGuard.attach(generator);
+
+        if (generator instanceof AbstractGenerator) {
+            final AbstractGenerator abstractGenerator = (AbstractGenerator) generator;
+            return incrementalExecutor == null ? abstractGenerator.executeForResult()
+                    : incrementalExecutor.execute(abstractGenerator, timeoutGuard::isTimedOut);
+        }
+
+        final GenerationStatus status = generator.execute() ? GenerationStatus.SUCCESS : GenerationStatus.FAILURE;
+        return GenerationResult.of(definitionPath, status, System.nanoTime() - startTime);
+    }
+
+    /**
+     * タイムアウト時に実行スレッドへ割り込みを行い、実行結果を {@link GenerationStatus#TIMEOUT} で確定させるクラスです。<br>
+     * 実行終了後に割り込みが行われないように実行終了の通知と割り込みを排他制御します。
+     */
+    private static final class TimeoutGuard implements Runnable {
+
+        /**
+         * 生成器を実行するスレッド
+         */
+        private final Thread thread;
+
+        /**
+         * タイムアウト時の実行結果を生成するオブジェクト
+         */
+        private final Supplier<GenerationResult> timeoutResult;
+
+        /**
+         * タイムアウト時に実行結果を確定させる {@link CompletableFuture}
+         */
+        private final CompletableFuture<GenerationResult> future;
+
+        /**
+         * 実行中の生成器(タイムアウト時に {@link AbstractGenerator} であれば実行を取り消す)
+         */
+        private Generator generator = null;
+
+        /**
+         * 実行終了フラグ
+         */
+        private boolean finished = false;
+
+        /**
+         * タイムアウトフラグ
+         */
+        private boolean timedOut = false;
+
+        /**
+         * コンストラクタ
+         *
+         * @param thread        生成器を実行するスレッド
+         * @param timeoutResult タイムアウト時の実行結果を生成するオブジェクト
+         * @param future        タイムアウト時に実行結果を確定させる {@link CompletableFuture}
+         */
+        private TimeoutGuard(@NonNull Thread thread, @NonNull Supplier<GenerationResult> timeoutResult,
+                @NonNull CompletableFuture<GenerationResult> future) {
+            this.thread = thread;
+            this.timeoutResult = timeoutResult;
+            this.future = future;
+        }
+
+        @Override
+        public synchronized void run() {
+            if (!this.finished) {
+                this.timedOut = true;
+                this.thread.interrupt();
+
+                if (this.generator instanceof AbstractGenerator) {
+                    ((AbstractGenerator) this.generator).cancel();
+                }
+
+                final GenerationResult result = this.timeoutResult.get();
+                logger.atWarning().log("生成器の実行がタイムアウトしました。定義書 = (%s)",
+                        result.getDefinitionPath().getFilePath());
+                this.future.complete(result);
+            }
+        }
+
+        /**
+         * 実行中の生成器を設定します。<br>
+         * 設定前に既にタイムアウトしていた場合は即座に実行の取り消しを要求します。
+         *
+         * @param generator 生成器
+         */
+        private synchronized void attach(@NonNull Generator generator) {
+
+            this.generator = generator;
+
+            if (this.timedOut && generator instanceof AbstractGenerator) {
+                ((AbstractGenerator) generator).cancel();
+            }
+        }
+
+        /**
+         * タイムアウトが発生したか判定します。
+         *
+         * @return タイムアウトが発生した場合は {@code true} 、それ以外は {@code false}
+         */
+        private synchronized boolean isTimedOut() {
+            return this.timedOut;
+        }
+
+        /**
+         * 生成器の実行終了を通知します。
+         *
+         * @return タイムアウトが発生していた場合は {@code true} 、それ以外は {@code false}
+         */
+        private synchronized boolean finish() {
+            this.finished = true;
+            return this.timedOut;
+        }
+    }
+}
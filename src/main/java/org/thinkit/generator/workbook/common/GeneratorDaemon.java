@@ -0,0 +1,618 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.flogger.FluentLogger;
+import com.google.common.io.BaseEncoding;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.text.StrTokenizer;
+import org.thinkit.generator.common.catalog.GeneratorDivision;
+import org.thinkit.generator.workbook.common.content.rule.DefaultOutputPathCache;
+import org.thinkit.generator.workbook.common.reader.SheetDataCache;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 生成器を常駐させて生成要求を受け付けるデーモンクラスです。
+ * <p>
+ * 生成器ファクトリ、定義書の解析結果および既定出力先のキャッシュをプロセス内に保持し続けるため、<br>
+ * 2回目以降の生成要求ではJVMの起動とキャッシュの構築にかかる時間が省略されます。<br>
+ * 生成要求を受け付けた定義書は {@link DefinitionFileWatcher} で監視され、変更された場合は関連するキャッシュが破棄されます。
+ * <p>
+ * 生成要求は標準入力またはループバックアドレスのソケットから1行1コマンドで受け付け、1行の応答を返却します。<br>
+ * 定義書と出力先のパスはデーモンの作業ディレクトリに依存しないように絶対パスで指定してください。
+ * <p>
+ * ソケットで待ち受ける場合は起動時にランダムな認証トークンを生成し、所有者のみ読み書き可能なトークンファイル
+ * {@code ~/.thinkit-generator/daemon-<ポート番号>.token} へ書き込みます。<br>
+ * 接続後の最初の1行で {@code AUTH <認証トークン>} を送信し、認証に成功した場合のみ以降の生成要求が受け付けられます。<br>
+ * トークンファイルを配置するディレクトリはシステムプロパティ {@value #TOKEN_DIRECTORY_PROPERTY} で変更できます。
+ *
+ * <pre>
+ * AUTH &lt;認証トークン&gt;                                   → OK (ソケット接続時の最初の1行のみ)
+ * GENERATE &lt;生成器区分&gt; &lt;定義書のパス&gt; [出力先のパス] → OK &lt;状態&gt; &lt;実行時間(ミリ秒)&gt; &lt;書き込んだファイル数&gt;
+ * INVALIDATE [定義書のパス]                                   → OK
+ * STATS                                                      → OK &lt;キャッシュの統計情報&gt;
+ * SHUTDOWN                                                   → OK
+ * </pre>
+ *
+ * 処理に失敗した場合は {@code ERROR <メッセージ>} が返却されます。<br>
+ * 空白を含むパスはダブルクォーテーションで囲んで指定してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DefinitionFileWatcher
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class GeneratorDaemon implements Closeable {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 正常応答の接頭辞
+     */
+    private static final String RESPONSE_OK = "OK";
+
+    /**
+     * 異常応答の接頭辞
+     */
+    private static final String RESPONSE_ERROR = "ERROR";
+
+    /**
+     * 認証コマンド
+     */
+    private static final String COMMAND_AUTH = "AUTH";
+
+    /**
+     * トークンファイルを配置するディレクトリを指定するシステムプロパティ名
+     */
+    static final String TOKEN_DIRECTORY_PROPERTY = "org.thinkit.generator.workbook.daemonTokenDirectory";
+
+    /**
+     * 認証トークンのバイト数
+     */
+    private static final int TOKEN_BYTES = 32;
+
+    /**
+     * 定義書の変更を監視するオブジェクト
+     */
+    @ToString.Include
+    private DefinitionFileWatcher definitionFileWatcher;
+
+    /**
+     * 待ち受け中のサーバソケット
+     */
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * ソケット接続の認証トークン
+     */
+    private volatile byte[] token;
+
+    /**
+     * 認証トークンを書き込んだトークンファイル
+     */
+    private volatile Path tokenFile;
+
+    /**
+     * 終了を通知するラッチ
+     */
+    private final CountDownLatch shutdownLatch = new CountDownLatch(1);
+
+    /**
+     * コンストラクタ
+     */
+    private GeneratorDaemon() {
+        this.definitionFileWatcher = DefinitionFileWatcher.of(this::invalidate);
+    }
+
+    /**
+     * {@link GeneratorDaemon} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return {@link GeneratorDaemon} クラスの新しいインスタンス
+     *
+     * @exception UncheckedIOException 定義書の監視の開始に失敗した場合
+     */
+    public static GeneratorDaemon of() {
+        return new GeneratorDaemon();
+    }
+
+    /**
+     * デーモンを起動します。
+     * <p>
+     * {@code --port <ポート番号>} が指定された場合はループバックアドレスの指定されたポートで待ち受け、<br>
+     * 指定されない場合は標準入力から生成要求を受け付けます。
+     *
+     * @param args 起動引数
+     *
+     * @throws IOException 生成要求の受け付けに失敗した場合
+     */
+    public static void main(String[] args) throws IOException {
+
+        int port = -1;
+
+        for (int i = 0; i < args.length; i++) {
+            if ("--port".equals(args[i]) && i + 1 < args.length) {
+                port = Integer.parseInt(args[++i]);
+            } else {
+                throw new IllegalArgumentException(String.format("不正な起動引数です。起動引数 = (%s)", args[i]));
+            }
+        }
+
+        try (GeneratorDaemon generatorDaemon = GeneratorDaemon.of()) {
+            if (port < 0) {
+                generatorDaemon.serve(System.in, System.out);
+            } else {
+                generatorDaemon.serve(port);
+            }
+        }
+    }
+
+    /**
+     * 引数として指定された入力ストリームから生成要求を受け付け、応答を出力ストリームへ書き込みます。<br>
+     * 入力ストリームが終端に達した場合、または {@code SHUTDOWN} を受け付けた場合に処理を返却します。
+     *
+     * @param inputStream  生成要求の入力ストリーム
+     * @param outputStream 応答の出力ストリーム
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IOException 入出力に失敗した場合
+     */
+    public void serve(@NonNull InputStream inputStream, @NonNull OutputStream outputStream) throws IOException {
+        this.serve(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)),
+                new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 引数として指定された入力から生成要求を受け付け、応答を出力へ書き込みます。
+     *
+     * @param reader 生成要求の入力
+     * @param writer 応答の出力
+     *
+     * @throws IOException 入出力に失敗した場合
+     */
+    private void serve(@NonNull BufferedReader reader, @NonNull PrintWriter writer) throws IOException {
+
+        String line;
+
+        while (!this.isShutdown() && (line = reader.readLine()) != null) {
+            if (StringUtils.isBlank(line)) {
+                continue;
+            }
+
+            writer.println(this.handle(line));
+            writer.flush();
+        }
+    }
+
+    /**
+     * ループバックアドレスの引数として指定されたポートで生成要求を待ち受けます。<br>
+     * 接続毎に専用のスレッドで生成要求を処理し、{@code SHUTDOWN} を受け付けた場合に処理を返却します。
+     * <p>
+     * 待ち受けの開始前に認証トークンを生成してトークンファイルへ書き込み、待ち受けの終了時にトークンファイルを削除します。
+     *
+     * @param port ポート番号( {@code 0} が指定された場合は空いているポート)
+     *
+     * @throws IOException 待ち受け、またはトークンファイルの書き込みに失敗した場合
+     */
+    public void serve(int port) throws IOException {
+
+        try (ServerSocket serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+            this.token = createToken();
+            this.tokenFile = writeTokenFile(serverSocket.getLocalPort(), this.token);
+            this.serverSocket = serverSocket;
+            logger.atInfo().log("生成要求の待ち受けを開始しました。ポート番号 = (%s), トークンファイル = (%s)",
+                    serverSocket.getLocalPort(), this.tokenFile);
+
+            while (!this.isShutdown()) {
+                final Socket socket;
+
+                try {
+                    socket = serverSocket.accept();
+                } catch (SocketException e) {
+                    if (this.isShutdown()) {
+                        return;
+                    }
+
+                    throw e;
+                }
+
+                final Thread connectionThread = new Thread(() -> this.serveConnection(socket),
+                        "generator-daemon-connection");
+                connectionThread.setDaemon(true);
+                connectionThread.start();
+            }
+        } finally {
+            this.serverSocket = null;
+            this.deleteTokenFile();
+        }
+    }
+
+    /**
+     * 待ち受け中の認証トークンを書き込んだトークンファイルのパスを返却します。
+     *
+     * @return トークンファイルのパス(待ち受けていない場合は {@code null})
+     */
+    public Path getTokenFile() {
+        return this.tokenFile;
+    }
+
+    /**
+     * 待ち受け中のポート番号を返却します。
+     *
+     * @return 待ち受け中のポート番号(待ち受けていない場合は {@code -1})
+     */
+    public int getLocalPort() {
+        final ServerSocket serverSocket = this.serverSocket;
+        return serverSocket == null ? -1 : serverSocket.getLocalPort();
+    }
+
+    /**
+     * デーモンが終了するまで待機します。
+     *
+     * @param timeout 最大待機時間
+     * @param unit    最大待機時間の単位
+     * @return 終了した場合は {@code true} 、それ以外は {@code false}
+     *
+     * @throws InterruptedException 待機中に割り込みが発生した場合
+     */
+    public boolean awaitShutdown(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        return this.shutdownLatch.await(timeout, unit);
+    }
+
+    /**
+     * デーモンを終了します。<br>
+     * 待ち受け中のソケットと定義書の監視は閉じられます。
+     */
+    @Override
+    public void close() {
+        this.shutdownLatch.countDown();
+
+        final ServerSocket serverSocket = this.serverSocket;
+
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                logger.atWarning().withCause(e).log("サーバソケットのクローズに失敗しました。");
+            }
+        }
+
+        this.definitionFileWatcher.close();
+    }
+
+    /**
+     * 引数として指定された1行の生成要求を処理し、応答を返却します。
+     *
+     * @param line 生成要求
+     * @return 応答
+     */
+    String handle(@NonNull String line) {
+
+        final List<String> tokens = new StrTokenizer(line, ' ', '"').setIgnoreEmptyTokens(true).getTokenList();
+
+        if (tokens.isEmpty()) {
+            return error("コマンドが指定されていません。");
+        }
+
+        try {
+            final String command = tokens.get(0).toUpperCase();
+
+            switch (command) {
+                case "GENERATE":
+                    return this.generate(tokens);
+                case "INVALIDATE":
+                    return this.invalidate(tokens);
+                case "STATS":
+                    return this.stats();
+                case "SHUTDOWN":
+                    this.close();
+                    return RESPONSE_OK;
+                default:
+                    return error(String.format("不正なコマンドです。コマンド = (%s)", command));
+            }
+        } catch (RuntimeException e) {
+            logger.atWarning().withCause(e).log("生成要求の処理に失敗しました。生成要求 = (%s)", line);
+            return error(String.valueOf(e.getMessage()));
+        }
+    }
+
+    /**
+     * {@code GENERATE} コマンドを処理します。
+     *
+     * @param tokens コマンドの要素
+     * @return 応答
+     */
+    private String generate(@NonNull List<String> tokens) {
+
+        if (tokens.size() < 3 || tokens.size() > 4) {
+            return error("GENERATE <生成器区分> <定義書のパス> [出力先のパス] の形式で指定してください。");
+        }
+
+        final GeneratorDivision generatorDivision = GeneratorDivision.valueOf(tokens.get(1));
+        final String filePath = requireAbsolute(tokens.get(2));
+        final DefinitionPath definitionPath = tokens.size() == 4
+                ? DefinitionPath.of(filePath, requireAbsolute(tokens.get(3)))
+                : DefinitionPath.of(filePath);
+
+        this.definitionFileWatcher.watch(Paths.get(filePath));
+
+        // 常駐中に出力先が外部から削除される可能性があるため要求された出力先配下の作成済みディレクトリを破棄する
+        OutputDirectoryRegistry.getInstance().invalidate(Paths.get(definitionPath.getOutputPath()));
+
+        final GenerationResult generationResult = GeneratorBatchExecutor.of(generatorDivision, 1)
+                .execute(List.of(definitionPath)).getResults().get(0);
+
+        return String.join(" ", RESPONSE_OK, generationResult.getStatus().name(),
+                String.valueOf(generationResult.getElapsed().toMillis()),
+                String.valueOf(generationResult.getFilesWritten()));
+    }
+
+    /**
+     * {@code INVALIDATE} コマンドを処理します。<br>
+     * 定義書のパスが指定されない場合は全てのキャッシュを破棄します。
+     *
+     * @param tokens コマンドの要素
+     * @return 応答
+     */
+    private String invalidate(@NonNull List<String> tokens) {
+
+        if (tokens.size() > 2) {
+            return error("INVALIDATE [定義書のパス] の形式で指定してください。");
+        }
+
+        if (tokens.size() == 2) {
+            this.invalidate(Paths.get(requireAbsolute(tokens.get(1))));
+        } else {
+            SheetDataCache.getInstance().invalidateAll();
+            DefaultOutputPathCache.getInstance().invalidateAll();
+            GeneratorFactory.clearGeneratorPools();
+        }
+
+        return RESPONSE_OK;
+    }
+
+    /**
+     * {@code STATS} コマンドを処理します。
+     *
+     * @return 応答
+     */
+    private String stats() {
+
+        final CacheStats sheetDataCacheStats = SheetDataCache.getInstance().getStats();
+        final DefaultOutputPathCache defaultOutputPathCache = DefaultOutputPathCache.getInstance();
+
+        return String.format("%s sheetData.hit=%d sheetData.miss=%d sheetData.eviction=%d defaultOutputPath.hit=%d"
+                + " defaultOutputPath.miss=%d", RESPONSE_OK, sheetDataCacheStats.hitCount(),
+                sheetDataCacheStats.missCount(), sheetDataCacheStats.evictionCount(),
+                defaultOutputPathCache.getHitCount(), defaultOutputPathCache.getMissCount());
+    }
+
+    /**
+     * 引数として指定された定義書に関するキャッシュを破棄します。
+     *
+     * @param filePath 定義書のパス
+     */
+    private void invalidate(@NonNull Path filePath) {
+        logger.atInfo().log("定義書に関するキャッシュを破棄します。定義書 = (%s)", filePath);
+        SheetDataCache.getInstance().invalidate(filePath);
+        GeneratorFactory.invalidateGeneratorPools(filePath);
+    }
+
+    /**
+     * 引数として指定されたソケットの接続で生成要求を処理します。
+     *
+     * @param socket ソケット
+     */
+    private void serveConnection(@NonNull Socket socket) {
+        try (socket) {
+            final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            final PrintWriter writer = new PrintWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+            if (!this.authenticate(reader.readLine())) {
+                logger.atWarning().log("認証に失敗したため接続を切断します。接続元 = (%s)", socket.getRemoteSocketAddress());
+                writer.println(error("認証に失敗しました。"));
+                writer.flush();
+                return;
+            }
+
+            writer.println(RESPONSE_OK);
+            writer.flush();
+
+            this.serve(reader, writer);
+        } catch (IOException e) {
+            logger.atWarning().withCause(e).log("接続の処理に失敗しました。接続元 = (%s)", socket.getRemoteSocketAddress());
+        }
+    }
+
+    /**
+     * 引数として指定された接続後の最初の1行が正しい認証トークンを含む {@code AUTH} コマンドか判定します。
+     *
+     * @param line 接続後の最初の1行
+     * @return 認証に成功した場合は {@code true} 、それ以外は {@code false}
+     */
+    private boolean authenticate(String line) {
+
+        final byte[] expectedToken = this.token;
+
+        if (line == null || expectedToken == null) {
+            return false;
+        }
+
+        final List<String> tokens = new StrTokenizer(line, ' ').setIgnoreEmptyTokens(true).getTokenList();
+
+        if (tokens.size() != 2 || !COMMAND_AUTH.equalsIgnoreCase(tokens.get(0))) {
+            return false;
+        }
+
+        // 比較時間から認証トークンを推測されないように固定時間で比較する
+        return MessageDigest.isEqual(expectedToken, tokens.get(1).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * トークンファイルを削除します。
+     */
+    private void deleteTokenFile() {
+
+        final Path tokenFile = this.tokenFile;
+        this.tokenFile = null;
+        this.token = null;
+
+        if (tokenFile == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(tokenFile);
+        } catch (IOException e) {
+            logger.atWarning().withCause(e).log("トークンファイルの削除に失敗しました。トークンファイル = (%s)", tokenFile);
+        }
+    }
+
+    /**
+     * ランダムな認証トークンを生成し返却します。
+     *
+     * @return 16進数表記の認証トークンのバイト列
+     */
+    private static byte[] createToken() {
+
+        final byte[] randomBytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(randomBytes);
+
+        return BaseEncoding.base16().lowerCase().encode(randomBytes).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 引数として指定された認証トークンを所有者のみ読み書き可能なトークンファイルへ書き込み、そのパスを返却します。<br>
+     * POSIXのファイル属性に対応していないファイルシステムでは所有者以外の読み書きの権限を取り除きます。
+     *
+     * @param port  待ち受け中のポート番号
+     * @param token 認証トークン
+     * @return トークンファイルのパス
+     *
+     * @throws IOException トークンファイルの書き込みに失敗した場合
+     */
+    private static Path writeTokenFile(int port, @NonNull byte[] token) throws IOException {
+
+        final Path directory = Paths.get(System.getProperty(TOKEN_DIRECTORY_PROPERTY,
+                Paths.get(System.getProperty("user.home"), ".thinkit-generator").toString()));
+        final Path tokenFile = directory.resolve(String.format("daemon-%d.token", port));
+        final boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+        if (posix) {
+            Files.createDirectories(directory,
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectories(directory);
+        }
+
+        // 権限を設定した一時ファイルへ書き込んだ後に置き換え、他のユーザが読める状態のトークンファイルが存在しないようにする
+        final Path temporaryFile = posix
+                ? Files.createTempFile(directory, tokenFile.getFileName().toString(), ".tmp",
+                        PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")))
+                : Files.createTempFile(directory, tokenFile.getFileName().toString(), ".tmp");
+
+        try {
+            if (!posix) {
+                final File file = temporaryFile.toFile();
+                file.setReadable(false, false);
+                file.setWritable(false, false);
+                file.setReadable(true, true);
+                file.setWritable(true, true);
+            }
+
+            Files.write(temporaryFile, token);
+            Files.move(temporaryFile, tokenFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        }
+
+        return tokenFile;
+    }
+
+    /**
+     * 引数として指定されたパスが絶対パスであることを検証し返却します。<br>
+     * 相対パスはデーモンの作業ディレクトリを基準に解決されてしまうため受け付けません。
+     *
+     * @param path パス
+     * @return 引数として指定されたパス
+     *
+     * @exception IllegalArgumentException 相対パスが指定された場合
+     */
+    private static String requireAbsolute(@NonNull String path) {
+
+        if (!Paths.get(path).isAbsolute()) {
+            throw new IllegalArgumentException(String.format("パスは絶対パスで指定してください。パス = (%s)", path));
+        }
+
+        return path;
+    }
+
+    /**
+     * デーモンが終了しているか判定します。
+     *
+     * @return 終了している場合は {@code true} 、それ以外は {@code false}
+     */
+    private boolean isShutdown() {
+        return this.shutdownLatch.getCount() == 0;
+    }
+
+    /**
+     * 引数として指定されたメッセージから異常応答を生成し返却します。
+     *
+     * @param message メッセージ
+     * @return 異常応答
+     */
+    private static String error(@NonNull String message) {
+        return RESPONSE_ERROR + " " + message.replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -14,6 +14,19 @@
 
 package org.thinkit.generator.workbook.common;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.flogger.FluentLogger;
+
 import org.thinkit.generator.common.Generator;
 import org.thinkit.generator.common.catalog.GeneratorDivision;
 
@@ -21,13 +34,41 @@ import lombok.NonNull;
 
 /**
  * 各業務に応じた生成器を生成する抽象生成器ファクトリクラスの実装クラスです。
+ * <p>
+ * 生成器区分と生成器の対応は {@link java.util.ServiceLoader} で読み込まれた {@link GeneratorProvider}
+ * によって初期化時に1度のみ構築されます。<br>
+ * 生成器の取得時は {@link EnumMap} から生成器区分に対応する {@link GeneratorProvider} を取得するため、<br>
+ * リフレクションや条件分岐を行わずに生成器を生成します。
+ * <p>
+ * 同一の生成器区分に対して複数の {@link GeneratorProvider} が登録された場合は最初に読み込まれたものが優先されます。<br>
+ * 生成器は原則として生成要求毎に新しいインスタンスを生成します。<br>
+ * {@link GeneratorProvider#isReusable()} が {@code true} を返却する生成器は
+ * {@link #release(GeneratorDivision, DefinitionPath, Generator)} で返却された後に定義書毎にプールされ、<br>
+ * 次回の生成要求でプールから取り出して貸し出されます。取り出した生成器はプールから除かれるため、同時に複数の生成要求へ貸し出されることはありません。
  *
  * @author Kato Shinya
  * @since 1.0
  * @version 1.0
+ *
+ * @see GeneratorProvider
  */
 final class GeneratorFactory extends AbstractGeneratorFactory {
 
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 生成器区分毎にプールする定義書の最大要素数
+     */
+    private static final int GENERATOR_POOL_SIZE = 1024;
+
+    /**
+     * 定義書毎にプールする生成器の最大数
+     */
+    private static final int GENERATORS_PER_DEFINITION = 4;
+
     /**
      * {@link GeneratorFactory} のシングルトンインスタンスを保持するインナークラスです。<br>
      * {@link GeneratorFactory} シングルトンインスタンスは初回参照時にメモリに読み込まれます。
@@ -40,10 +81,48 @@ final class GeneratorFactory extends AbstractGeneratorFactory {
         private static final GeneratorFactory ISNTANCE = new GeneratorFactory();
     }
 
+    /**
+     * 生成器区分と生成器プロバイダの対応
+     */
+    private final Map<GeneratorDivision, GeneratorProvider> providers;
+
+    /**
+     * 生成器区分毎の貸し出し可能な生成器のプール
+     */
+    private final Map<GeneratorDivision, Cache<DefinitionPath, Queue<Generator>>> generatorPools;
+
     /**
      * デフォルトコンストラクタ
      */
     private GeneratorFactory() {
+
+        final Map<GeneratorDivision, GeneratorProvider> providers = new EnumMap<>(GeneratorDivision.class);
+        final Map<GeneratorDivision, Cache<DefinitionPath, Queue<Generator>>> generatorPools = new EnumMap<>(
+                GeneratorDivision.class);
+
+        for (GeneratorProvider provider : ServiceLoader.load(GeneratorProvider.class)) {
+
+            final GeneratorDivision generatorDivision = provider.getGeneratorDivision();
+
+            if (providers.containsKey(generatorDivision)) {
+                logger.atWarning().log("生成器区分に対応する生成器プロバイダが重複しているため無視します。生成器区分 = (%s), 生成器プロバイダ = (%s)",
+                        generatorDivision, provider.getClass().getName());
+                continue;
+            }
+
+            providers.put(generatorDivision, provider);
+
+            if (provider.isReusable()) {
+                generatorPools.put(generatorDivision,
+                        CacheBuilder.newBuilder().maximumSize(GENERATOR_POOL_SIZE).build());
+            }
+
+            logger.atFine().log("生成器プロバイダを登録しました。生成器区分 = (%s), 生成器プロバイダ = (%s)", generatorDivision,
+                    provider.getClass().getName());
+        }
+
+        this.providers = Collections.unmodifiableMap(providers);
+        this.generatorPools = Collections.unmodifiableMap(generatorPools);
     }
 
     /**
@@ -55,17 +134,81 @@ final class GeneratorFactory extends AbstractGeneratorFactory {
         return InstanceHolder.ISNTANCE;
     }
 
+    /**
+     * プールされた全ての生成器を破棄します。
+     */
+    static void clearGeneratorPools() {
+        InstanceHolder.ISNTANCE.generatorPools.values().forEach(Cache::invalidateAll);
+    }
+
+    /**
+     * 引数として指定された定義書に対してプールされた生成器を破棄します。
+     *
+     * @param filePath 定義書のパス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static void invalidateGeneratorPools(@NonNull Path filePath) {
+
+        final Path normalizedPath = filePath.toAbsolutePath().normalize();
+
+        InstanceHolder.ISNTANCE.generatorPools.values()
+                .forEach(pool -> pool.asMap().keySet().removeIf(definitionPath -> Paths
+                        .get(definitionPath.getFilePath()).toAbsolutePath().normalize().equals(normalizedPath)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * 生成器区分に対応する {@link GeneratorProvider} が登録されていない場合は {@code null} を返却します。<br>
+     * 定義書に対してプールされた生成器が存在する場合はプールから取り出して返却します。
+     */
     @Override
     protected Generator createGenerator(@NonNull GeneratorDivision generatorDivision,
             @NonNull DefinitionPath definitionPath) {
 
-                // TODO: このロジックを引き続き使用するかは要検討
-        // return switch (generatorDivision) {
-        //     case DTO_DEFINITION -> new DtoGenerator(definitionPath);
-        //     case CONTENT_DEFINITION -> new ContentGenerator(definitionPath);
-        //     default -> null;
-        // };
+        final GeneratorProvider provider = this.providers.get(generatorDivision);
+
+        if (provider == null) {
+            logger.atWarning().log("生成器区分に対応する生成器プロバイダが登録されていません。生成器区分 = (%s)", generatorDivision);
+            return null;
+        }
+
+        final Cache<DefinitionPath, Queue<Generator>> generatorPool = this.generatorPools.get(generatorDivision);
+
+        if (generatorPool != null) {
+            final Queue<Generator> generators = generatorPool.getIfPresent(definitionPath);
+            final Generator generator = generators == null ? null : generators.poll();
+
+            if (generator != null) {
+                return generator;
+            }
+        }
+
+        return provider.create(definitionPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * 生成器区分に対応する {@link GeneratorProvider} が生成器の再利用を許可している場合は、定義書毎に
+     * {@value #GENERATORS_PER_DEFINITION} 個までプールします。
+     */
+    @Override
+    protected void releaseGenerator(@NonNull GeneratorDivision generatorDivision,
+            @NonNull DefinitionPath definitionPath, @NonNull Generator generator) {
+
+        final Cache<DefinitionPath, Queue<Generator>> generatorPool = this.generatorPools.get(generatorDivision);
+
+        if (generatorPool == null) {
+            return;
+        }
+
+        final Queue<Generator> generators = generatorPool.asMap().computeIfAbsent(definitionPath,
+                key -> new ConcurrentLinkedQueue<>());
 
-        return null;
+        if (generators.size() < GENERATORS_PER_DEFINITION) {
+            generators.offer(generator);
+        }
     }
-}
\ No newline at end of file
+}
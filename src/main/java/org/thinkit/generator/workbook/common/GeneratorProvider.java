@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import org.thinkit.generator.common.Generator;
+import org.thinkit.generator.common.catalog.GeneratorDivision;
+
+/**
+ * 生成器区分に対応する生成器を提供する処理を定義したインターフェースです。
+ * <p>
+ * 当インターフェースの実装クラスは {@link java.util.ServiceLoader} によって読み込まれ、<br>
+ * {@link GeneratorFactory} の初期化時に生成器区分と紐付けて登録されます。<br>
+ * 実装クラスを登録する際は {@code META-INF/services/org.thinkit.generator.workbook.common.GeneratorProvider}
+ * に実装クラスの完全修飾名を記述してください。
+ * <p>
+ * 実装クラスは {@link java.util.ServiceLoader} の仕様に従い引数なしのpublicコンストラクタを定義する必要があります。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see GeneratorFactory
+ */
+public interface GeneratorProvider {
+
+    /**
+     * 当プロバイダが提供する生成器の生成器区分を返却します。
+     *
+     * @return 生成器区分
+     */
+    public GeneratorDivision getGeneratorDivision();
+
+    /**
+     * 引数として指定された定義書に対する生成器を生成し返却します。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return 生成器
+     */
+    public Generator create(DefinitionPath definitionPath);
+
+    /**
+     * 当プロバイダが提供する生成器を同一の定義書に対して再利用できるか判定します。<br>
+     * 再利用できる場合は {@link GeneratorFactory} が実行を終えて返却された生成器をプールし、同一の定義書に対する次回の生成要求で貸し出します。<br>
+     * プールされた生成器は1度に1つの生成要求にのみ貸し出されるため、同時に実行される生成要求間で共有されることはありません。
+     * <p>
+     * 実行間で状態を持ち越さない生成器のみ {@code true} を返却してください。
+     *
+     * @return 再利用できる場合は {@code true} 、それ以外は {@code false}
+     */
+    public default boolean isReusable() {
+        return false;
+    }
+}
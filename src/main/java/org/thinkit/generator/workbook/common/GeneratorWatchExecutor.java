@@ -0,0 +1,310 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.io.Closeable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.common.catalog.GeneratorDivision;
+import org.thinkit.generator.workbook.common.reader.SheetDataCache;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義書の変更を監視し、変更された定義書に対する生成器のみを再実行する監視モードのクラスです。
+ * <p>
+ * 定義書の保存時には短時間に複数の変更が通知されるため、最後の変更から待機時間が経過するまで再実行を遅延し、<br>
+ * その間に変更された定義書をまとめて {@link GeneratorBatchExecutor} で1度だけ再実行します。<br>
+ * 既定の待機時間はシステムプロパティ {@value #DEBOUNCE_MILLIS_PROPERTY} で指定でき、指定されない場合は
+ * {@value #DEFAULT_DEBOUNCE_MILLIS} ミリ秒となります。
+ * <p>
+ * 再実行の前に変更された定義書の解析結果とプールされた生成器は破棄されますが、<br>
+ * それ以外の生成器ファクトリやキャッシュは再実行間で共有されます。<br>
+ * 再実行は専用のスレッドで逐次的に行われ、実行結果は登録時に指定された処理へ通知されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DefinitionFileWatcher
+ * @see GeneratorBatchExecutor
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class GeneratorWatchExecutor implements Closeable {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 待機時間を指定するシステムプロパティ名
+     */
+    public static final String DEBOUNCE_MILLIS_PROPERTY = "org.thinkit.generator.workbook.watchDebounceMillis";
+
+    /**
+     * 既定の待機時間(ミリ秒)
+     */
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 300L;
+
+    /**
+     * 生成器区分
+     */
+    @ToString.Include
+    private GeneratorDivision generatorDivision;
+
+    /**
+     * 最後の変更から再実行までの待機時間
+     */
+    @ToString.Include
+    private Duration debounce;
+
+    /**
+     * 定義書のパス毎の生成する定義のパスを管理するオブジェクト
+     */
+    private Map<Path, List<DefinitionPath>> definitionPaths;
+
+    /**
+     * 再実行を行うオブジェクト
+     */
+    private GeneratorBatchExecutor generatorBatchExecutor;
+
+    /**
+     * 再実行の結果を通知する処理
+     */
+    private Consumer<BatchResult> listener;
+
+    /**
+     * 再実行を待機している定義書のパス
+     */
+    private final Set<Path> pendingFiles = new LinkedHashSet<>();
+
+    /**
+     * 予約された再実行
+     */
+    private ScheduledFuture<?> scheduledRun;
+
+    /**
+     * 再実行を行うスケジューラ
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 定義書の変更を監視するオブジェクト
+     */
+    private DefinitionFileWatcher definitionFileWatcher;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private GeneratorWatchExecutor() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param generatorDivision 生成器区分
+     * @param definitionPaths   監視する定義のパスを管理するオブジェクトのコレクション
+     * @param debounce          最後の変更から再実行までの待機時間
+     * @param listener          再実行の結果を通知する処理
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException 待機時間が負数の場合
+     */
+    private GeneratorWatchExecutor(@NonNull GeneratorDivision generatorDivision,
+            @NonNull Collection<DefinitionPath> definitionPaths, @NonNull Duration debounce,
+            @NonNull Consumer<BatchResult> listener) {
+
+        if (debounce.isNegative()) {
+            throw new IllegalArgumentException(String.format("待機時間に負数は指定できません。待機時間 = (%s)", debounce));
+        }
+
+        final Map<Path, List<DefinitionPath>> definitionPathsByFile = new LinkedHashMap<>();
+
+        for (DefinitionPath definitionPath : definitionPaths) {
+            definitionPathsByFile.computeIfAbsent(normalize(definitionPath.getFilePath()), key -> new ArrayList<>())
+                    .add(definitionPath);
+        }
+
+        this.generatorDivision = generatorDivision;
+        this.debounce = debounce;
+        this.definitionPaths = Collections.unmodifiableMap(definitionPathsByFile);
+        this.generatorBatchExecutor = GeneratorBatchExecutor.of(generatorDivision);
+        this.listener = listener;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "generator-watch-executor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 引数として指定された定義書の監視を開始し、{@link GeneratorWatchExecutor} クラスの新しいインスタンスを返却します。<br>
+     * 待機時間はシステムプロパティ {@value #DEBOUNCE_MILLIS_PROPERTY} の値となります。
+     *
+     * @param generatorDivision 生成器区分
+     * @param definitionPaths   監視する定義のパスを管理するオブジェクトのコレクション
+     * @param listener          再実行の結果を通知する処理
+     * @return {@link GeneratorWatchExecutor} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 定義書の監視の開始に失敗した場合
+     */
+    public static GeneratorWatchExecutor of(@NonNull GeneratorDivision generatorDivision,
+            @NonNull Collection<DefinitionPath> definitionPaths, @NonNull Consumer<BatchResult> listener) {
+        return of(generatorDivision, definitionPaths,
+                Duration.ofMillis(Long.getLong(DEBOUNCE_MILLIS_PROPERTY, DEFAULT_DEBOUNCE_MILLIS)), listener);
+    }
+
+    /**
+     * 引数として指定された定義書の監視を開始し、{@link GeneratorWatchExecutor} クラスの新しいインスタンスを返却します。
+     *
+     * @param generatorDivision 生成器区分
+     * @param definitionPaths   監視する定義のパスを管理するオブジェクトのコレクション
+     * @param debounce          最後の変更から再実行までの待機時間
+     * @param listener          再実行の結果を通知する処理
+     * @return {@link GeneratorWatchExecutor} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 定義書の監視の開始に失敗した場合
+     * @throws IllegalArgumentException 待機時間が負数の場合
+     */
+    public static GeneratorWatchExecutor of(@NonNull GeneratorDivision generatorDivision,
+            @NonNull Collection<DefinitionPath> definitionPaths, @NonNull Duration debounce,
+            @NonNull Consumer<BatchResult> listener) {
+
+        final GeneratorWatchExecutor generatorWatchExecutor = new GeneratorWatchExecutor(generatorDivision,
+                definitionPaths, debounce, listener);
+
+        try {
+            generatorWatchExecutor.definitionFileWatcher = DefinitionFileWatcher.of(generatorWatchExecutor::onChange);
+            generatorWatchExecutor.definitionPaths.keySet().forEach(generatorWatchExecutor.definitionFileWatcher::watch);
+        } catch (RuntimeException e) {
+            generatorWatchExecutor.close();
+            throw e;
+        }
+
+        return generatorWatchExecutor;
+    }
+
+    /**
+     * 定義書の監視を終了します。<br>
+     * 実行中の再実行は終了を待たずに処理を返却し、待機中の再実行は破棄されます。
+     */
+    @Override
+    public void close() {
+
+        if (this.definitionFileWatcher != null) {
+            this.definitionFileWatcher.close();
+        }
+
+        this.scheduler.shutdownNow();
+    }
+
+    /**
+     * 定義書の変更を受け付け、待機時間の経過後に再実行を予約します。<br>
+     * 待機時間内に再度変更された場合は予約を延期し、変更をまとめて再実行します。
+     *
+     * @param filePath 変更された定義書のパス
+     */
+    private synchronized void onChange(@NonNull Path filePath) {
+
+        this.pendingFiles.add(filePath);
+
+        if (this.scheduledRun != null) {
+            this.scheduledRun.cancel(false);
+        }
+
+        if (!this.scheduler.isShutdown()) {
+            this.scheduledRun = this.scheduler.schedule(this::runPending, this.debounce.toNanos(),
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 再実行を待機している定義書に対する生成器を再実行し、その結果を通知します。
+     */
+    private void runPending() {
+
+        final Set<Path> changedFiles;
+
+        synchronized (this) {
+            changedFiles = new LinkedHashSet<>(this.pendingFiles);
+            this.pendingFiles.clear();
+            this.scheduledRun = null;
+        }
+
+        final List<DefinitionPath> affectedPaths = new ArrayList<>();
+
+        for (Path changedFile : changedFiles) {
+            SheetDataCache.getInstance().invalidate(changedFile);
+            GeneratorFactory.invalidateGeneratorPools(changedFile);
+
+            if (Files.exists(changedFile)) {
+                affectedPaths.addAll(this.definitionPaths.getOrDefault(changedFile, List.of()));
+            } else {
+                // 保存途中で一時的に削除された場合は再作成の通知を待つ
+                logger.atFine().log("定義書が存在しないため再実行を省略します。定義書 = (%s)", changedFile);
+            }
+        }
+
+        if (affectedPaths.isEmpty()) {
+            return;
+        }
+
+        logger.atInfo().log("定義書の変更を検知したため生成器を再実行します。定義書 = (%s)", changedFiles);
+
+        try {
+            // 監視中に出力先が外部から削除される可能性があるため再実行する定義の作成済みディレクトリを破棄する
+            for (DefinitionPath affectedPath : affectedPaths) {
+                OutputDirectoryRegistry.getInstance().invalidate(Paths.get(affectedPath.getOutputPath()));
+            }
+
+            this.listener.accept(this.generatorBatchExecutor.execute(affectedPaths));
+        } catch (RuntimeException e) {
+            logger.atWarning().withCause(e).log("生成器の再実行に失敗しました。定義書 = (%s)", changedFiles);
+        }
+    }
+
+    /**
+     * 引数として指定されたパスを絶対パスへ正規化します。
+     *
+     * @param filePath 定義書のパス
+     * @return 正規化された定義書の絶対パス
+     */
+    private static Path normalize(@NonNull String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義書と出力先に変更がない生成器の実行を省略する増分生成を行うクラスです。
+ * <p>
+ * {@link #execute(AbstractGenerator)} は {@link GenerationManifest} に記録された前回正常終了時の指紋と
+ * 現在の定義書と出力先の指紋を比較し、変更がない場合は生成器を実行せずに {@link GenerationStatus#SKIPPED}
+ * を返却します。<br>
+ * 定義書のファイルサイズと最終更新日時が一致する場合は内容のハッシュ値の計算を省略し、<br>
+ * 最終更新日時のみが異なる場合は内容のハッシュ値を比較して変更の有無を判定します。<br>
+ * また、前回正常終了時に生成器が出力したファイルが1つでも削除、または変更されている場合は生成器を実行します。
+ * <p>
+ * 強制再生成が指定された場合は指紋に関わらず全ての生成器を実行します。<br>
+ * 生成器が正常終了した場合は新しい指紋がマニフェストへ記録されます。<br>
+ * マニフェストをファイルへ保存する場合は {@link GenerationManifest#save()} を呼び出してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see GenerationManifest
+ * @see DefinitionFingerprint
+ */
+@ToString
+@EqualsAndHashCode
+public final class IncrementalExecutor {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * マニフェスト
+     */
+    @Getter
+    private GenerationManifest manifest;
+
+    /**
+     * 強制再生成フラグ
+     */
+    @Getter
+    private boolean forceRebuild;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private IncrementalExecutor() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param manifest     マニフェスト
+     * @param forceRebuild 強制再生成フラグ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private IncrementalExecutor(@NonNull GenerationManifest manifest, boolean forceRebuild) {
+        this.manifest = manifest;
+        this.forceRebuild = forceRebuild;
+    }
+
+    /**
+     * 引数として指定されたマニフェストを基に {@link IncrementalExecutor} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param manifest マニフェスト
+     * @return {@link IncrementalExecutor} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static IncrementalExecutor of(@NonNull GenerationManifest manifest) {
+        return new IncrementalExecutor(manifest, false);
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link IncrementalExecutor} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param manifest     マニフェスト
+     * @param forceRebuild 強制再生成フラグ
+     * @return {@link IncrementalExecutor} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static IncrementalExecutor of(@NonNull GenerationManifest manifest, boolean forceRebuild) {
+        return new IncrementalExecutor(manifest, forceRebuild);
+    }
+
+    /**
+     * 引数として指定された生成器を増分生成として実行します。<br>
+     * 定義書と出力先に前回正常終了時から変更がない場合は生成器を実行せずに {@link GenerationStatus#SKIPPED} を返却します。
+     *
+     * @param generator 生成器
+     * @return 生成器の実行結果
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public GenerationResult execute(@NonNull AbstractGenerator generator) {
+        return this.execute(generator, () -> false);
+    }
+
+    /**
+     * 引数として指定された生成器を増分生成として実行します。<br>
+     * 生成器の実行終了時に実行結果が破棄されていた場合は、生成器が正常終了した場合でも指紋を記録しません。
+     *
+     * @param generator 生成器
+     * @param abandoned 実行結果が破棄されたか判定するオブジェクト
+     * @return 生成器の実行結果
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    GenerationResult execute(@NonNull AbstractGenerator generator, @NonNull BooleanSupplier abandoned) {
+
+        final long startTime = System.nanoTime();
+        final DefinitionPath definitionPath = generator.getDefinitionPath();
+
+        if (!this.forceRebuild && this.isUpToDate(generator.getClass(), definitionPath)) {
+            logger.atFine().log("定義書に変更がないため生成を省略します。定義書 = (%s)", definitionPath.getFilePath());
+            return GenerationResult.of(definitionPath, GenerationStatus.SKIPPED, System.nanoTime() - startTime);
+        }
+
+        // 生成中に定義書が更新された場合に次回の生成を省略しないよう実行前の指紋を記録する
+        final DefinitionFingerprint fingerprint = DefinitionFingerprint.of(definitionPath);
+        final GenerationResult result = generator.executeForResult();
+
+        if (result.getStatus() != GenerationStatus.SUCCESS || abandoned.getAsBoolean()) {
+            this.manifest.remove(generator.getClass(), definitionPath);
+            return result;
+        }
+
+        try {
+            this.manifest.put(generator.getClass(), definitionPath,
+                    fingerprint.withOutputFiles(stat(result.getOutputFiles())));
+        } catch (IOException e) {
+            logger.atWarning().withCause(e).log("出力ファイルの状態を取得できないため指紋を記録しません。定義書 = (%s)",
+                    definitionPath.getFilePath());
+            this.manifest.remove(generator.getClass(), definitionPath);
+        }
+
+        return result;
+    }
+
+    /**
+     * 引数として指定された出力ファイルの現在の状態を取得し返却します。
+     *
+     * @param outputFiles 出力ファイルのパスの一覧
+     * @return 出力ファイルの状態の一覧
+     *
+     * @throws IOException 出力ファイルの属性の取得に失敗した場合
+     */
+    private static List<OutputFileStamp> stat(@NonNull List<Path> outputFiles) throws IOException {
+
+        final List<OutputFileStamp> outputFileStamps = new ArrayList<>(outputFiles.size());
+
+        for (Path outputFile : outputFiles) {
+            outputFileStamps.add(OutputFileStamp.stat(outputFile));
+        }
+
+        return outputFileStamps;
+    }
+
+    /**
+     * 引数として指定された生成器と定義書の組み合わせが前回正常終了時から変更されていないか判定します。
+     *
+     * @param generatorClass 生成器のクラス
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return 変更されていない場合は {@code true} 、それ以外は {@code false}
+     */
+    private boolean isUpToDate(@NonNull Class<?> generatorClass, @NonNull DefinitionPath definitionPath) {
+
+        final DefinitionFingerprint recorded = this.manifest.get(generatorClass, definitionPath);
+
+        if (recorded == null || !Files.isDirectory(Paths.get(definitionPath.getOutputPath()))) {
+            return false;
+        }
+
+        final DefinitionFingerprint current = DefinitionFingerprint.stat(definitionPath);
+
+        if (current.getSize() != recorded.getSize() || !current.getOutputPath().equals(recorded.getOutputPath())) {
+            return false;
+        }
+
+        for (OutputFileStamp outputFile : recorded.getOutputFiles()) {
+            if (!outputFile.isUnchanged()) {
+                logger.atFine().log("出力ファイルが削除、または変更されたため再生成します。出力ファイル = (%s)",
+                        outputFile.getFilePath());
+                return false;
+            }
+        }
+
+        if (current.getLastModified() == recorded.getLastModified()) {
+            return true;
+        }
+
+        final String contentHash = DefinitionFingerprint.hash(definitionPath);
+
+        if (!contentHash.equals(recorded.getContentHash())) {
+            return false;
+        }
+
+        // 内容に変更がなく最終更新日時のみが更新された場合は次回以降のハッシュ値の計算を省略するため指紋を更新する
+        this.manifest.put(generatorClass, definitionPath,
+                current.withContentHash(contentHash).withOutputFiles(recorded.getOutputFiles()));
+
+        return true;
+    }
+}
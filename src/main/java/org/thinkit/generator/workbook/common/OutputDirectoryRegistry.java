@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 生成処理の実行中に作成済みの出力先ディレクトリを管理するクラスです。
+ * <p>
+ * {@link #createDirectories(Path)} は同一のディレクトリに対して実行中に1度のみ
+ * {@link Files#createDirectories(Path, java.nio.file.attribute.FileAttribute...)} を呼び出し、<br>
+ * 2回目以降の呼び出しではファイルシステムへのアクセスを行わずに引数として渡されたパスを返却します。<br>
+ * 当クラスはスレッドセーフであり、並列に実行される生成器から同一のディレクトリが同時に要求された場合でもディレクトリの作成は1度のみ行われます。
+ * <p>
+ * 実行の区切りでディレクトリが外部から削除される可能性がある場合は {@link #clear()} を呼び出してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+public final class OutputDirectoryRegistry {
+
+    /**
+     * {@link OutputDirectoryRegistry} のシングルトンインスタンスを保持するインナークラスです。<br>
+     * {@link OutputDirectoryRegistry} シングルトンインスタンスは初回参照時にメモリに読み込まれます。
+     */
+    private static class InstanceHolder {
+
+        /**
+         * シングルトンインスタンス
+         */
+        private static final OutputDirectoryRegistry INSTANCE = new OutputDirectoryRegistry();
+    }
+
+    /**
+     * 作成済みのディレクトリ
+     */
+    @ToString.Exclude
+    private final Map<Path, Boolean> createdDirectories = new ConcurrentHashMap<>();
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private OutputDirectoryRegistry() {
+    }
+
+    /**
+     * {@link OutputDirectoryRegistry} クラスのシングルトンインスタンスを返却します。
+     *
+     * @return {@link OutputDirectoryRegistry} クラスのシングルトンインスタンス
+     */
+    public static OutputDirectoryRegistry getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * 引数として指定されたディレクトリが存在することを保証し、そのパスを返却します。<br>
+     * ディレクトリが作成済みとして登録されていない場合は親ディレクトリを含めて作成します。
+     *
+     * @param directory ディレクトリのパス
+     * @return 引数として指定されたディレクトリのパス
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception UncheckedIOException ディレクトリの作成に失敗した場合
+     */
+    public Path createDirectories(@NonNull Path directory) {
+
+        if (this.createdDirectories.containsKey(directory)) {
+            return directory;
+        }
+
+        this.createdDirectories.computeIfAbsent(directory, key -> {
+            try {
+                Files.createDirectories(key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return Boolean.TRUE;
+        });
+
+        return directory;
+    }
+
+    /**
+     * 引数として指定されたディレクトリとその配下の作成済みとして登録されたディレクトリを破棄します。<br>
+     * 次回の {@link #createDirectories(Path)} 呼び出し時にディレクトリの存在が再度確認されます。
+     *
+     * @param directory ディレクトリのパス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void invalidate(@NonNull Path directory) {
+        this.createdDirectories.keySet().removeIf(createdDirectory -> createdDirectory.startsWith(directory));
+    }
+
+    /**
+     * 作成済みとして登録された全てのディレクトリを破棄します。<br>
+     * 次回の {@link #createDirectories(Path)} 呼び出し時にディレクトリの存在が再度確認されます。
+     */
+    public void clear() {
+        this.createdDirectories.clear();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package org.thinkit.generator.workbook.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 生成器が出力したファイルの状態を管理するデータクラスです。
+ * <p>
+ * 出力ファイルの状態は絶対パス、ファイルサイズと最終更新日時から構成され、
+ * {@link IncrementalExecutor} が前回正常終了時の出力ファイルが削除、または変更されていないことを確認するために使用します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DefinitionFingerprint
+ */
+@ToString
+@EqualsAndHashCode
+public final class OutputFileStamp {
+
+    /**
+     * 出力ファイルの絶対パス
+     */
+    @Getter
+    private String filePath;
+
+    /**
+     * 出力ファイルのファイルサイズ
+     */
+    @Getter
+    private long size;
+
+    /**
+     * 出力ファイルの最終更新日時(エポックミリ秒)
+     */
+    @Getter
+    private long lastModified;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private OutputFileStamp() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param filePath     出力ファイルの絶対パス
+     * @param size         出力ファイルのファイルサイズ
+     * @param lastModified 出力ファイルの最終更新日時(エポックミリ秒)
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private OutputFileStamp(@NonNull String filePath, long size, long lastModified) {
+        this.filePath = filePath;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link OutputFileStamp} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param filePath     出力ファイルの絶対パス
+     * @param size         出力ファイルのファイルサイズ
+     * @param lastModified 出力ファイルの最終更新日時(エポックミリ秒)
+     * @return {@link OutputFileStamp} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static OutputFileStamp of(@NonNull String filePath, long size, long lastModified) {
+        return new OutputFileStamp(filePath, size, lastModified);
+    }
+
+    /**
+     * 引数として指定された出力ファイルの現在の状態を取得し返却します。
+     *
+     * @param filePath 出力ファイルのパス
+     * @return 出力ファイルの現在の状態
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IOException 出力ファイルの属性の取得に失敗した場合
+     */
+    public static OutputFileStamp stat(@NonNull Path filePath) throws IOException {
+
+        final Path absolutePath = filePath.toAbsolutePath().normalize();
+        final BasicFileAttributes attributes = Files.readAttributes(absolutePath, BasicFileAttributes.class);
+
+        return new OutputFileStamp(absolutePath.toString(), attributes.size(),
+                attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * 出力ファイルが記録時から削除、または変更されていないか判定します。
+     *
+     * @return 出力ファイルが記録時と同一の状態で存在する場合は {@code true} 、それ以外は {@code false}
+     */
+    public boolean isUnchanged() {
+        try {
+            return this.equals(stat(Paths.get(this.filePath)));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
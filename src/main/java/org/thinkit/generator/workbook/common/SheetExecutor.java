@@ -0,0 +1,212 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.thinkit.generator.workbook.common.metrics.ExecutionMeter;
+import org.thinkit.generator.workbook.common.reader.SharedWorkbook;
+import org.thinkit.generator.workbook.common.reader.SheetDataCache;
+import org.thinkit.generator.workbook.common.trace.TraceContext;
+
+import lombok.NonNull;
+
+/**
+ * 1つの定義書に含まれる複数のシートを並列に解析し処理するクラスです。
+ * <p>
+ * シートの処理は全ての生成器で共有されるスレッドプールで実行されます。<br>
+ * スレッドプールの並列度はシステムプロパティ {@value #PARALLELISM_PROPERTY} で指定でき、指定されない場合は利用可能なプロセッサ数となります。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see SheetProcessor
+ */
+final class SheetExecutor {
+
+    /**
+     * 並列度を指定するシステムプロパティ名
+     */
+    static final String PARALLELISM_PROPERTY = "org.thinkit.generator.workbook.sheetParallelism";
+
+    /**
+     * シートの処理を実行するスレッドプールを保持するインナークラスです。<br>
+     * スレッドプールは初回参照時に生成されます。
+     */
+    private static class PoolHolder {
+
+        /**
+         * シートの処理を実行するスレッドプール
+         */
+        private static final ForkJoinPool POOL = new ForkJoinPool(
+                Math.max(1, Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors())));
+    }
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private SheetExecutor() {
+    }
+
+    /**
+     * 引数として指定されたシートを並列に解析し処理します。<br>
+     * 処理結果は引数として指定されたシートの順序で返却されます。
+     * <p>
+     * いずれかのシートの処理で例外が発生した場合は未完了の処理を取り消し、発生した例外を送出します。<br>
+     * 処理の完了を待機している間に割り込まれた場合も同様に未完了の処理を取り消します。
+     *
+     * @param <S>            シートの型
+     * @param <R>            処理結果の型
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param sheets         シートの一覧
+     * @param processor      シート毎の処理
+     * @return シートの順序で並べた処理結果の一覧
+     *
+     * @throws Exception 処理中に例外が発生した場合、または処理の完了を待機している間に割り込まれた場合
+     */
+    static <S extends Sheet, R> List<R> process(@NonNull DefinitionPath definitionPath, @NonNull List<S> sheets,
+            @NonNull SheetProcessor<S, R> processor) throws Exception {
+        return process(definitionPath, sheets, processor, null);
+    }
+
+    /**
+     * 引数として指定されたシートを並列に解析し処理します。<br>
+     * 処理結果は引数として指定されたシートの順序で返却されます。
+     * <p>
+     * 計測を行うオブジェクトが指定された場合は、ワーカースレッドでの解析と処理のCPU時間と割り当てバイト数を計測値へ加算します。
+     *
+     * @param <S>            シートの型
+     * @param <R>            処理結果の型
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param sheets         シートの一覧
+     * @param processor      シート毎の処理
+     * @param executionMeter 生成器の実行の計測を行うオブジェクト(計測しない場合は {@code null})
+     * @return シートの順序で並べた処理結果の一覧
+     *
+     * @throws Exception 処理中に例外が発生した場合、または処理の完了を待機している間に割り込まれた場合
+     */
+    static <S extends Sheet, R> List<R> process(@NonNull DefinitionPath definitionPath, @NonNull List<S> sheets,
+            @NonNull SheetProcessor<S, R> processor, ExecutionMeter executionMeter) throws Exception {
+
+        final SheetDataCache sheetDataCache = SheetDataCache.getInstance();
+
+        if (sheets.size() <= 1) {
+            final List<R> results = new ArrayList<>(sheets.size());
+
+            for (S sheet : sheets) {
+                results.add(processor.process(sheet, sheetDataCache.get(definitionPath, sheet)));
+            }
+
+            return results;
+        }
+
+        // 全てのシートの処理が終了するまで定義書を共有し、ブックのアーカイブと共有文字列テーブルの解析を1度のみ行う
+        final SharedWorkbook sharedWorkbook = SharedWorkbook.acquire(Paths.get(definitionPath.getFilePath()));
+
+        try {
+            return processInParallel(definitionPath, sheets, processor, sheetDataCache, executionMeter);
+        } finally {
+            sharedWorkbook.close();
+        }
+    }
+
+    /**
+     * 引数として指定されたシートを {@link PoolHolder#POOL} で並列に解析し処理します。<br>
+     * 処理結果は引数として指定されたシートの順序で返却されます。
+     *
+     * @param <S>            シートの型
+     * @param <R>            処理結果の型
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param sheets         シートの一覧
+     * @param processor      シート毎の処理
+     * @param sheetDataCache シートの解析結果のキャッシュ
+     * @param executionMeter 生成器の実行の計測を行うオブジェクト(計測しない場合は {@code null})
+     * @return シートの順序で並べた処理結果の一覧
+     *
+     * @throws Exception 処理中に例外が発生した場合、または処理の完了を待機している間に割り込まれた場合
+     */
+    private static <S extends Sheet, R> List<R> processInParallel(@NonNull DefinitionPath definitionPath,
+            @NonNull List<S> sheets, @NonNull SheetProcessor<S, R> processor, @NonNull SheetDataCache sheetDataCache,
+            ExecutionMeter executionMeter) throws Exception {
+
+        final List<CompletableFuture<R>> futures = new ArrayList<>(sheets.size());
+        final TraceContext traceContext = TraceContext.current();
+
+        for (S sheet : sheets) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                final ExecutionMeter.WorkerMeter workerMeter = executionMeter == null ? null
+                        : executionMeter.startWorker();
+                final TraceContext.Scope scope = traceContext.enter();
+
+                try {
+                    return processor.process(sheet, sheetDataCache.get(definitionPath, sheet));
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                } finally {
+                    scope.close();
+
+                    if (workerMeter != null) {
+                        workerMeter.stop();
+                    }
+                }
+            }, PoolHolder.POOL));
+        }
+
+        final List<R> results = new ArrayList<>(sheets.size());
+
+        try {
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(false));
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(false));
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+
+        return results;
+    }
+
+    /**
+     * 引数として指定された例外から {@link CompletionException} を取り除いた例外を返却します。
+     *
+     * @param cause 例外
+     * @return 元の例外
+     */
+    private static Exception unwrap(Throwable cause) {
+
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        return (Exception) cause;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import org.thinkit.generator.workbook.common.reader.SheetData;
+
+/**
+ * シート毎の処理を定義したインターフェースです。
+ * <p>
+ * 当インターフェースの処理は {@link AbstractGenerator#processSheets(java.util.List, SheetProcessor)}
+ * から複数のスレッドで同時に呼び出されるため、シート間で可変な状態を共有しないように実装してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @param <S> シートの型
+ * @param <R> 処理結果の型
+ */
+@FunctionalInterface
+public interface SheetProcessor<S extends Sheet, R> {
+
+    /**
+     * 引数として指定されたシートの解析結果を処理し、その結果を返却します。
+     *
+     * @param sheet     シート
+     * @param sheetData シートの解析結果
+     * @return 処理結果
+     *
+     * @throws Exception 処理中に例外が発生した場合
+     */
+    public R process(S sheet, SheetData sheetData) throws Exception;
+}
@@ -14,8 +14,9 @@
 
 package org.thinkit.generator.workbook.common.content;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +39,14 @@ import lombok.ToString;
  * {@link #execute()} を実行することでコンテンツ「既定出力先」から既定の出力先を生成する際に必要な情報を取得します。
  * <p>
  * 実行の前提としてプログラム実行時のプラットフォームに対応した既定の出力先がコンテンツ「既定出力先」に定義されている必要があります。
+ * <p>
+ * 当クラスのインスタンスはプラットフォーム毎に1つのみ生成され、コンテンツの取得に必要な要素と条件は事前に生成された変更不可能なオブジェクトが共有されます。<br>
+ * コンテンツの読み込み結果は当クラスでは保持しません。読み込み結果の再利用は
+ * {@link org.thinkit.generator.workbook.common.content.rule.DefaultOutputPathCache} が担うため、
+ * {@link #execute()} は呼び出される度にコンテンツを読み込みます。
+ * <p>
+ * コンテンツの読み込み結果はコンテンツ基盤の仕様上 {@code Map<String, String>} で返却されるため、
+ * {@link ContentAttribute} を経由して1度だけ {@link DefaultOutputPath} へ変換されます。
  *
  * @author Kato Shinya
  * @since 1.0
@@ -48,6 +57,22 @@ import lombok.ToString;
 @ContentMapping(content = "generator/workbook/DefaultOutputPath")
 public final class DefaultOutputPathLoader implements Content<DefaultOutputPath> {
 
+    /**
+     * コンテンツ要素の一覧
+     */
+    private static final List<Attribute> ATTRIBUTES = Collections
+            .unmodifiableList(Arrays.asList(ContentAttribute.values()));
+
+    /**
+     * プラットフォーム毎のコンテンツ条件
+     */
+    private static final Map<Platform, Map<Condition, String>> CONDITIONS = createConditions();
+
+    /**
+     * プラットフォーム毎のインスタンス
+     */
+    private static final Map<Platform, DefaultOutputPathLoader> LOADERS = createLoaders();
+
     /**
      * プログラム実行時のプラットフォーム要素
      */
@@ -71,17 +96,17 @@ public final class DefaultOutputPathLoader implements Content<DefaultOutputPath>
     }
 
     /**
-     * 引数として与えられた {@code platform} をもとに {@link DefaultOutputPathLoader}
-     * クラスの新しいインスタンスを生成し返却します。
+     * 引数として与えられた {@code platform} に対応する {@link DefaultOutputPathLoader} クラスのインスタンスを返却します。<br>
+     * 同一のプラットフォームに対しては常に同一のインスタンスを返却します。
      *
      * @param platform プログラム実行時のプラットフォーム
-     * @return {@link DefaultOutputPathLoader} クラスの新しいインスタンス
+     * @return {@link DefaultOutputPathLoader} クラスのインスタンス
      *
      * @exception NullPointerException 引数として {@code null} が渡された場合
      * @see Platform
      */
     public static Content<DefaultOutputPath> of(@NonNull Platform platform) {
-        return new DefaultOutputPathLoader(platform);
+        return LOADERS.get(platform);
     }
 
     /**
@@ -94,6 +119,37 @@ public final class DefaultOutputPathLoader implements Content<DefaultOutputPath>
         public String getString() {
             return this.name();
         }
+
+        /**
+         * 引数として指定されたコンテンツの読み込み結果から当要素の値を返却します。
+         *
+         * @param content コンテンツの読み込み結果
+         * @return 当要素の値
+         *
+         * @exception IllegalStateException 当要素の値がコンテンツに定義されていない場合
+         */
+        private String getValue(@NonNull Map<String, String> content) {
+
+            final String value = content.get(this.name());
+
+            if (value == null) {
+                throw new IllegalStateException(String.format("コンテンツの属性が定義されていません。属性 = (%s)", this.name()));
+            }
+
+            return value;
+        }
+
+        /**
+         * 引数として指定されたコンテンツの読み込み結果を {@link DefaultOutputPath} へ変換し返却します。
+         *
+         * @param content コンテンツの読み込み結果
+         * @return 既定出力先
+         *
+         * @exception IllegalStateException 必要な要素の値がコンテンツに定義されていない場合
+         */
+        private static DefaultOutputPath toDefaultOutputPath(@NonNull Map<String, String> content) {
+            return DefaultOutputPath.of(環境変数名.getValue(content), 出力先ディレクトリ.getValue(content));
+        }
     }
 
     /**
@@ -110,27 +166,49 @@ public final class DefaultOutputPathLoader implements Content<DefaultOutputPath>
 
     @Override
     public DefaultOutputPath execute() {
-
-        final Map<String, String> content = loadContent(this.getClass()).get(0);
-
-        return DefaultOutputPath.of(content.get(ContentAttribute.環境変数名.getString()),
-                content.get(ContentAttribute.出力先ディレクトリ.getString()));
+        return ContentAttribute.toDefaultOutputPath(loadContent(this.getClass()).get(0));
     }
 
     @Override
     public List<Attribute> getAttributes() {
-        final List<Attribute> attributes = new ArrayList<>(2);
-        attributes.add(ContentAttribute.環境変数名);
-        attributes.add(ContentAttribute.出力先ディレクトリ);
-
-        return attributes;
+        return ATTRIBUTES;
     }
 
     @Override
     public Map<Condition, String> getConditions() {
-        final Map<Condition, String> conditions = new HashMap<>(1);
-        conditions.put(ContentConditions.プラットフォームコード, String.valueOf(this.getPlatform().getCode()));
+        return CONDITIONS.get(this.getPlatform());
+    }
+
+    /**
+     * プラットフォーム毎の変更不可能なコンテンツ条件を生成し返却します。
+     *
+     * @return プラットフォーム毎のコンテンツ条件
+     */
+    private static Map<Platform, Map<Condition, String>> createConditions() {
+
+        final Map<Platform, Map<Condition, String>> conditions = new EnumMap<>(Platform.class);
+
+        for (Platform platform : Platform.values()) {
+            conditions.put(platform,
+                    Collections.singletonMap(ContentConditions.プラットフォームコード, String.valueOf(platform.getCode())));
+        }
+
+        return Collections.unmodifiableMap(conditions);
+    }
+
+    /**
+     * プラットフォーム毎のインスタンスを生成し返却します。
+     *
+     * @return プラットフォーム毎のインスタンス
+     */
+    private static Map<Platform, DefaultOutputPathLoader> createLoaders() {
+
+        final Map<Platform, DefaultOutputPathLoader> loaders = new EnumMap<>(Platform.class);
+
+        for (Platform platform : Platform.values()) {
+            loaders.put(platform, new DefaultOutputPathLoader(platform));
+        }
 
-        return conditions;
+        return Collections.unmodifiableMap(loaders);
     }
-}
\ No newline at end of file
+}
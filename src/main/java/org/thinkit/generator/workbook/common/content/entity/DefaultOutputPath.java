@@ -15,6 +15,9 @@
 package org.thinkit.generator.workbook.common.content.entity;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.thinkit.framework.content.entity.ContentEntity;
 
@@ -25,6 +28,9 @@ import lombok.ToString;
 
 /**
  * 各生成器で生成したリソースを出力する際の既定出力先を管理するデータクラスです。
+ * <p>
+ * 出力先ルートが設定されている場合は環境変数と出力先ディレクトリから生成される出力先の代わりに、<br>
+ * {@link #getOutputSharding()} に従って振り分けられた出力先ルートのいずれかが使用されます。
  *
  * @author Kato Shinya
  * @since 1.0
@@ -51,6 +57,24 @@ public final class DefaultOutputPath implements ContentEntity, Serializable {
     @Getter
     private String outputDirectory;
 
+    /**
+     * 出力先ルートの一覧
+     */
+    @Getter
+    private List<String> outputRoots = Collections.emptyList();
+
+    /**
+     * テナント名(テナントが設定されない場合は空文字列)
+     */
+    @Getter
+    private String tenant = "";
+
+    /**
+     * 出力先ルートの振り分け方法
+     */
+    @Getter
+    private OutputSharding outputSharding = OutputSharding.TENANT;
+
     /**
      * デフォルトコンストラクタ
      */
@@ -80,6 +104,9 @@ public final class DefaultOutputPath implements ContentEntity, Serializable {
     private DefaultOutputPath(@NonNull DefaultOutputPath defaultOutputPath) {
         this.environmentVariableName = defaultOutputPath.getEnvironmentVariableName();
         this.outputDirectory = defaultOutputPath.getOutputDirectory();
+        this.outputRoots = defaultOutputPath.getOutputRoots();
+        this.tenant = defaultOutputPath.getTenant();
+        this.outputSharding = defaultOutputPath.getOutputSharding();
     }
 
     /**
@@ -107,4 +134,25 @@ public final class DefaultOutputPath implements ContentEntity, Serializable {
     public static DefaultOutputPath of(@NonNull DefaultOutputPath defaultOutputPath) {
         return new DefaultOutputPath(defaultOutputPath);
     }
+
+    /**
+     * 引数として指定された出力先ルートの設定を当オブジェクトの情報に付与した {@link DefaultOutputPath} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param outputRoots    出力先ルートの一覧
+     * @param tenant         テナント名(テナントが設定されない場合は空文字列)
+     * @param outputSharding 出力先ルートの振り分け方法
+     * @return {@link DefaultOutputPath} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public DefaultOutputPath withOutputRoots(@NonNull List<String> outputRoots, @NonNull String tenant,
+            @NonNull OutputSharding outputSharding) {
+
+        final DefaultOutputPath defaultOutputPath = new DefaultOutputPath(this);
+        defaultOutputPath.outputRoots = Collections.unmodifiableList(new ArrayList<>(outputRoots));
+        defaultOutputPath.tenant = tenant;
+        defaultOutputPath.outputSharding = outputSharding;
+
+        return defaultOutputPath;
+    }
 }
\ No newline at end of file
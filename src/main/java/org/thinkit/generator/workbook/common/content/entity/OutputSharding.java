@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.content.entity;
+
+import java.util.Arrays;
+
+import lombok.NonNull;
+
+/**
+ * 複数の出力先ルートが設定された場合に出力先ルートを振り分ける方法を管理するEnumクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DefaultOutputPath#getOutputRoots()
+ */
+public enum OutputSharding {
+
+    /**
+     * テナント毎に出力先ルートを振り分けます。<br>
+     * 同一のテナントの全ての定義は同一の出力先ルートへ出力されます。
+     */
+    TENANT,
+
+    /**
+     * 定義書のファイルパスのハッシュ値に応じて出力先ルートを振り分けます。
+     */
+    DEFINITION_HASH;
+
+    /**
+     * 引数として指定された文字列に対応する {@link OutputSharding} を返却します。<br>
+     * 要素名は前後の空白を除去した上で大文字と小文字を区別せずに比較されます。
+     *
+     * @param value 振り分け方法を表す文字列
+     * @return 文字列に対応する {@link OutputSharding}
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 文字列に対応する要素が存在しない場合
+     */
+    public static OutputSharding parse(@NonNull String value) {
+
+        final String name = value.trim();
+
+        for (OutputSharding outputSharding : values()) {
+            if (outputSharding.name().equalsIgnoreCase(name)) {
+                return outputSharding;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("出力先ルートの振り分け方法が不正です。指定値 = (%s), 指定可能な値 = (%s)", value,
+                Arrays.toString(values())));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.content.rule;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.thinkit.common.catalog.Platform;
+import org.thinkit.framework.content.rule.RuleInvoker;
+import org.thinkit.generator.workbook.common.content.entity.DefaultOutputPath;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * {@link DefaultOutputPathCollector} の実行結果をプラットフォーム毎に保持するキャッシュクラスです。
+ * <p>
+ * 既定出力先はプログラム実行中に変化しないため、既定出力先の取得はプラットフォーム毎に1度のみ行われます。<br>
+ * 出力先ルートの設定も既定出力先とともに保持されるため、設定ファイルの読み込みもプラットフォーム毎に1度のみ行われます。<br>
+ * 当クラスはスレッドセーフであり、複数のスレッドから同時に {@link #get(Platform)} を呼び出した場合でも
+ * コンテンツの読み込みは1度のみ行われます。
+ * <p>
+ * キャッシュした情報を破棄する場合は {@link #invalidate(Platform)} または {@link #invalidateAll()}
+ * を呼び出してください。<br>
+ * キャッシュの利用状況は {@link #getHitCount()} と {@link #getMissCount()} から取得できます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DefaultOutputPathCollector
+ */
+@ToString
+public final class DefaultOutputPathCache {
+
+    /**
+     * {@link DefaultOutputPathCache} のシングルトンインスタンスを保持するインナークラスです。<br>
+     * {@link DefaultOutputPathCache} シングルトンインスタンスは初回参照時にメモリに読み込まれます。
+     */
+    private static class InstanceHolder {
+
+        /**
+         * シングルトンインスタンス
+         */
+        private static final DefaultOutputPathCache INSTANCE = new DefaultOutputPathCache();
+    }
+
+    /**
+     * プラットフォーム毎の既定出力先
+     */
+    private final Map<Platform, DefaultOutputPath> cache = new ConcurrentHashMap<>(Platform.values().length);
+
+    /**
+     * キャッシュヒット数
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * キャッシュミス数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DefaultOutputPathCache() {
+    }
+
+    /**
+     * {@link DefaultOutputPathCache} クラスのシングルトンインスタンスを返却します。
+     *
+     * @return {@link DefaultOutputPathCache} クラスのシングルトンインスタンス
+     */
+    public static DefaultOutputPathCache getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * 引数として指定されたプラットフォームに対応する既定出力先を返却します。<br>
+     * キャッシュに既定出力先が存在しない場合は {@link DefaultOutputPathCollector} を実行し、その結果をキャッシュします。
+     *
+     * @param platform プログラム実行時のプラットフォーム
+     * @return プラットフォームに対応する既定出力先
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public DefaultOutputPath get(@NonNull Platform platform) {
+
+        final DefaultOutputPath defaultOutputPath = this.cache.get(platform);
+
+        if (defaultOutputPath != null) {
+            this.hitCount.increment();
+            return defaultOutputPath;
+        }
+
+        return this.cache.computeIfAbsent(platform, key -> {
+            this.missCount.increment();
+            return RuleInvoker.of(DefaultOutputPathCollector.of(key)).invoke();
+        });
+    }
+
+    /**
+     * 引数として指定されたプラットフォームに対応するキャッシュを破棄します。<br>
+     * 次回の {@link #get(Platform)} 呼び出し時に既定出力先が再度取得されます。
+     *
+     * @param platform 破棄するキャッシュのプラットフォーム
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void invalidate(@NonNull Platform platform) {
+        this.cache.remove(platform);
+    }
+
+    /**
+     * 全てのプラットフォームのキャッシュを破棄します。
+     */
+    public void invalidateAll() {
+        this.cache.clear();
+    }
+
+    /**
+     * キャッシュヒット数を返却します。
+     *
+     * @return キャッシュヒット数
+     */
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    /**
+     * キャッシュミス数を返却します。<br>
+     * キャッシュミス数は既定出力先を取得した回数と一致します。
+     *
+     * @return キャッシュミス数
+     */
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+}
@@ -14,11 +14,15 @@
 
 package org.thinkit.generator.workbook.common.content.rule;
 
+import java.util.Optional;
+
 import org.thinkit.common.catalog.Platform;
 import org.thinkit.framework.content.ContentInvoker;
 import org.thinkit.framework.content.rule.Rule;
 import org.thinkit.generator.workbook.common.content.DefaultOutputPathLoader;
 import org.thinkit.generator.workbook.common.content.entity.DefaultOutputPath;
+import org.thinkit.generator.workbook.common.trace.ContentLoadEvent;
+import org.thinkit.generator.workbook.common.trace.TraceContext;
 
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
@@ -26,6 +30,10 @@ import lombok.ToString;
 
 /**
  * プログラム実行時のプラットフォームに応じた既定出力先を取得する処理を定義したルールクラスです。
+ * <p>
+ * 既定出力先はビルド時にコンテンツから生成された {@link DefaultOutputPathTable} から優先して取得され、<br>
+ * {@link DefaultOutputPathTable} に含まれない場合のみコンテンツ「既定出力先」を読み込みます。<br>
+ * 取得した既定出力先には {@link OutputRootConfiguration} で設定された出力先ルートが付与されます。
  *
  * @author Kato Shinya
  * @since 1.0
@@ -72,6 +80,19 @@ public final class DefaultOutputPathCollector implements Rule<DefaultOutputPath>
 
     @Override
     public DefaultOutputPath execute() {
-        return ContentInvoker.of(DefaultOutputPathLoader.of(platform)).invoke();
+
+        final ContentLoadEvent contentLoadEvent = new ContentLoadEvent();
+        contentLoadEvent.begin();
+
+        final Optional<DefaultOutputPath> precompiledOutputPath = DefaultOutputPathTable.getInstance()
+                .find(this.platform);
+        final DefaultOutputPath defaultOutputPath = OutputRootConfiguration.load()
+                .applyTo(precompiledOutputPath.isPresent() ? precompiledOutputPath.get()
+                        : ContentInvoker.of(DefaultOutputPathLoader.of(this.platform)).invoke());
+
+        contentLoadEvent.complete(TraceContext.current(), DefaultOutputPath.class.getSimpleName(),
+                precompiledOutputPath.isPresent() ? "table" : "content");
+
+        return defaultOutputPath;
     }
 }
\ No newline at end of file
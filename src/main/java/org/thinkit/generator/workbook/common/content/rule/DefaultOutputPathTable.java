@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.content.rule;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.thinkit.common.catalog.Platform;
+import org.thinkit.generator.workbook.common.content.entity.DefaultOutputPath;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * ビルド時にコンテンツ「既定出力先」から生成された既定出力先の一覧を管理するクラスです。
+ * <p>
+ * 既定出力先の一覧はビルド時に {@code generateDefaultOutputPathTable} タスクで生成される
+ * {@code GeneratedDefaultOutputPaths} が {@link java.util.EnumMap} として初期化するため、実行時にコンテンツの解析は行われません。<br>
+ * {@code GeneratedDefaultOutputPaths} はビルドディレクトリに生成されるため、
+ * IDE でビルドする場合は事前に {@code generateDefaultOutputPathTable} タスクを実行してください。
+ * <p>
+ * 一覧にプラットフォームが含まれない場合は {@link #find(Platform)} が空の {@link Optional} を返却するため、
+ * 呼び出し側でコンテンツを読み込んでください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DefaultOutputPathCollector
+ */
+@ToString
+final class DefaultOutputPathTable {
+
+    /**
+     * {@link DefaultOutputPathTable} のシングルトンインスタンスを保持するインナークラスです。<br>
+     * {@link DefaultOutputPathTable} シングルトンインスタンスは初回参照時にメモリに読み込まれます。
+     */
+    private static class InstanceHolder {
+
+        /**
+         * シングルトンインスタンス
+         */
+        private static final DefaultOutputPathTable INSTANCE = new DefaultOutputPathTable();
+    }
+
+    /**
+     * プラットフォーム毎の既定出力先
+     */
+    private final Map<Platform, DefaultOutputPath> table;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private DefaultOutputPathTable() {
+        this.table = GeneratedDefaultOutputPaths.table();
+    }
+
+    /**
+     * {@link DefaultOutputPathTable} クラスのシングルトンインスタンスを返却します。
+     *
+     * @return {@link DefaultOutputPathTable} クラスのシングルトンインスタンス
+     */
+    static DefaultOutputPathTable getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * 引数として指定されたプラットフォームに対応する既定出力先を返却します。<br>
+     * 既定出力先が一覧に含まれない場合は空の {@link Optional} を返却します。
+     *
+     * @param platform プログラム実行時のプラットフォーム
+     * @return プラットフォームに対応する既定出力先
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    Optional<DefaultOutputPath> find(@NonNull Platform platform) {
+        return Optional.ofNullable(this.table.get(platform));
+    }
+}
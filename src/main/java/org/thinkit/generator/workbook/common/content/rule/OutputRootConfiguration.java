@@ -0,0 +1,335 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.content.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.thinkit.generator.workbook.common.content.entity.DefaultOutputPath;
+import org.thinkit.generator.workbook.common.content.entity.OutputSharding;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 既定出力先の出力先ルートに関する設定を管理するクラスです。
+ * <p>
+ * 各設定値はシステムプロパティ、環境変数、プロジェクトの設定ファイルの順に検索され、最初に見つかった値が使用されます。<br>
+ * 設定ファイルは作業ディレクトリの {@value #DEFAULT_CONFIG_FILE_NAME} (UTF-8)で、システムプロパティ {@value #CONFIG_FILE_PROPERTY}
+ * で別のファイルを指定することもできます。
+ *
+ * <pre>
+ * 設定項目           システムプロパティ                               環境変数                    設定ファイルのキー
+ * 出力先ルート       org.thinkit.generator.workbook.outputRoots       GENERATOR_OUTPUT_ROOTS      outputRoots
+ * テナント毎の上書き org.thinkit.generator.workbook.outputRoots.テナント名 GENERATOR_OUTPUT_ROOTS_テナント名 outputRoots.テナント名
+ * テナント名         org.thinkit.generator.workbook.tenant            GENERATOR_TENANT            tenant
+ * 振り分け方法       org.thinkit.generator.workbook.outputSharding    GENERATOR_OUTPUT_SHARDING   outputSharding
+ * </pre>
+ *
+ * テナント毎の上書きはテナント名が設定されている場合のみ参照され、いずれかの検索先で見つかった場合は出力先ルートの設定より優先されます。<br>
+ * テナント毎の上書きの環境変数名には、テナント名を大文字に変換し英数字以外の文字をアンダースコアへ置き換えた値を使用します。
+ * (例: テナント名 {@code team-a} の場合は {@code GENERATOR_OUTPUT_ROOTS_TEAM_A})
+ * <p>
+ * 出力先ルートはカンマまたはプラットフォームのパス区切り文字で区切って複数指定できます。<br>
+ * 振り分け方法には {@link OutputSharding} の要素名を大文字と小文字を区別せずに指定します。<br>
+ * 指定されない場合はテナント名が設定されていれば {@link OutputSharding#TENANT} 、設定されていなければ
+ * {@link OutputSharding#DEFINITION_HASH} となります。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see DefaultOutputPathCollector
+ */
+@ToString
+final class OutputRootConfiguration {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 設定ファイルを指定するシステムプロパティ名
+     */
+    static final String CONFIG_FILE_PROPERTY = "org.thinkit.generator.workbook.outputConfig";
+
+    /**
+     * 既定の設定ファイル名
+     */
+    static final String DEFAULT_CONFIG_FILE_NAME = "generator-output.properties";
+
+    /**
+     * システムプロパティ名の接頭辞
+     */
+    private static final String PROPERTY_PREFIX = "org.thinkit.generator.workbook.";
+
+    /**
+     * 出力先ルートの設定キー
+     */
+    private static final String OUTPUT_ROOTS_KEY = "outputRoots";
+
+    /**
+     * テナント名の設定キー
+     */
+    private static final String TENANT_KEY = "tenant";
+
+    /**
+     * 振り分け方法の設定キー
+     */
+    private static final String OUTPUT_SHARDING_KEY = "outputSharding";
+
+    /**
+     * 出力先ルートの環境変数名
+     */
+    private static final String OUTPUT_ROOTS_ENVIRONMENT = "GENERATOR_OUTPUT_ROOTS";
+
+    /**
+     * テナント名の環境変数名
+     */
+    private static final String TENANT_ENVIRONMENT = "GENERATOR_TENANT";
+
+    /**
+     * 振り分け方法の環境変数名
+     */
+    private static final String OUTPUT_SHARDING_ENVIRONMENT = "GENERATOR_OUTPUT_SHARDING";
+
+    /**
+     * 出力先ルートの区切り文字
+     */
+    private static final Pattern OUTPUT_ROOT_DELIMITER = Pattern
+            .compile("[," + Pattern.quote(File.pathSeparator) + "]");
+
+    /**
+     * 環境変数名に使用できない文字
+     */
+    private static final Pattern INVALID_ENVIRONMENT_CHARACTER = Pattern.compile("[^A-Z0-9]");
+
+    /**
+     * 出力先ルートの一覧
+     */
+    @Getter
+    private List<String> outputRoots;
+
+    /**
+     * テナント名
+     */
+    @Getter
+    private String tenant;
+
+    /**
+     * 出力先ルートの振り分け方法
+     */
+    @Getter
+    private OutputSharding outputSharding;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private OutputRootConfiguration() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param outputRoots    出力先ルートの一覧
+     * @param tenant         テナント名
+     * @param outputSharding 出力先ルートの振り分け方法
+     */
+    private OutputRootConfiguration(@NonNull List<String> outputRoots, @NonNull String tenant,
+            @NonNull OutputSharding outputSharding) {
+        this.outputRoots = outputRoots;
+        this.tenant = tenant;
+        this.outputSharding = outputSharding;
+    }
+
+    /**
+     * システムプロパティ、環境変数、設定ファイルから出力先ルートに関する設定を読み込みます。
+     *
+     * @return 出力先ルートに関する設定
+     *
+     * @exception UncheckedIOException     設定ファイルの読み込みに失敗した場合
+     * @exception IllegalArgumentException 振り分け方法に不正な値が指定された場合
+     */
+    static OutputRootConfiguration load() {
+        return load(System.getProperties(), System.getenv(), loadConfigFile());
+    }
+
+    /**
+     * 引数として指定された設定値から出力先ルートに関する設定を読み込みます。
+     *
+     * @param systemProperties システムプロパティ
+     * @param environment      環境変数
+     * @param configFile       設定ファイルの内容
+     * @return 出力先ルートに関する設定
+     *
+     * @exception IllegalArgumentException 振り分け方法に不正な値が指定された場合
+     */
+    static OutputRootConfiguration load(@NonNull Properties systemProperties, @NonNull Map<String, String> environment,
+            @NonNull Properties configFile) {
+
+        final String tenant = lookup(TENANT_KEY, TENANT_ENVIRONMENT, systemProperties, environment, configFile);
+        String outputRoots = "";
+
+        if (!tenant.isEmpty()) {
+            outputRoots = lookup(OUTPUT_ROOTS_KEY + "." + tenant, toTenantEnvironmentName(tenant), systemProperties,
+                    environment, configFile);
+        }
+
+        if (outputRoots.isEmpty()) {
+            outputRoots = lookup(OUTPUT_ROOTS_KEY, OUTPUT_ROOTS_ENVIRONMENT, systemProperties, environment, configFile);
+        }
+
+        final String outputSharding = lookup(OUTPUT_SHARDING_KEY, OUTPUT_SHARDING_ENVIRONMENT, systemProperties,
+                environment, configFile);
+
+        return new OutputRootConfiguration(split(outputRoots), tenant,
+                outputSharding.isEmpty() ? defaultOutputSharding(tenant) : OutputSharding.parse(outputSharding));
+    }
+
+    /**
+     * 振り分け方法が指定されない場合の振り分け方法を返却します。<br>
+     * テナント名が設定されない場合に {@link OutputSharding#TENANT} で振り分けると全ての定義が同一の出力先ルートへ出力されるため、
+     * {@link OutputSharding#DEFINITION_HASH} を使用します。
+     *
+     * @param tenant テナント名
+     * @return 既定の振り分け方法
+     */
+    private static OutputSharding defaultOutputSharding(@NonNull String tenant) {
+        return tenant.isEmpty() ? OutputSharding.DEFINITION_HASH : OutputSharding.TENANT;
+    }
+
+    /**
+     * 引数として指定された既定出力先に当設定の出力先ルートを付与して返却します。<br>
+     * 出力先ルートが設定されていない場合は引数として指定された既定出力先をそのまま返却します。
+     *
+     * @param defaultOutputPath 既定出力先
+     * @return 出力先ルートを付与した既定出力先
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    DefaultOutputPath applyTo(@NonNull DefaultOutputPath defaultOutputPath) {
+
+        if (this.outputRoots.isEmpty()) {
+            return defaultOutputPath;
+        }
+
+        logger.atFine().log("出力先ルートを使用します。出力先ルート = (%s), テナント = (%s), 振り分け方法 = (%s)", this.outputRoots,
+                this.tenant, this.outputSharding);
+
+        return defaultOutputPath.withOutputRoots(this.outputRoots, this.tenant, this.outputSharding);
+    }
+
+    /**
+     * 引数として指定されたテナント名に対するテナント毎の出力先ルートの環境変数名を返却します。
+     *
+     * @param tenant テナント名
+     * @return テナント毎の出力先ルートの環境変数名
+     */
+    static String toTenantEnvironmentName(@NonNull String tenant) {
+        return OUTPUT_ROOTS_ENVIRONMENT + "_"
+                + INVALID_ENVIRONMENT_CHARACTER.matcher(tenant.toUpperCase(Locale.ROOT)).replaceAll("_");
+    }
+
+    /**
+     * 引数として指定されたキーの設定値をシステムプロパティ、環境変数、設定ファイルの順に検索し返却します。<br>
+     * 設定値が存在しない場合は空文字列を返却します。
+     *
+     * @param key              設定キー
+     * @param environmentName  環境変数名
+     * @param systemProperties システムプロパティ
+     * @param environment      環境変数
+     * @param configFile       設定ファイルの内容
+     * @return 設定値
+     */
+    private static String lookup(@NonNull String key, @NonNull String environmentName,
+            @NonNull Properties systemProperties, @NonNull Map<String, String> environment,
+            @NonNull Properties configFile) {
+
+        final String propertyValue = systemProperties.getProperty(PROPERTY_PREFIX + key);
+
+        if (StringUtils.isNotBlank(propertyValue)) {
+            return propertyValue.trim();
+        }
+
+        final String environmentValue = environment.get(environmentName);
+
+        if (StringUtils.isNotBlank(environmentValue)) {
+            return environmentValue.trim();
+        }
+
+        return configFile.getProperty(key, "").trim();
+    }
+
+    /**
+     * 引数として指定された文字列を出力先ルートの一覧に分割します。空の要素は除外されます。
+     *
+     * @param outputRoots 区切り文字で区切られた出力先ルート
+     * @return 出力先ルートの一覧
+     */
+    private static List<String> split(@NonNull String outputRoots) {
+
+        final List<String> roots = new ArrayList<>();
+
+        for (String root : OUTPUT_ROOT_DELIMITER.split(outputRoots)) {
+            if (StringUtils.isNotBlank(root)) {
+                roots.add(root.trim());
+            }
+        }
+
+        return roots;
+    }
+
+    /**
+     * 設定ファイルを読み込みます。設定ファイルが存在しない場合は空の設定を返却します。
+     *
+     * @return 設定ファイルの内容
+     *
+     * @exception UncheckedIOException 設定ファイルの読み込みに失敗した場合
+     */
+    private static Properties loadConfigFile() {
+
+        final Path configFile = Paths.get(System.getProperty(CONFIG_FILE_PROPERTY, DEFAULT_CONFIG_FILE_NAME));
+        final Properties properties = new Properties();
+
+        if (!Files.isRegularFile(configFile)) {
+            return properties;
+        }
+
+        try (Reader reader = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return properties;
+    }
+}
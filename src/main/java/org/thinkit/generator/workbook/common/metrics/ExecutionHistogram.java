@@ -0,0 +1,225 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.thinkit.generator.workbook.common.GenerationStatus;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 1つの生成器に関する計測値を集計するヒストグラムです。
+ * <p>
+ * 経過時間は2の累乗を境界とするバケットに集計されるため、{@link #getWallNanosPercentile(double)}
+ * が返却する値はバケットの上限値による近似値となります。<br>
+ * 当クラスはスレッドセーフです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see HistogramMetricsSink
+ */
+@ToString
+public final class ExecutionHistogram {
+
+    /**
+     * バケット数
+     */
+    private static final int BUCKET_COUNT = Long.SIZE;
+
+    /**
+     * 経過時間のバケット
+     */
+    @ToString.Exclude
+    private final AtomicLongArray wallNanosBuckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * 実行結果の状態毎の件数
+     */
+    @ToString.Exclude
+    private final AtomicLongArray statusCounts = new AtomicLongArray(GenerationStatus.values().length);
+
+    /**
+     * 件数
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * 経過時間の合計(ナノ秒)
+     */
+    private final LongAdder totalWallNanos = new LongAdder();
+
+    /**
+     * 経過時間の最大値(ナノ秒)
+     */
+    private final AtomicLong maxWallNanos = new AtomicLong();
+
+    /**
+     * CPU時間の合計(ナノ秒)
+     */
+    private final LongAdder totalCpuNanos = new LongAdder();
+
+    /**
+     * 割り当てバイト数の合計
+     */
+    private final LongAdder totalAllocatedBytes = new LongAdder();
+
+    /**
+     * コンストラクタ
+     */
+    ExecutionHistogram() {
+    }
+
+    /**
+     * 計測値を集計します。
+     *
+     * @param metric 計測値
+     */
+    void record(@NonNull ExecutionMetric metric) {
+
+        final long wallNanos = Math.max(0L, metric.getWallNanos());
+
+        this.count.increment();
+        this.statusCounts.incrementAndGet(metric.getStatus().ordinal());
+        this.wallNanosBuckets.incrementAndGet(bucketOf(wallNanos));
+        this.totalWallNanos.add(wallNanos);
+        this.maxWallNanos.accumulateAndGet(wallNanos, Math::max);
+
+        if (metric.getCpuNanos() != ExecutionMetric.UNSUPPORTED) {
+            this.totalCpuNanos.add(metric.getCpuNanos());
+        }
+
+        if (metric.getAllocatedBytes() != ExecutionMetric.UNSUPPORTED) {
+            this.totalAllocatedBytes.add(metric.getAllocatedBytes());
+        }
+    }
+
+    /**
+     * 件数を返却します。
+     *
+     * @return 件数
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * 引数として指定された実行結果の状態の件数を返却します。
+     *
+     * @param status 実行結果の状態
+     * @return 実行結果の状態の件数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public long getCount(@NonNull GenerationStatus status) {
+        return this.statusCounts.get(status.ordinal());
+    }
+
+    /**
+     * 経過時間の平均値を返却します。
+     *
+     * @return 経過時間の平均値(ナノ秒)
+     */
+    public long getMeanWallNanos() {
+        final long count = this.getCount();
+        return count == 0 ? 0L : this.totalWallNanos.sum() / count;
+    }
+
+    /**
+     * 経過時間の最大値を返却します。
+     *
+     * @return 経過時間の最大値(ナノ秒)
+     */
+    public long getMaxWallNanos() {
+        return this.maxWallNanos.get();
+    }
+
+    /**
+     * 引数として指定されたパーセンタイルの経過時間の近似値を返却します。
+     *
+     * @param percentile パーセンタイル(0より大きく100以下)
+     * @return 経過時間の近似値(ナノ秒)
+     *
+     * @throws IllegalArgumentException パーセンタイルが範囲外の場合
+     */
+    public long getWallNanosPercentile(double percentile) {
+
+        if (percentile <= 0.0d || percentile > 100.0d) {
+            throw new IllegalArgumentException(String.format("パーセンタイルの範囲が不正です。パーセンタイル = (%s)", percentile));
+        }
+
+        final long count = this.getCount();
+
+        if (count == 0) {
+            return 0L;
+        }
+
+        final long threshold = (long) Math.ceil(count * percentile / 100.0d);
+        long cumulativeCount = 0L;
+
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            cumulativeCount += this.wallNanosBuckets.get(bucket);
+
+            if (cumulativeCount >= threshold) {
+                return Math.min(upperBoundOf(bucket), this.getMaxWallNanos());
+            }
+        }
+
+        return this.getMaxWallNanos();
+    }
+
+    /**
+     * CPU時間の合計を返却します。
+     *
+     * @return CPU時間の合計(ナノ秒)
+     */
+    public long getTotalCpuNanos() {
+        return this.totalCpuNanos.sum();
+    }
+
+    /**
+     * 割り当てバイト数の合計を返却します。
+     *
+     * @return 割り当てバイト数の合計
+     */
+    public long getTotalAllocatedBytes() {
+        return this.totalAllocatedBytes.sum();
+    }
+
+    /**
+     * 引数として指定された値が属するバケットを返却します。
+     *
+     * @param value 値
+     * @return バケット
+     */
+    private static int bucketOf(long value) {
+        return Math.min(BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(value));
+    }
+
+    /**
+     * 引数として指定されたバケットの上限値を返却します。
+     *
+     * @param bucket バケット
+     * @return バケットの上限値
+     */
+    private static long upperBoundOf(int bucket) {
+        return bucket >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1L;
+    }
+}
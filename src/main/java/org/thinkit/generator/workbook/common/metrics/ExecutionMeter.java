@@ -0,0 +1,259 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.thinkit.generator.workbook.common.DefinitionPath;
+import org.thinkit.generator.workbook.common.GenerationStatus;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 生成器の実行を計測するクラスです。
+ * <p>
+ * {@link #start()} で計測を開始し、同一のスレッドで {@link #stop(String, DefinitionPath, GenerationStatus)}
+ * を呼び出すことで計測値を取得します。<br>
+ * CPU時間と割り当てバイト数は {@link ThreadMXBean} から取得するため、JVMが計測に対応していない場合は
+ * {@link ExecutionMetric#UNSUPPORTED} となります。
+ * <p>
+ * CPU時間と割り当てバイト数には計測を開始したスレッドの値に加えて、{@link #startWorker()} で計測したワーカースレッドの値が合算されます。<br>
+ * シートを並列に処理するワーカースレッドは {@link #startWorker()} と {@link WorkerMeter#stop()} で処理を囲むことで計測値へ加算されます。<br>
+ * 出力の書き込みスレッドなど {@link #startWorker()} で計測されないスレッドの値は含まれません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+public final class ExecutionMeter {
+
+    /**
+     * スレッドの計測を行うオブジェクト
+     */
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * 割り当てバイト数の計測を行うオブジェクト
+     */
+    private static final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN = getAllocationMXBean();
+
+    /**
+     * 実行開始日時(エポックミリ秒)
+     */
+    private final long startedAt;
+
+    /**
+     * 計測開始時のナノ秒
+     */
+    private final long startNanos;
+
+    /**
+     * 計測開始時のCPU時間(ナノ秒)
+     */
+    private final long startCpuNanos;
+
+    /**
+     * 計測開始時の割り当てバイト数
+     */
+    private final long startAllocatedBytes;
+
+    /**
+     * ワーカースレッドのCPU時間の合計(ナノ秒)
+     */
+    private final LongAdder workerCpuNanos = new LongAdder();
+
+    /**
+     * ワーカースレッドの割り当てバイト数の合計
+     */
+    private final LongAdder workerAllocatedBytes = new LongAdder();
+
+    /**
+     * コンストラクタ
+     */
+    private ExecutionMeter() {
+        this.startedAt = System.currentTimeMillis();
+        this.startCpuNanos = currentThreadCpuTime();
+        this.startAllocatedBytes = currentThreadAllocatedBytes();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * 現在のスレッドにおける計測を開始します。
+     *
+     * @return 計測を行うオブジェクト
+     */
+    public static ExecutionMeter start() {
+        return new ExecutionMeter();
+    }
+
+    /**
+     * 現在のワーカースレッドにおける計測を開始します。<br>
+     * 返却されたオブジェクトの {@link WorkerMeter#stop()} を同一のスレッドで呼び出すことで、計測値が当オブジェクトへ加算されます。
+     *
+     * @return ワーカースレッドの計測を行うオブジェクト
+     */
+    public WorkerMeter startWorker() {
+        return new WorkerMeter(this);
+    }
+
+    /**
+     * 計測を終了し計測値を返却します。<br>
+     * CPU時間と割り当てバイト数は計測を開始したスレッドの値と、既に終了したワーカースレッドの計測値の合計となります。
+     *
+     * @param generatorName  生成器のクラス名
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param status         実行結果の状態
+     * @return 計測値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public ExecutionMetric stop(@NonNull String generatorName, @NonNull DefinitionPath definitionPath,
+            @NonNull GenerationStatus status) {
+
+        final long wallNanos = System.nanoTime() - this.startNanos;
+        final long cpuNanos = currentThreadCpuTime();
+        final long allocatedBytes = currentThreadAllocatedBytes();
+
+        return ExecutionMetric.of(generatorName, definitionPath, status, this.startedAt, wallNanos,
+                sum(difference(this.startCpuNanos, cpuNanos), this.workerCpuNanos.sum()),
+                sum(difference(this.startAllocatedBytes, allocatedBytes), this.workerAllocatedBytes.sum()));
+    }
+
+    /**
+     * 現在のスレッドのCPU時間を返却します。
+     *
+     * @return 現在のスレッドのCPU時間(計測できない場合は {@link ExecutionMetric#UNSUPPORTED})
+     */
+    private static long currentThreadCpuTime() {
+
+        if (!THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() || !THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+            return ExecutionMetric.UNSUPPORTED;
+        }
+
+        return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+    }
+
+    /**
+     * 現在のスレッドの割り当てバイト数を返却します。
+     *
+     * @return 現在のスレッドの割り当てバイト数(計測できない場合は {@link ExecutionMetric#UNSUPPORTED})
+     */
+    private static long currentThreadAllocatedBytes() {
+
+        if (ALLOCATION_MX_BEAN == null || !ALLOCATION_MX_BEAN.isThreadAllocatedMemoryEnabled()) {
+            return ExecutionMetric.UNSUPPORTED;
+        }
+
+        return ALLOCATION_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 計測開始時と計測終了時の値の差分を返却します。
+     *
+     * @param start 計測開始時の値
+     * @param end   計測終了時の値
+     * @return 差分(いずれかの値が計測できない場合は {@link ExecutionMetric#UNSUPPORTED})
+     */
+    private static long difference(long start, long end) {
+
+        if (start == ExecutionMetric.UNSUPPORTED || end == ExecutionMetric.UNSUPPORTED) {
+            return ExecutionMetric.UNSUPPORTED;
+        }
+
+        return end - start;
+    }
+
+    /**
+     * 計測を開始したスレッドの値にワーカースレッドの値を合算し返却します。
+     *
+     * @param value       計測を開始したスレッドの値
+     * @param workerValue ワーカースレッドの値の合計
+     * @return 合計(計測を開始したスレッドの値が計測できない場合は {@link ExecutionMetric#UNSUPPORTED})
+     */
+    private static long sum(long value, long workerValue) {
+        return value == ExecutionMetric.UNSUPPORTED ? ExecutionMetric.UNSUPPORTED : value + workerValue;
+    }
+
+    /**
+     * 割り当てバイト数の計測に対応した {@link com.sun.management.ThreadMXBean} を返却します。
+     *
+     * @return 割り当てバイト数の計測を行うオブジェクト(対応していない場合は {@code null})
+     */
+    private static com.sun.management.ThreadMXBean getAllocationMXBean() {
+
+        if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+
+        final com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        return allocationMXBean.isThreadAllocatedMemorySupported() ? allocationMXBean : null;
+    }
+
+    /**
+     * ワーカースレッドにおける処理を計測し、計測値を {@link ExecutionMeter} へ加算するクラスです。
+     */
+    @ToString
+    public static final class WorkerMeter {
+
+        /**
+         * 計測値を加算するオブジェクト
+         */
+        @ToString.Exclude
+        private final ExecutionMeter executionMeter;
+
+        /**
+         * 計測開始時のCPU時間(ナノ秒)
+         */
+        private final long startCpuNanos;
+
+        /**
+         * 計測開始時の割り当てバイト数
+         */
+        private final long startAllocatedBytes;
+
+        /**
+         * コンストラクタ
+         *
+         * @param executionMeter 計測値を加算するオブジェクト
+         */
+        private WorkerMeter(@NonNull ExecutionMeter executionMeter) {
+            this.executionMeter = executionMeter;
+            this.startCpuNanos = currentThreadCpuTime();
+            this.startAllocatedBytes = currentThreadAllocatedBytes();
+        }
+
+        /**
+         * 計測を終了し、計測値を {@link ExecutionMeter} へ加算します。<br>
+         * 計測できない値は加算されません。
+         */
+        public void stop() {
+
+            final long cpuNanos = difference(this.startCpuNanos, currentThreadCpuTime());
+            final long allocatedBytes = difference(this.startAllocatedBytes, currentThreadAllocatedBytes());
+
+            if (cpuNanos != ExecutionMetric.UNSUPPORTED) {
+                this.executionMeter.workerCpuNanos.add(cpuNanos);
+            }
+
+            if (allocatedBytes != ExecutionMetric.UNSUPPORTED) {
+                this.executionMeter.workerAllocatedBytes.add(allocatedBytes);
+            }
+        }
+    }
+}
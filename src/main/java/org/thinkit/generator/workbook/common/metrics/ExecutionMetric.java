@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.metrics;
+
+import org.thinkit.generator.workbook.common.DefinitionPath;
+import org.thinkit.generator.workbook.common.GenerationStatus;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 1回の生成器の実行に関する計測値を管理するデータクラスです。
+ * <p>
+ * CPU時間と割り当てバイト数はJVMが計測に対応していない場合は {@code -1} となります。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see ExecutionMeter
+ */
+@ToString
+@EqualsAndHashCode
+public final class ExecutionMetric {
+
+    /**
+     * 計測値が取得できない場合の値
+     */
+    public static final long UNSUPPORTED = -1L;
+
+    /**
+     * 生成器のクラス名
+     */
+    @Getter
+    private String generatorName;
+
+    /**
+     * 生成する定義のパスを管理するオブジェクト
+     */
+    @Getter
+    private DefinitionPath definitionPath;
+
+    /**
+     * 実行結果の状態
+     */
+    @Getter
+    private GenerationStatus status;
+
+    /**
+     * 実行開始日時(エポックミリ秒)
+     */
+    @Getter
+    private long startedAt;
+
+    /**
+     * 経過時間(ナノ秒)
+     */
+    @Getter
+    private long wallNanos;
+
+    /**
+     * CPU時間(ナノ秒)
+     * <p>
+     * 生成器を実行したスレッドとシートを並列に処理したワーカースレッドの合計です。
+     */
+    @Getter
+    private long cpuNanos;
+
+    /**
+     * 割り当てバイト数
+     * <p>
+     * 生成器を実行したスレッドとシートを並列に処理したワーカースレッドの合計です。
+     */
+    @Getter
+    private long allocatedBytes;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private ExecutionMetric() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param generatorName  生成器のクラス名
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param status         実行結果の状態
+     * @param startedAt      実行開始日時(エポックミリ秒)
+     * @param wallNanos      経過時間(ナノ秒)
+     * @param cpuNanos       CPU時間(ナノ秒)
+     * @param allocatedBytes 割り当てバイト数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private ExecutionMetric(@NonNull String generatorName, @NonNull DefinitionPath definitionPath,
+            @NonNull GenerationStatus status, long startedAt, long wallNanos, long cpuNanos, long allocatedBytes) {
+        this.generatorName = generatorName;
+        this.definitionPath = definitionPath;
+        this.status = status;
+        this.startedAt = startedAt;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link ExecutionMetric} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param generatorName  生成器のクラス名
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param status         実行結果の状態
+     * @param startedAt      実行開始日時(エポックミリ秒)
+     * @param wallNanos      経過時間(ナノ秒)
+     * @param cpuNanos       CPU時間(ナノ秒)
+     * @param allocatedBytes 割り当てバイト数
+     * @return {@link ExecutionMetric} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static ExecutionMetric of(@NonNull String generatorName, @NonNull DefinitionPath definitionPath,
+            @NonNull GenerationStatus status, long startedAt, long wallNanos, long cpuNanos, long allocatedBytes) {
+        return new ExecutionMetric(generatorName, definitionPath, status, startedAt, wallNanos, cpuNanos,
+                allocatedBytes);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 生成器の実行に関する計測値の出力先を管理するクラスです。
+ * <p>
+ * {@link #addSink(MetricsSink)} で出力先が登録されている場合のみ生成器の実行が計測されます。<br>
+ * 出力先が登録されていない場合は計測処理は行われないため、計測による実行時の負荷は発生しません。
+ * <p>
+ * 出力先で例外が発生した場合は警告ログを出力し、生成器の実行結果には影響を与えません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see MetricsSink
+ */
+@ToString
+public final class GenerationMetrics {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * {@link GenerationMetrics} のシングルトンインスタンスを保持するインナークラスです。<br>
+     * {@link GenerationMetrics} シングルトンインスタンスは初回参照時にメモリに読み込まれます。
+     */
+    private static class InstanceHolder {
+
+        /**
+         * シングルトンインスタンス
+         */
+        private static final GenerationMetrics INSTANCE = new GenerationMetrics();
+    }
+
+    /**
+     * 計測値の出力先
+     */
+    private final List<MetricsSink> sinks = new CopyOnWriteArrayList<>();
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private GenerationMetrics() {
+    }
+
+    /**
+     * {@link GenerationMetrics} クラスのシングルトンインスタンスを返却します。
+     *
+     * @return {@link GenerationMetrics} クラスのシングルトンインスタンス
+     */
+    public static GenerationMetrics getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * 計測値の出力先を登録します。
+     *
+     * @param sink 計測値の出力先
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void addSink(@NonNull MetricsSink sink) {
+        this.sinks.add(sink);
+    }
+
+    /**
+     * 計測値の出力先の登録を解除します。
+     *
+     * @param sink 計測値の出力先
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void removeSink(@NonNull MetricsSink sink) {
+        this.sinks.remove(sink);
+    }
+
+    /**
+     * 計測値の出力先が登録されているか判定します。
+     *
+     * @return 計測値の出力先が登録されている場合は {@code true} 、それ以外は {@code false}
+     */
+    public boolean isEnabled() {
+        return !this.sinks.isEmpty();
+    }
+
+    /**
+     * 登録された全ての出力先へ計測値を出力します。
+     *
+     * @param metric 計測値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void publish(@NonNull ExecutionMetric metric) {
+        for (MetricsSink sink : this.sinks) {
+            try {
+                sink.record(metric);
+            } catch (RuntimeException e) {
+                logger.atWarning().withCause(e).log("計測値の出力に失敗しました。出力先 = (%s)", sink);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 計測値を生成器毎のヒストグラムとしてメモリ上に集計するクラスです。
+ * <p>
+ * 集計結果は {@link #getHistograms()} から生成器のクラス名をキーとして取得できます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see ExecutionHistogram
+ */
+@ToString
+public final class HistogramMetricsSink implements MetricsSink {
+
+    /**
+     * 生成器のクラス名毎のヒストグラム
+     */
+    private final Map<String, ExecutionHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private HistogramMetricsSink() {
+    }
+
+    /**
+     * {@link HistogramMetricsSink} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return {@link HistogramMetricsSink} クラスの新しいインスタンス
+     */
+    public static HistogramMetricsSink of() {
+        return new HistogramMetricsSink();
+    }
+
+    @Override
+    public void record(@NonNull ExecutionMetric metric) {
+        this.histograms.computeIfAbsent(metric.getGeneratorName(), key -> new ExecutionHistogram()).record(metric);
+    }
+
+    /**
+     * 生成器のクラス名毎のヒストグラムを返却します。
+     *
+     * @return 生成器のクラス名毎のヒストグラム
+     */
+    public Map<String, ExecutionHistogram> getHistograms() {
+        return Collections.unmodifiableMap(this.histograms);
+    }
+
+    /**
+     * 集計結果を全て破棄します。
+     */
+    public void reset() {
+        this.histograms.clear();
+    }
+}
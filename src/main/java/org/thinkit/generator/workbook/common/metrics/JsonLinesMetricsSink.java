@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.metrics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 計測値をJSON Lines形式でファイルへ出力するクラスです。
+ * <p>
+ * 計測値は1件毎に1行のJSONオブジェクトとして追記されます。<br>
+ * 出力を終了する際は {@link #close()} を呼び出してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+public final class JsonLinesMetricsSink implements MetricsSink, Closeable {
+
+    /**
+     * 出力先ファイルのパス
+     */
+    @Getter
+    private Path outputPath;
+
+    /**
+     * 出力先ファイルへの書き込みを行うオブジェクト
+     */
+    @ToString.Exclude
+    private BufferedWriter writer;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private JsonLinesMetricsSink() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param outputPath 出力先ファイルのパス
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 出力先ファイルを開けなかった場合
+     */
+    private JsonLinesMetricsSink(@NonNull Path outputPath) {
+        this.outputPath = outputPath;
+
+        try {
+            this.writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 引数として指定されたファイルへ計測値を追記する {@link JsonLinesMetricsSink} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param outputPath 出力先ファイルのパス
+     * @return {@link JsonLinesMetricsSink} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 出力先ファイルを開けなかった場合
+     */
+    public static JsonLinesMetricsSink of(@NonNull Path outputPath) {
+        return new JsonLinesMetricsSink(outputPath);
+    }
+
+    @Override
+    public synchronized void record(@NonNull ExecutionMetric metric) {
+
+        final StringBuilder line = new StringBuilder(256).append('{');
+        appendField(line, "generator", metric.getGeneratorName()).append(',');
+        appendField(line, "filePath", metric.getDefinitionPath().getFilePath()).append(',');
+        appendField(line, "outputPath", metric.getDefinitionPath().getOutputPath()).append(',');
+        appendField(line, "status", metric.getStatus().name()).append(',');
+        line.append("\"startedAt\":").append(metric.getStartedAt()).append(',');
+        line.append("\"wallNanos\":").append(metric.getWallNanos()).append(',');
+        line.append("\"cpuNanos\":").append(metric.getCpuNanos()).append(',');
+        line.append("\"allocatedBytes\":").append(metric.getAllocatedBytes()).append('}');
+
+        try {
+            this.writer.write(line.toString());
+            this.writer.newLine();
+            this.writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.writer.close();
+    }
+
+    /**
+     * 文字列型のフィールドをJSON形式で追加します。
+     *
+     * @param line  追加先
+     * @param name  フィールド名
+     * @param value フィールドの値
+     * @return 追加先
+     */
+    private static StringBuilder appendField(@NonNull StringBuilder line, @NonNull String name,
+            @NonNull String value) {
+
+        line.append('"').append(name).append("\":\"");
+
+        for (int i = 0, length = value.length(); i < length; i++) {
+            final char character = value.charAt(i);
+
+            switch (character) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (character < 0x20) {
+                        line.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        line.append(character);
+                    }
+            }
+        }
+
+        return line.append('"');
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.metrics;
+
+/**
+ * 生成器の実行に関する計測値の出力先を定義したインターフェースです。
+ * <p>
+ * 当インターフェースの実装クラスは {@link GenerationMetrics#addSink(MetricsSink)} で登録してください。<br>
+ * {@link #record(ExecutionMetric)} は生成器を実行したスレッドから呼び出されるため、実装クラスはスレッドセーフである必要があります。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see GenerationMetrics
+ */
+public interface MetricsSink {
+
+    /**
+     * 計測値を記録します。
+     *
+     * @param metric 計測値
+     */
+    public void record(ExecutionMetric metric);
+}
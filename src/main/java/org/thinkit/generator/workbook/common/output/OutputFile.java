@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.output;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 生成されたファイルの出力内容を管理するデータクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see OutputSink
+ */
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode
+public final class OutputFile {
+
+    /**
+     * ピリオド区切りで表現されたパッケージ名
+     */
+    @Getter
+    @ToString.Include
+    private String packageName;
+
+    /**
+     * ファイル名
+     */
+    @Getter
+    @ToString.Include
+    private String fileName;
+
+    /**
+     * ファイルの内容
+     */
+    @Getter
+    private String content;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private OutputFile() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param packageName ピリオド区切りで表現されたパッケージ名
+     * @param fileName    ファイル名
+     * @param content     ファイルの内容
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private OutputFile(@NonNull String packageName, @NonNull String fileName, @NonNull String content) {
+        this.packageName = packageName;
+        this.fileName = fileName;
+        this.content = content;
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link OutputFile} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param packageName ピリオド区切りで表現されたパッケージ名
+     * @param fileName    ファイル名
+     * @param content     ファイルの内容
+     * @return {@link OutputFile} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException ファイル名が空文字列の場合
+     */
+    public static OutputFile of(@NonNull String packageName, @NonNull String fileName, @NonNull String content) {
+
+        if (fileName.isEmpty()) {
+            throw new IllegalArgumentException("ファイル名に空文字列は指定できません。");
+        }
+
+        return new OutputFile(packageName, fileName, content);
+    }
+}
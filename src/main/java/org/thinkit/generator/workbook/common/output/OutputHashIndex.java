@@ -0,0 +1,360 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.output;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.flogger.FluentLogger;
+import com.google.common.hash.Hashing;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 出力先のディレクトリに書き込んだファイルのハッシュ値を記録するインデックスを管理するクラスです。
+ * <p>
+ * インデックスは出力先のディレクトリと同じ階層に {@code <ディレクトリ名>}{@value #FILE_SUFFIX} という名前で保存されます。<br>
+ * 各エントリはハッシュ値と記録時のファイルサイズ、最終更新日時を保持し、<br>
+ * ファイルサイズと最終更新日時が記録時と一致する場合のみ記録されたハッシュ値が有効となります。
+ * <p>
+ * インデックスは出力先のディレクトリ毎に1つのインスタンスが共有されます。<br>
+ * 当クラスはスレッドセーフであり、並列に実行される生成器から同時に参照、更新することができます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see WriteMode#HASH_INDEX
+ */
+@ToString
+public final class OutputHashIndex {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * インデックスファイル名の接尾辞
+     */
+    public static final String FILE_SUFFIX = ".output-hashes";
+
+    /**
+     * インデックスの値の区切り文字
+     */
+    private static final String VALUE_DELIMITER = ",";
+
+    /**
+     * インデックスの値の要素数
+     */
+    private static final int VALUE_ELEMENT_COUNT = 3;
+
+    /**
+     * 出力先のディレクトリ毎のインデックスを保持するインナークラスです。
+     */
+    private static class IndexHolder {
+
+        /**
+         * 出力先のディレクトリ毎のインデックス
+         */
+        private static final Map<Path, OutputHashIndex> INDEXES = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 出力先のディレクトリ
+     */
+    @Getter
+    private Path baseDirectory;
+
+    /**
+     * インデックスファイルのパス
+     */
+    @Getter
+    private Path indexPath;
+
+    /**
+     * インデックスのエントリ
+     */
+    @ToString.Exclude
+    private final Map<String, HashEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 前回の保存以降にエントリが更新されたか否か
+     */
+    private volatile boolean modified = false;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private OutputHashIndex() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param baseDirectory 出力先のディレクトリ
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private OutputHashIndex(@NonNull Path baseDirectory) {
+        this.baseDirectory = baseDirectory;
+        this.indexPath = baseDirectory.resolveSibling(baseDirectory.getFileName() + FILE_SUFFIX);
+    }
+
+    /**
+     * 引数として指定された出力先のディレクトリのインデックスを返却します。<br>
+     * インデックスは初回呼び出し時にインデックスファイルから読み込まれ、以降は同一のインスタンスが返却されます。
+     *
+     * @param outputDirectory 出力先のディレクトリ
+     * @return インデックス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @exception UncheckedIOException インデックスファイルの読み込みに失敗した場合
+     */
+    public static OutputHashIndex forDirectory(@NonNull Path outputDirectory) {
+        return IndexHolder.INDEXES.computeIfAbsent(outputDirectory.toAbsolutePath().normalize(),
+                OutputHashIndex::load);
+    }
+
+    /**
+     * 読み込み済みの全てのインデックスを破棄します。<br>
+     * 次回の {@link #forDirectory(Path)} 呼び出し時にインデックスファイルが再度読み込まれます。
+     */
+    public static void clear() {
+        IndexHolder.INDEXES.clear();
+    }
+
+    /**
+     * 引数として指定されたバイト列のハッシュ値を返却します。
+     *
+     * @param bytes バイト列
+     * @return SHA-256 形式のハッシュ値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static String hash(@NonNull byte[] bytes) {
+        return Hashing.sha256().hashBytes(bytes).toString();
+    }
+
+    /**
+     * 引数として指定されたファイルの記録されたハッシュ値を返却します。<br>
+     * ハッシュ値が記録されていない場合、またはファイルが記録時から変更されている場合は空の {@link Optional} を返却します。
+     *
+     * @param filePath ファイルのパス
+     * @return 記録されたハッシュ値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @exception UncheckedIOException ファイルの属性の取得に失敗した場合
+     */
+    public Optional<String> getVerifiedHash(@NonNull Path filePath) {
+
+        final HashEntry hashEntry = this.entries.get(this.toKey(filePath));
+
+        if (hashEntry == null) {
+            return Optional.empty();
+        }
+
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+
+            if (attributes.size() != hashEntry.getSize()
+                    || attributes.lastModifiedTime().toMillis() != hashEntry.getLastModified()) {
+                return Optional.empty();
+            }
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return Optional.of(hashEntry.getHash());
+    }
+
+    /**
+     * 引数として指定されたファイルのハッシュ値を現在のファイルサイズと最終更新日時とともに記録します。
+     *
+     * @param filePath ファイルのパス
+     * @param hash     ハッシュ値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @exception UncheckedIOException ファイルの属性の取得に失敗した場合
+     */
+    public void put(@NonNull Path filePath, @NonNull String hash) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+            final HashEntry hashEntry = new HashEntry(attributes.size(), attributes.lastModifiedTime().toMillis(),
+                    hash);
+
+            if (!hashEntry.equals(this.entries.put(this.toKey(filePath), hashEntry))) {
+                this.modified = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * インデックスをファイルへ保存します。<br>
+     * 保存は一時ファイルへ書き込んだ後に置き換えることで行われるため、保存中に処理が中断された場合でも既存のインデックスは破損しません。<br>
+     * 前回の保存以降にエントリが更新されていない場合は保存を行いません。
+     *
+     * @exception UncheckedIOException インデックスファイルの保存に失敗した場合
+     */
+    public synchronized void save() {
+
+        if (!this.modified) {
+            return;
+        }
+
+        this.modified = false;
+
+        final Properties properties = new Properties();
+
+        this.entries.forEach((key, hashEntry) -> {
+            properties.setProperty(key, String.join(VALUE_DELIMITER, String.valueOf(hashEntry.getSize()),
+                    String.valueOf(hashEntry.getLastModified()), hashEntry.getHash()));
+        });
+
+        try {
+            Files.createDirectories(this.indexPath.getParent());
+
+            final Path temporaryPath = Files.createTempFile(this.indexPath.getParent(),
+                    this.indexPath.getFileName().toString(), ".tmp");
+
+            try (OutputStream outputStream = Files.newOutputStream(temporaryPath)) {
+                properties.store(outputStream, null);
+            }
+
+            Files.move(temporaryPath, this.indexPath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            this.modified = true;
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された出力先のディレクトリのインデックスファイルを読み込みます。<br>
+     * インデックスファイルが存在しない場合は空のインデックスを返却します。<br>
+     * 形式が不正なエントリは読み飛ばされます。
+     *
+     * @param baseDirectory 出力先のディレクトリ
+     * @return インデックス
+     *
+     * @exception UncheckedIOException インデックスファイルの読み込みに失敗した場合
+     */
+    private static OutputHashIndex load(@NonNull Path baseDirectory) {
+
+        final OutputHashIndex index = new OutputHashIndex(baseDirectory);
+
+        if (!Files.exists(index.indexPath)) {
+            return index;
+        }
+
+        final Properties properties = new Properties();
+
+        try (InputStream inputStream = Files.newInputStream(index.indexPath)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        for (String key : properties.stringPropertyNames()) {
+            final String[] values = properties.getProperty(key).split(VALUE_DELIMITER, VALUE_ELEMENT_COUNT);
+
+            if (values.length != VALUE_ELEMENT_COUNT) {
+                logger.atWarning().log("インデックスの形式が不正なエントリを読み飛ばします。キー = (%s)", key);
+                continue;
+            }
+
+            try {
+                index.entries.put(key,
+                        new HashEntry(Long.parseLong(values[0]), Long.parseLong(values[1]), values[2]));
+            } catch (NumberFormatException e) {
+                logger.atWarning().log("インデックスの形式が不正なエントリを読み飛ばします。キー = (%s)", key);
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * 引数として指定されたファイルのパスからインデックスのキーを生成し返却します。<br>
+     * 出力先のディレクトリ配下のファイルは出力先のディレクトリからの相対パスをキーとします。
+     *
+     * @param filePath ファイルのパス
+     * @return インデックスのキー
+     */
+    private String toKey(@NonNull Path filePath) {
+
+        final Path normalizedPath = filePath.toAbsolutePath().normalize();
+
+        if (normalizedPath.startsWith(this.baseDirectory)) {
+            return this.baseDirectory.relativize(normalizedPath).toString();
+        }
+
+        return normalizedPath.toString();
+    }
+
+    /**
+     * インデックスのエントリを管理するデータクラスです。
+     */
+    @Getter
+    @EqualsAndHashCode
+    private static final class HashEntry {
+
+        /**
+         * 記録時のファイルサイズ
+         */
+        private final long size;
+
+        /**
+         * 記録時の最終更新日時(エポックミリ秒)
+         */
+        private final long lastModified;
+
+        /**
+         * ハッシュ値
+         */
+        private final String hash;
+
+        /**
+         * コンストラクタ
+         *
+         * @param size         記録時のファイルサイズ
+         * @param lastModified 記録時の最終更新日時(エポックミリ秒)
+         * @param hash         ハッシュ値
+         */
+        private HashEntry(long size, long lastModified, @NonNull String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+    }
+}
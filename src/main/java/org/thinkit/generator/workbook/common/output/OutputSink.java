@@ -0,0 +1,691 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.workbook.common.DefinitionPath;
+import org.thinkit.generator.workbook.common.trace.OutputWriteEvent;
+import org.thinkit.generator.workbook.common.trace.TraceContext;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 生成されたファイルを書き込み用のスレッドでまとめて出力するクラスです。
+ * <p>
+ * 生成器は {@link #submit(String, String, String)} で出力内容を登録するのみで、ファイルの書き込みは全ての {@link OutputSink}
+ * で共有される上限付きの書き込みスレッドで行われます。<br>
+ * 1つの {@link OutputSink} に登録された出力内容は登録順に1件ずつ書き込まれます。<br>
+ * 登録された出力内容が未処理のまま上限数に達した場合は、書き込みが進むまで登録処理が待機します。
+ * <p>
+ * ファイルは同一のディレクトリの一時ファイルへ書き込んだ後に置き換えるため、書き込み中に処理が中断された場合でも内容が途中までのファイルは残りません。
+ * <p>
+ * 出力先に同一の内容のファイルが既に存在するかは {@link WriteMode} に従って判定され、<br>
+ * 同一の内容のファイルが存在する場合は書き込みを行わないため、ファイルの更新日時は変更されません。
+ * <p>
+ * {@link #flush()} は呼び出し時点までに登録された全ての出力内容の書き込みが完了するまで待機し、<br>
+ * 書き込みに失敗した出力内容が存在する場合は例外を送出します。<br>
+ * 使用後は必ず {@link #close()} を呼び出してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see OutputFile
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class OutputSink implements Closeable {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 未処理の出力内容の既定の上限数
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * 1度にまとめて処理する出力内容の最大数
+     */
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * 全ての {@link OutputSink} で共有する書き込みスレッドの数
+     */
+    private static final int WRITER_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * パッケージ名から出力先のディレクトリを取得する関数
+     */
+    private Function<String, Path> directoryResolver;
+
+    /**
+     * 書き込み方法
+     */
+    @ToString.Include
+    private WriteMode writeMode;
+
+    /**
+     * 書き込んだファイルのハッシュ値を記録するインデックス
+     */
+    private OutputHashIndex hashIndex;
+
+    /**
+     * 出力時の文字コード
+     */
+    private Charset charset;
+
+    /**
+     * 未処理の出力内容
+     */
+    private BlockingQueue<Entry> queue;
+
+    /**
+     * 書き込み処理が共有の書き込みスレッドへ登録済みか否か
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * 出力内容を登録した生成器の情報
+     */
+    private TraceContext traceContext;
+
+    /**
+     * 書き込んだファイル数
+     */
+    @ToString.Include
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    /**
+     * 内容が同一のため書き込みを省略したファイル数
+     */
+    @ToString.Include
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    /**
+     * 書き込み、または書き込みを省略した出力ファイルのパスの一覧
+     */
+    private final Queue<Path> outputFiles = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 書き込み時に発生した例外の一覧
+     */
+    private final List<Throwable> failures = new ArrayList<>();
+
+    /**
+     * クローズ済みか否か
+     */
+    @ToString.Include
+    private volatile boolean closed = false;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private OutputSink() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param directoryResolver パッケージ名から出力先のディレクトリを取得する関数
+     * @param capacity          未処理の出力内容の上限数
+     * @param writeMode         書き込み方法
+     * @param hashIndex         書き込んだファイルのハッシュ値を記録するインデックス
+     *
+     * @exception NullPointerException     {@code hashIndex} 以外の引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 上限数が1未満の場合
+     */
+    private OutputSink(@NonNull Function<String, Path> directoryResolver, int capacity,
+            @NonNull WriteMode writeMode, OutputHashIndex hashIndex) {
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("上限数には1以上の値を指定してください。上限数 = (%s)", capacity));
+        }
+
+        this.directoryResolver = directoryResolver;
+        this.writeMode = writeMode;
+        this.hashIndex = hashIndex;
+        this.charset = StandardCharsets.UTF_8;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.traceContext = TraceContext.current();
+    }
+
+    /**
+     * 引数として指定された定義の出力先へ書き込む {@link OutputSink} クラスの新しいインスタンスを生成し返却します。<br>
+     * 書き込み方法は {@link WriteMode#getDefault()} が返却する値となります。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return {@link OutputSink} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static OutputSink of(@NonNull DefinitionPath definitionPath) {
+        return of(definitionPath, WriteMode.getDefault());
+    }
+
+    /**
+     * 引数として指定された定義の出力先へ指定された書き込み方法で書き込む {@link OutputSink} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param writeMode      書き込み方法
+     * @return {@link OutputSink} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static OutputSink of(@NonNull DefinitionPath definitionPath, @NonNull WriteMode writeMode) {
+        return of(definitionPath::resolvePackage, DEFAULT_CAPACITY, writeMode, definitionPath.getOutputDirectory());
+    }
+
+    /**
+     * 引数として指定された関数で取得したディレクトリへ書き込む {@link OutputSink} クラスの新しいインスタンスを生成し返却します。<br>
+     * 関数が返却するディレクトリは作成済みである必要があります。<br>
+     * 書き込み方法は {@link WriteMode#COMPARE_CONTENT} となります。
+     *
+     * @param directoryResolver パッケージ名から出力先のディレクトリを取得する関数
+     * @param capacity          未処理の出力内容の上限数
+     * @return {@link OutputSink} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 上限数が1未満の場合
+     */
+    public static OutputSink of(@NonNull Function<String, Path> directoryResolver, int capacity) {
+        return new OutputSink(directoryResolver, capacity, WriteMode.COMPARE_CONTENT, null);
+    }
+
+    /**
+     * 引数として指定された関数で取得したディレクトリへ指定された書き込み方法で書き込む {@link OutputSink}
+     * クラスの新しいインスタンスを生成し返却します。<br>
+     * 関数が返却するディレクトリは作成済みである必要があります。<br>
+     * 書き込み方法が {@link WriteMode#HASH_INDEX} の場合は出力先のディレクトリの {@link OutputHashIndex} を使用し、<br>
+     * {@link #close()} の呼び出し時にインデックスを保存します。
+     *
+     * @param directoryResolver パッケージ名から出力先のディレクトリを取得する関数
+     * @param capacity          未処理の出力内容の上限数
+     * @param writeMode         書き込み方法
+     * @param outputDirectory   出力先のディレクトリ
+     * @return {@link OutputSink} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 上限数が1未満の場合
+     * @exception UncheckedIOException     インデックスファイルの読み込みに失敗した場合
+     */
+    public static OutputSink of(@NonNull Function<String, Path> directoryResolver, int capacity,
+            @NonNull WriteMode writeMode, @NonNull Path outputDirectory) {
+        return new OutputSink(directoryResolver, capacity, writeMode,
+                writeMode == WriteMode.HASH_INDEX ? OutputHashIndex.forDirectory(outputDirectory) : null);
+    }
+
+    /**
+     * 引数として指定された出力内容を登録します。<br>
+     * 未処理の出力内容が上限数に達している場合は空きができるまで待機します。
+     *
+     * @param packageName ピリオド区切りで表現されたパッケージ名
+     * @param fileName    ファイル名
+     * @param content     ファイルの内容
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException ファイル名が空文字列の場合
+     * @exception IllegalStateException    クローズ済みの場合、または待機中に割り込まれた場合
+     */
+    public void submit(@NonNull String packageName, @NonNull String fileName, @NonNull String content) {
+        this.submit(OutputFile.of(packageName, fileName, content));
+    }
+
+    /**
+     * 引数として指定された出力内容を登録します。<br>
+     * 未処理の出力内容が上限数に達している場合は空きができるまで待機します。
+     *
+     * @param outputFile 出力内容
+     *
+     * @exception NullPointerException  引数として {@code null} が渡された場合
+     * @exception IllegalStateException クローズ済みの場合、または待機中に割り込まれた場合
+     */
+    public void submit(@NonNull OutputFile outputFile) {
+
+        if (this.closed) {
+            throw new IllegalStateException("クローズ済みのため出力内容を登録できません。");
+        }
+
+        this.put(new Entry(outputFile, null));
+    }
+
+    /**
+     * 呼び出し時点までに登録された全ての出力内容の書き込みが完了するまで待機します。<br>
+     * 書き込み中に {@link Error} が発生していた場合は、待機の解除後にその {@link Error} を送出します。
+     *
+     * @exception UncheckedIOException  書き込みに失敗した出力内容が存在する場合
+     * @exception IllegalStateException クローズ済みの場合、または待機中に割り込まれた場合
+     */
+    public void flush() {
+
+        if (this.closed) {
+            throw new IllegalStateException("クローズ済みのため書き込みを待機できません。");
+        }
+
+        final CountDownLatch barrier = new CountDownLatch(1);
+        this.put(new Entry(null, barrier));
+
+        try {
+            barrier.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("書き込みの待機中に割り込まれました。", e);
+        }
+
+        this.throwIfFailed();
+    }
+
+    /**
+     * 登録済みの全ての出力内容の書き込みが完了するまで待機した後、クローズします。<br>
+     * {@link OutputHashIndex} を使用している場合は全ての書き込みが成功した場合のみインデックスを保存します。
+     *
+     * @exception UncheckedIOException  書き込みに失敗した出力内容が存在する場合
+     * @exception IllegalStateException 待機中に割り込まれた場合
+     */
+    @Override
+    public void close() {
+
+        if (this.closed) {
+            return;
+        }
+
+        try {
+            this.flush();
+
+            if (this.hashIndex != null) {
+                this.hashIndex.save();
+            }
+        } finally {
+            this.closed = true;
+        }
+    }
+
+    /**
+     * 書き込んだファイル数を返却します。
+     *
+     * @return 書き込んだファイル数
+     */
+    public long getWrittenCount() {
+        return this.writtenCount.get();
+    }
+
+    /**
+     * 内容が同一のため書き込みを省略したファイル数を返却します。
+     *
+     * @return 書き込みを省略したファイル数
+     */
+    public long getSkippedCount() {
+        return this.skippedCount.get();
+    }
+
+    /**
+     * 書き込み、または内容が同一のため書き込みを省略した出力ファイルのパスの一覧を返却します。<br>
+     * 全ての出力内容が書き込まれたことを保証するため {@link #close()} の後に呼び出してください。
+     *
+     * @return 出力ファイルのパスの一覧
+     */
+    public List<Path> getOutputFiles() {
+        return List.copyOf(this.outputFiles);
+    }
+
+    /**
+     * 引数として指定された要素を未処理の出力内容へ追加します。
+     *
+     * @param entry 要素
+     *
+     * @exception IllegalStateException 待機中に割り込まれた場合
+     */
+    private void put(@NonNull Entry entry) {
+
+        try {
+            this.queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("出力内容の登録中に割り込まれました。", e);
+        }
+
+        this.schedule();
+    }
+
+    /**
+     * 書き込み処理が登録されていない場合は共有の書き込みスレッドへ登録します。
+     */
+    private void schedule() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            WriterPool.EXECUTOR.execute(this::drain);
+        }
+    }
+
+    /**
+     * 書き込み時に発生した例外が存在する場合は送出します。<br>
+     * 2件目以降の例外は1件目の例外の抑制された例外として設定されます。
+     *
+     * @exception RuntimeException 書き込み時に例外が発生していた場合
+     * @exception Error            書き込み時にエラーが発生していた場合
+     */
+    private void throwIfFailed() {
+        synchronized (this.failures) {
+            if (this.failures.isEmpty()) {
+                return;
+            }
+
+            final Throwable failure = this.failures.get(0);
+            this.failures.subList(1, this.failures.size()).forEach(failure::addSuppressed);
+            this.failures.clear();
+
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+
+            throw (RuntimeException) failure;
+        }
+    }
+
+    /**
+     * 共有の書き込みスレッドで実行される書き込み処理です。<br>
+     * 未処理の出力内容を最大 {@value #BATCH_SIZE} 件取り出して書き込み、未処理の出力内容が残っている場合は再度登録します。<br>
+     * {@value #BATCH_SIZE} 件毎に書き込みスレッドを明け渡すことで、出力内容の多い {@link OutputSink} が他の {@link OutputSink} の書き込みを妨げないようにします。
+     */
+    private void drain() {
+
+        final List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+
+        try {
+            this.queue.drainTo(batch, BATCH_SIZE);
+
+            for (Entry entry : batch) {
+                if (entry.getBarrier() != null) {
+                    entry.getBarrier().countDown();
+                } else {
+                    this.write(entry.getOutputFile());
+                }
+            }
+        } finally {
+            this.scheduled.set(false);
+
+            if (!this.queue.isEmpty()) {
+                this.schedule();
+            }
+        }
+    }
+
+    /**
+     * 引数として指定された出力内容をファイルへ書き込みます。<br>
+     * 出力先に同一の内容のファイルが存在する場合は書き込みを省略します。<br>
+     * 書き込みは生成器の情報と共に {@link OutputWriteEvent} として記録されます。
+     *
+     * @param outputFile 出力内容
+     */
+    private void write(@NonNull OutputFile outputFile) {
+
+        final OutputWriteEvent outputWriteEvent = new OutputWriteEvent();
+        outputWriteEvent.begin();
+
+        try {
+            final Path filePath = this.directoryResolver.apply(outputFile.getPackageName())
+                    .resolve(outputFile.getFileName());
+            final byte[] bytes = outputFile.getContent().getBytes(this.charset);
+            final boolean written = this.writeMode == WriteMode.HASH_INDEX ? this.writeWithHashIndex(filePath, bytes)
+                    : this.writeIfChanged(filePath, bytes);
+
+            this.outputFiles.add(filePath);
+            outputWriteEvent.complete(this.traceContext, filePath.toString(), bytes.length, written);
+        } catch (IOException e) {
+            this.addFailure(new UncheckedIOException(e));
+        } catch (Throwable e) {
+            // Error を送出すると後続の flush() の待機が解除されないため、全て記録して呼び出し元で送出する
+            this.addFailure(e);
+        }
+    }
+
+    /**
+     * 引数として指定されたバイト列をファイルへ書き込みます。<br>
+     * 書き込み方法が {@link WriteMode#COMPARE_CONTENT} の場合は既存のファイルの内容と比較し、異なる場合のみ書き込みます。
+     *
+     * @param filePath ファイルのパス
+     * @param bytes    バイト列
+     * @return 書き込んだ場合は {@code true} 、書き込みを省略した場合は {@code false}
+     *
+     * @throws IOException ファイルの読み込み、または書き込みに失敗した場合
+     */
+    private boolean writeIfChanged(@NonNull Path filePath, @NonNull byte[] bytes) throws IOException {
+
+        if (this.writeMode == WriteMode.COMPARE_CONTENT && isUnchanged(filePath, bytes)) {
+            this.skip(filePath);
+            return false;
+        }
+
+        writeAtomically(filePath, bytes);
+        this.writtenCount.incrementAndGet();
+
+        return true;
+    }
+
+    /**
+     * 引数として指定されたバイト列のハッシュ値を {@link OutputHashIndex} に記録されたハッシュ値と比較し、異なる場合のみファイルへ書き込みます。<br>
+     * ファイルが記録時から変更されている場合、またはハッシュ値が記録されていない場合は既存のファイルの内容と比較します。
+     *
+     * @param filePath ファイルのパス
+     * @param bytes    バイト列
+     * @return 書き込んだ場合は {@code true} 、書き込みを省略した場合は {@code false}
+     *
+     * @throws IOException ファイルの読み込み、または書き込みに失敗した場合
+     */
+    private boolean writeWithHashIndex(@NonNull Path filePath, @NonNull byte[] bytes) throws IOException {
+
+        final String hash = OutputHashIndex.hash(bytes);
+        final Optional<String> verifiedHash = this.hashIndex.getVerifiedHash(filePath);
+
+        if (verifiedHash.isPresent() ? verifiedHash.get().equals(hash) : isUnchanged(filePath, bytes)) {
+            if (verifiedHash.isEmpty()) {
+                this.hashIndex.put(filePath, hash);
+            }
+
+            this.skip(filePath);
+            return false;
+        }
+
+        writeAtomically(filePath, bytes);
+        this.hashIndex.put(filePath, hash);
+        this.writtenCount.incrementAndGet();
+
+        return true;
+    }
+
+    /**
+     * 引数として指定されたファイルの書き込みを省略したことを記録します。
+     *
+     * @param filePath ファイルのパス
+     */
+    private void skip(@NonNull Path filePath) {
+        this.skippedCount.incrementAndGet();
+        logger.atFine().log("内容に変更がないため書き込みを省略しました。出力先 = (%s)", filePath);
+    }
+
+    /**
+     * 引数として指定された例外を書き込み時に発生した例外として記録します。
+     *
+     * @param failure 例外
+     */
+    private void addFailure(@NonNull Throwable failure) {
+        logger.atWarning().withCause(failure).log("ファイルの書き込みに失敗しました。");
+
+        synchronized (this.failures) {
+            this.failures.add(failure);
+        }
+    }
+
+    /**
+     * 引数として指定されたバイト列を同一のディレクトリの一時ファイルへ書き込んだ後に、ファイルを置き換えます。<br>
+     * ファイルシステムが不可分な移動に対応していない場合は通常の置き換えを行います。
+     *
+     * @param filePath ファイルのパス
+     * @param bytes    バイト列
+     *
+     * @throws IOException 書き込み、または置き換えに失敗した場合
+     */
+    private static void writeAtomically(@NonNull Path filePath, @NonNull byte[] bytes) throws IOException {
+
+        final Path temporaryPath = filePath.resolveSibling(String.format(".%s.%016x.tmp", filePath.getFileName(),
+                ThreadLocalRandom.current().nextLong()));
+
+        try {
+            Files.write(temporaryPath, bytes, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+            try {
+                Files.move(temporaryPath, filePath, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temporaryPath);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * 引数として指定されたファイルの内容が指定されたバイト列と同一か判定します。
+     *
+     * @param filePath ファイルのパス
+     * @param bytes    バイト列
+     * @return 同一の場合は {@code true} 、それ以外は {@code false}
+     *
+     * @throws IOException ファイルの読み込みに失敗した場合
+     */
+    private static boolean isUnchanged(@NonNull Path filePath, @NonNull byte[] bytes) throws IOException {
+        try {
+            return Files.size(filePath) == bytes.length && Arrays.equals(Files.readAllBytes(filePath), bytes);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 全ての {@link OutputSink} で共有する書き込みスレッドを保持するクラスです。<br>
+     * 書き込みスレッドは利用可能なプロセッサ数を上限として必要に応じて生成され、一定時間使用されない場合は終了します。
+     */
+    private static final class WriterPool {
+
+        /**
+         * 共有の書き込みスレッド
+         */
+        private static final ExecutorService EXECUTOR = createExecutor();
+
+        /**
+         * 共有の書き込みスレッドを生成し返却します。
+         *
+         * @return 共有の書き込みスレッド
+         */
+        private static ExecutorService createExecutor() {
+
+            final AtomicInteger threadNumber = new AtomicInteger();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(WRITER_THREADS, WRITER_THREADS, 60L,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        final Thread thread = new Thread(runnable,
+                                "generator-output-sink-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+
+            return executor;
+        }
+    }
+
+    /**
+     * 未処理の出力内容の要素を管理するデータクラスです。<br>
+     * 出力内容または書き込みの完了を待機するための同期オブジェクトのいずれかを保持します。
+     */
+    private static final class Entry {
+
+        /**
+         * 出力内容
+         */
+        private final OutputFile outputFile;
+
+        /**
+         * 書き込みの完了を待機するための同期オブジェクト
+         */
+        private final CountDownLatch barrier;
+
+        /**
+         * コンストラクタ
+         *
+         * @param outputFile 出力内容
+         * @param barrier    書き込みの完了を待機するための同期オブジェクト
+         */
+        private Entry(OutputFile outputFile, CountDownLatch barrier) {
+            this.outputFile = outputFile;
+            this.barrier = barrier;
+        }
+
+        /**
+         * 出力内容を返却します。
+         *
+         * @return 出力内容
+         */
+        private OutputFile getOutputFile() {
+            return this.outputFile;
+        }
+
+        /**
+         * 書き込みの完了を待機するための同期オブジェクトを返却します。
+         *
+         * @return 同期オブジェクト
+         */
+        private CountDownLatch getBarrier() {
+            return this.barrier;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.output;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.flogger.FluentLogger;
+
+/**
+ * 生成されたファイルの書き込み方法を管理するEnumクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see OutputSink
+ */
+public enum WriteMode {
+
+    /**
+     * 内容に関わらず常に書き込みます。
+     */
+    ALWAYS,
+
+    /**
+     * 既存のファイルを読み込み、内容が異なる場合のみ書き込みます。
+     */
+    COMPARE_CONTENT,
+
+    /**
+     * 生成された内容のハッシュ値を {@link OutputHashIndex} に記録されたハッシュ値と比較し、内容が異なる場合のみ書き込みます。<br>
+     * 既存のファイルが記録時から変更されていない場合は既存のファイルを読み込まずに判定します。
+     * <p>
+     * {@link OutputHashIndex} は出力先のディレクトリと同じ階層にファイルを作成するため、明示的に指定された場合のみ使用します。
+     */
+    HASH_INDEX;
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 書き込み方法を指定するシステムプロパティ名
+     */
+    public static final String PROPERTY = "org.thinkit.generator.workbook.writeMode";
+
+    /**
+     * システムプロパティ {@value #PROPERTY} で指定された書き込み方法を返却します。<br>
+     * 書き込み方法の名前は大文字と小文字を区別しません。<br>
+     * システムプロパティが指定されていない場合、または不正な値が指定された場合は {@link #COMPARE_CONTENT} を返却します。
+     *
+     * @return 書き込み方法
+     */
+    public static WriteMode getDefault() {
+
+        final String writeMode = System.getProperty(PROPERTY);
+
+        if (writeMode == null) {
+            return COMPARE_CONTENT;
+        }
+
+        for (WriteMode candidate : values()) {
+            if (candidate.name().equalsIgnoreCase(writeMode.trim())) {
+                return candidate;
+            }
+        }
+
+        logger.atWarning().atMostEvery(1, TimeUnit.MINUTES).log(
+                "書き込み方法に不正な値が指定されたため %s を使用します。システムプロパティ = (%s), 値 = (%s)", COMPARE_CONTENT, PROPERTY,
+                writeMode);
+
+        return COMPARE_CONTENT;
+    }
+}
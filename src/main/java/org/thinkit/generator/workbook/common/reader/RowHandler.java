@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.reader;
+
+/**
+ * シートから読み込んだ行を1行ずつ処理する処理を定義したインターフェースです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see WorkbookReader#read(org.thinkit.generator.workbook.common.Sheet, RowHandler)
+ */
+@FunctionalInterface
+public interface RowHandler {
+
+    /**
+     * 読み込んだ行を処理します。<br>
+     * {@code false} を返却した場合はシートの読み込みを終了します。
+     *
+     * @param row 読み込んだ行
+     * @return 読み込みを継続する場合は {@code true} 、終了する場合は {@code false}
+     */
+    public boolean handle(WorkbookRow row);
+}
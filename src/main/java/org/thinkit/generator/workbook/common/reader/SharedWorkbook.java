@@ -0,0 +1,253 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package org.thinkit.generator.workbook.common.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.flogger.FluentLogger;
+
+import org.thinkit.generator.workbook.common.Sheet;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 同一の定義書を読み込む処理の間で {@link WorkbookReader} を共有するクラスです。
+ * <p>
+ * {@link #acquire(Path)} で取得したオブジェクトが1つでもクローズされずに残っている間は、同一の定義書に対して同一の
+ * {@link WorkbookReader} が使用されます。<br>
+ * そのため複数のシートを並列に解析する場合でも、ブックのアーカイブを開く処理と共有文字列テーブルの解析は定義書毎に1度のみ行われます。<br>
+ * 定義書のファイルサイズまたは最終更新日時が変更された場合は別の定義書として扱われます。
+ * <p>
+ * {@link WorkbookReader} は初回の {@link #read(Sheet, RowHandler)} の呼び出し時に開かれ、全てのオブジェクトがクローズされた時点でクローズされます。<br>
+ * {@link WorkbookReader#isConcurrentReadSupported()} が {@code false} を返却する場合、シートの読み込みは1つずつ行われます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see SheetDataCache
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class SharedWorkbook implements Closeable {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 定義書の属性毎の共有中の {@link WorkbookReader}
+     */
+    private static final Map<SheetDataStore.FileStamp, Entry> ENTRIES = new HashMap<>();
+
+    /**
+     * 共有中の {@link WorkbookReader}
+     */
+    @ToString.Include
+    private Entry entry;
+
+    /**
+     * クローズ済みか否か
+     */
+    private boolean closed = false;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private SharedWorkbook() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param entry 共有中の {@link WorkbookReader}
+     */
+    private SharedWorkbook(@NonNull Entry entry) {
+        this.entry = entry;
+    }
+
+    /**
+     * 引数として指定された定義書の {@link WorkbookReader} を共有する {@link SharedWorkbook} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param filePath 定義書のパス
+     * @return {@link SharedWorkbook} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 定義書の属性の取得に失敗した場合
+     */
+    public static SharedWorkbook acquire(@NonNull Path filePath) {
+        try {
+            return acquire(SheetDataStore.FileStamp.of(filePath));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された属性を持つ定義書の {@link WorkbookReader} を共有する {@link SharedWorkbook}
+     * クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param fileStamp 定義書の属性
+     * @return {@link SharedWorkbook} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static SharedWorkbook acquire(@NonNull SheetDataStore.FileStamp fileStamp) {
+        synchronized (ENTRIES) {
+            final Entry entry = ENTRIES.computeIfAbsent(fileStamp, Entry::new);
+            entry.references++;
+            return new SharedWorkbook(entry);
+        }
+    }
+
+    /**
+     * 引数として指定されたシートを共有中の {@link WorkbookReader} で1行ずつ読み込み、読み込んだ行を {@link RowHandler} へ渡します。
+     *
+     * @param sheet   読み込むシート
+     * @param handler 読み込んだ行を処理するオブジェクト
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalStateException    クローズ済みの場合
+     * @exception IllegalArgumentException 指定されたシートがブックに存在しない場合、または定義書の形式に対応する
+     *                                     {@link WorkbookReader} が存在しない場合
+     * @exception UncheckedIOException     ブックの読み込みに失敗した場合
+     */
+    public void read(@NonNull Sheet sheet, @NonNull RowHandler handler) {
+
+        synchronized (this) {
+            if (this.closed) {
+                throw new IllegalStateException("クローズ済みのため定義書を読み込めません。");
+            }
+        }
+
+        final WorkbookReader reader = this.entry.getReader();
+
+        if (reader.isConcurrentReadSupported()) {
+            reader.read(sheet, handler);
+        } else {
+            synchronized (reader) {
+                reader.read(sheet, handler);
+            }
+        }
+    }
+
+    /**
+     * 共有を終了します。<br>
+     * 同一の定義書を共有する全てのオブジェクトがクローズされた場合は {@link WorkbookReader} をクローズします。
+     */
+    @Override
+    public void close() {
+
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+        }
+
+        synchronized (ENTRIES) {
+            if (--this.entry.references > 0) {
+                return;
+            }
+
+            ENTRIES.remove(this.entry.fileStamp, this.entry);
+        }
+
+        this.entry.close();
+    }
+
+    /**
+     * 定義書毎に共有される {@link WorkbookReader} と参照数を管理するクラスです。
+     */
+    @ToString(onlyExplicitlyIncluded = true)
+    private static final class Entry {
+
+        /**
+         * 定義書の属性
+         */
+        @ToString.Include
+        private final SheetDataStore.FileStamp fileStamp;
+
+        /**
+         * 参照数({@link SharedWorkbook#ENTRIES} で排他制御される)
+         */
+        @ToString.Include
+        private int references = 0;
+
+        /**
+         * 定義書を読み込むオブジェクト(未使用の場合は {@code null})
+         */
+        private WorkbookReader reader = null;
+
+        /**
+         * クローズ済みか否か
+         */
+        private boolean closed = false;
+
+        /**
+         * コンストラクタ
+         *
+         * @param fileStamp 定義書の属性
+         */
+        private Entry(@NonNull SheetDataStore.FileStamp fileStamp) {
+            this.fileStamp = fileStamp;
+        }
+
+        /**
+         * 定義書を読み込むオブジェクトを返却します。初回呼び出し時に定義書を開きます。
+         *
+         * @return 定義書を読み込むオブジェクト
+         *
+         * @exception IllegalArgumentException 定義書の形式に対応する {@link WorkbookReader} が存在しない場合
+         * @exception UncheckedIOException     定義書を開けなかった場合
+         */
+        private synchronized WorkbookReader getReader() {
+
+            if (this.reader == null) {
+                this.reader = WorkbookReaders.open(this.fileStamp.getFilePath());
+            }
+
+            return this.reader;
+        }
+
+        /**
+         * 定義書を読み込むオブジェクトをクローズします。クローズに失敗した場合は記録のみ行います。
+         */
+        private synchronized void close() {
+
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+
+            if (this.reader != null) {
+                try {
+                    this.reader.close();
+                } catch (IOException e) {
+                    logger.atWarning().withCause(e).log("定義書のクローズに失敗しました。定義書 = (%s)", this.fileStamp.getFilePath());
+                }
+            }
+        }
+    }
+}
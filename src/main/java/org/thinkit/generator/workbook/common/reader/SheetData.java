@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.reader;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義書の1シート分の解析結果を管理するデータクラスです。
+ * <p>
+ * 解析結果は変更できないため、複数の生成器から同時に参照することができます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see SheetDataCache
+ */
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode
+public final class SheetData {
+
+    /**
+     * 1行あたりの固定のメモリ使用量の見積もり(バイト)
+     */
+    private static final long ROW_OVERHEAD_BYTES = 64L;
+
+    /**
+     * 1セルあたりの固定のメモリ使用量の見積もり(バイト)
+     */
+    private static final long CELL_OVERHEAD_BYTES = 48L;
+
+    /**
+     * シート名
+     */
+    @Getter
+    @ToString.Include
+    private String sheetName;
+
+    /**
+     * 行の一覧
+     */
+    @Getter
+    private List<WorkbookRow> rows;
+
+    /**
+     * メモリ使用量の見積もり(バイト)
+     */
+    @Getter
+    @ToString.Include
+    private long estimatedBytes;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private SheetData() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param sheetName シート名
+     * @param rows      行の一覧
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private SheetData(@NonNull String sheetName, @NonNull List<WorkbookRow> rows) {
+        this.sheetName = sheetName;
+        this.rows = Collections.unmodifiableList(rows);
+        this.estimatedBytes = estimateBytes(rows);
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link SheetData} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param sheetName シート名
+     * @param rows      行の一覧
+     * @return {@link SheetData} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static SheetData of(@NonNull String sheetName, @NonNull List<WorkbookRow> rows) {
+        return new SheetData(sheetName, rows);
+    }
+
+    /**
+     * 全ての行を順に {@link RowHandler} へ渡します。<br>
+     * {@link RowHandler} が {@code false} を返却した場合は処理を終了します。
+     *
+     * @param handler 行を処理するオブジェクト
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void forEach(@NonNull RowHandler handler) {
+        for (WorkbookRow row : this.rows) {
+            if (!handler.handle(row)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 引数として指定された行の一覧のメモリ使用量を見積もります。
+     *
+     * @param rows 行の一覧
+     * @return メモリ使用量の見積もり(バイト)
+     */
+    private static long estimateBytes(@NonNull List<WorkbookRow> rows) {
+
+        long estimatedBytes = 0L;
+
+        for (WorkbookRow row : rows) {
+            estimatedBytes += ROW_OVERHEAD_BYTES;
+
+            for (String cell : row.getCells()) {
+                estimatedBytes += CELL_OVERHEAD_BYTES + 2L * cell.length();
+            }
+        }
+
+        return estimatedBytes;
+    }
+}
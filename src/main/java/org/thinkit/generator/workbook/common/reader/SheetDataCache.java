@@ -0,0 +1,381 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.thinkit.generator.workbook.common.DefinitionPath;
+import org.thinkit.generator.workbook.common.Sheet;
+import org.thinkit.generator.workbook.common.trace.SheetParseEvent;
+import org.thinkit.generator.workbook.common.trace.TraceContext;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義書のシートの解析結果をメモリ上に保持するキャッシュクラスです。
+ * <p>
+ * 解析結果は定義書のファイルパス、ファイルサイズ、最終更新日時とシート名をキーとして保持されるため、<br>
+ * 定義書が更新された場合は自動的に再度解析が行われます。
+ * <p>
+ * キャッシュは解析結果のメモリ使用量の見積もりの合計がメモリ上限を超えないように、最近使用されていない解析結果から破棄します。<br>
+ * 既定のメモリ上限はシステムプロパティ {@value #MAX_BYTES_PROPERTY} で指定でき、指定されない場合は最大ヒープサイズの8分の1となります。
+ * <p>
+ * キャッシュに解析結果が存在しない場合は {@link SheetDataStore} に永続化された解析結果を優先して使用し、<br>
+ * 永続化された解析結果も存在しない場合のみ定義書を解析します。解析結果は {@link SheetDataStore} へ保存されます。<br>
+ * 定義書の解析には {@link SharedWorkbook} を使用するため、同一の定義書の複数のシートを同時に解析する場合は
+ * ブックのアーカイブと共有文字列テーブルが共有されます。
+ * <p>
+ * 当クラスはスレッドセーフであり、複数の生成器から同一のシートが同時に要求された場合でも解析は1度のみ行われます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see SheetData
+ */
+@ToString
+public final class SheetDataCache {
+
+    /**
+     * メモリ上限を指定するシステムプロパティ名
+     */
+    public static final String MAX_BYTES_PROPERTY = "org.thinkit.generator.workbook.sheetDataCache.maxBytes";
+
+    /**
+     * 重みの単位(バイト)
+     */
+    private static final long WEIGHT_UNIT_BYTES = 1024L;
+
+    /**
+     * {@link SheetDataCache} のシングルトンインスタンスを保持するインナークラスです。<br>
+     * {@link SheetDataCache} シングルトンインスタンスは初回参照時にメモリに読み込まれます。
+     */
+    private static class InstanceHolder {
+
+        /**
+         * シングルトンインスタンス
+         */
+        private static final SheetDataCache INSTANCE = new SheetDataCache(
+                Long.getLong(MAX_BYTES_PROPERTY, Runtime.getRuntime().maxMemory() / 8), SheetDataStore.getInstance());
+    }
+
+    /**
+     * メモリ上限(バイト)
+     */
+    @Getter
+    private long maxBytes;
+
+    /**
+     * シートの解析結果のキャッシュ
+     */
+    @ToString.Exclude
+    private Cache<SheetKey, SheetData> cache;
+
+    /**
+     * シートの解析結果を永続化するオブジェクト
+     */
+    @Getter
+    private SheetDataStore sheetDataStore;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private SheetDataCache() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param maxBytes       メモリ上限(バイト)
+     * @param sheetDataStore シートの解析結果を永続化するオブジェクト
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException メモリ上限が負数の場合
+     */
+    private SheetDataCache(long maxBytes, @NonNull SheetDataStore sheetDataStore) {
+
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException(String.format("メモリ上限に負数は指定できません。メモリ上限 = (%s)", maxBytes));
+        }
+
+        this.maxBytes = maxBytes;
+        this.sheetDataStore = sheetDataStore;
+        this.cache = CacheBuilder.newBuilder().maximumWeight(maxBytes / WEIGHT_UNIT_BYTES)
+                .weigher((SheetKey key, SheetData value) -> toWeight(value)).recordStats().build();
+    }
+
+    /**
+     * {@link SheetDataCache} クラスのシングルトンインスタンスを返却します。
+     *
+     * @return {@link SheetDataCache} クラスのシングルトンインスタンス
+     */
+    public static SheetDataCache getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * 引数として指定されたメモリ上限を持つ {@link SheetDataCache} クラスの新しいインスタンスを生成し返却します。<br>
+     * 解析結果は {@link SheetDataStore#getInstance()} で永続化されます。
+     *
+     * @param maxBytes メモリ上限(バイト)
+     * @return {@link SheetDataCache} クラスの新しいインスタンス
+     *
+     * @throws IllegalArgumentException メモリ上限が負数の場合
+     */
+    public static SheetDataCache of(long maxBytes) {
+        return of(maxBytes, SheetDataStore.getInstance());
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link SheetDataCache} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param maxBytes       メモリ上限(バイト)
+     * @param sheetDataStore シートの解析結果を永続化するオブジェクト
+     * @return {@link SheetDataCache} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     * @throws IllegalArgumentException メモリ上限が負数の場合
+     */
+    public static SheetDataCache of(long maxBytes, @NonNull SheetDataStore sheetDataStore) {
+        return new SheetDataCache(maxBytes, sheetDataStore);
+    }
+
+    /**
+     * 引数として指定された定義書のシートの解析結果を返却します。<br>
+     * キャッシュに解析結果が存在しない場合は {@link WorkbookReaders} から取得した {@link WorkbookReader}
+     * でシートを解析し、その結果をキャッシュします。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param sheet          シート
+     * @return シートの解析結果
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 指定されたシートが定義書に存在しない場合
+     * @exception UncheckedIOException     定義書の読み込みに失敗した場合
+     */
+    public SheetData get(@NonNull DefinitionPath definitionPath, @NonNull Sheet sheet) {
+
+        final SheetKey key = SheetKey.of(Paths.get(definitionPath.getFilePath()), sheet.getString());
+
+        try {
+            return this.cache.get(key, () -> this.load(key, sheet));
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 引数として指定された定義書に関する全ての解析結果を破棄します。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void invalidate(@NonNull DefinitionPath definitionPath) {
+        this.invalidate(Paths.get(definitionPath.getFilePath()));
+    }
+
+    /**
+     * 引数として指定された定義書に関する全ての解析結果を破棄します。
+     *
+     * @param filePath 定義書のパス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void invalidate(@NonNull Path filePath) {
+        final Path normalizedPath = filePath.toAbsolutePath().normalize();
+        this.cache.asMap().keySet().removeIf(key -> key.getFilePath().equals(normalizedPath));
+    }
+
+    /**
+     * 全ての解析結果を破棄します。
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * キャッシュの統計情報を返却します。
+     *
+     * @return キャッシュの統計情報
+     */
+    public CacheStats getStats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * 引数として指定されたキーに対応するシートの解析結果を返却します。<br>
+     * {@link SheetDataStore} に解析結果が保存されている場合はその解析結果を返却し、保存されていない場合はシートを解析して保存します。
+     *
+     * @param key   キー
+     * @param sheet シート
+     * @return シートの解析結果
+     *
+     * @exception UncheckedIOException 定義書の読み込みに失敗した場合
+     */
+    private SheetData load(@NonNull SheetKey key, @NonNull Sheet sheet) {
+
+        final Optional<SheetData> storedSheetData = this.sheetDataStore.load(key.getFilePath(), key.getSheetName());
+
+        if (storedSheetData.isPresent()) {
+            return storedSheetData.get();
+        }
+
+        final SheetDataStore.FileStamp parsedFrom;
+
+        try {
+            parsedFrom = SheetDataStore.FileStamp.of(key.getFilePath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final SheetData sheetData = this.parse(key, parsedFrom, sheet);
+        this.sheetDataStore.store(key.getFilePath(), parsedFrom, sheetData);
+
+        return sheetData;
+    }
+
+    /**
+     * 引数として指定されたキーに対応するシートを解析し返却します。<br>
+     * 同一の定義書を解析中の他の処理が存在する場合は、その処理と {@link SharedWorkbook} を介して {@link WorkbookReader} を共有します。
+     *
+     * @param key        キー
+     * @param parsedFrom 解析を開始する時点の定義書の属性
+     * @param sheet      シート
+     * @return シートの解析結果
+     *
+     * @exception UncheckedIOException 定義書の読み込みに失敗した場合
+     */
+    private SheetData parse(@NonNull SheetKey key, @NonNull SheetDataStore.FileStamp parsedFrom,
+            @NonNull Sheet sheet) {
+
+        final SheetParseEvent sheetParseEvent = new SheetParseEvent();
+        sheetParseEvent.begin();
+
+        final List<WorkbookRow> rows = new ArrayList<>();
+
+        try (SharedWorkbook sharedWorkbook = SharedWorkbook.acquire(parsedFrom)) {
+            sharedWorkbook.read(sheet, rows::add);
+        }
+
+        sheetParseEvent.complete(TraceContext.current(), key.getSheetName(), rows.size());
+
+        return SheetData.of(key.getSheetName(), rows);
+    }
+
+    /**
+     * 引数として指定された解析結果の重みを返却します。
+     *
+     * @param sheetData シートの解析結果
+     * @return 重み
+     */
+    private static int toWeight(@NonNull SheetData sheetData) {
+        return (int) Math.min(Integer.MAX_VALUE, sheetData.getEstimatedBytes() / WEIGHT_UNIT_BYTES + 1L);
+    }
+
+    /**
+     * シートの解析結果のキーを管理するデータクラスです。
+     */
+    @ToString
+    @EqualsAndHashCode
+    private static final class SheetKey {
+
+        /**
+         * 定義書の絶対パス
+         */
+        @Getter
+        private final Path filePath;
+
+        /**
+         * 定義書のファイルサイズ
+         */
+        private final long size;
+
+        /**
+         * 定義書の最終更新日時(エポックミリ秒)
+         */
+        private final long lastModified;
+
+        /**
+         * シート名
+         */
+        @Getter
+        private final String sheetName;
+
+        /**
+         * コンストラクタ
+         *
+         * @param filePath     定義書の絶対パス
+         * @param size         定義書のファイルサイズ
+         * @param lastModified 定義書の最終更新日時(エポックミリ秒)
+         * @param sheetName    シート名
+         */
+        private SheetKey(@NonNull Path filePath, long size, long lastModified, @NonNull String sheetName) {
+            this.filePath = filePath;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.sheetName = sheetName;
+        }
+
+        /**
+         * 引数として指定された定義書の現在の属性からキーを生成し返却します。
+         *
+         * @param filePath  定義書のパス
+         * @param sheetName シート名
+         * @return キー
+         *
+         * @exception UncheckedIOException 定義書の属性の取得に失敗した場合
+         */
+        private static SheetKey of(@NonNull Path filePath, @NonNull String sheetName) {
+
+            final Path normalizedPath = filePath.toAbsolutePath().normalize();
+
+            try {
+                final BasicFileAttributes attributes = Files.readAttributes(normalizedPath,
+                        BasicFileAttributes.class);
+                return new SheetKey(normalizedPath, attributes.size(), attributes.lastModifiedTime().toMillis(),
+                        sheetName);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
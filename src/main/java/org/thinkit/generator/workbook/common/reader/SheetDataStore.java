@@ -0,0 +1,734 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.reader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.flogger.FluentLogger;
+import com.google.common.hash.Hashing;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義書のシートの解析結果をディレクトリへ永続化するクラスです。
+ * <p>
+ * 解析結果は定義書の内容のハッシュ値、シート名およびスキーマバージョンをキーとして独自のバイナリ形式で保存され、<br>
+ * 読み込み時はファイル全体を1度で読み込んで復元します。定義書の内容が変更されない限りJVMの再起動後も解析を省略できます。<br>
+ * 読み込み後にファイルを開いたままにしないため、他のプロセスによる置き換えや削除を妨げることはありません。<br>
+ * 保存されたファイルの形式が不正な場合は破棄し、解析結果が保存されていないものとして扱います。
+ * <p>
+ * 永続化はシステムプロパティ {@value #DIRECTORY_PROPERTY} で保存先のディレクトリが指定された場合のみ行われます。<br>
+ * 保存された解析結果の合計サイズはシステムプロパティ {@value #MAX_BYTES_PROPERTY} (既定値は
+ * {@value #DEFAULT_MAX_BYTES} バイト)を上限とし、上限を超えた場合は最後に使用された日時が古い解析結果から削除されます。<br>
+ * 保存に失敗して残された一時ファイルも同時に削除されます。
+ *
+ * <pre>
+ * magic(4 bytes) schemaVersion(varint) contentHash(string) sheetName(string) rowCount(varint)
+ *   { rowIndex(varint) cellCount(varint) { cell(string) }* }*
+ * string = byteLength(varint) UTF-8 bytes
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see SheetDataCache
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class SheetDataStore {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * 保存先のディレクトリを指定するシステムプロパティ名
+     */
+    public static final String DIRECTORY_PROPERTY = "org.thinkit.generator.workbook.sheetDataStore.directory";
+
+    /**
+     * 保存する解析結果の合計サイズの上限(バイト)を指定するシステムプロパティ名
+     */
+    public static final String MAX_BYTES_PROPERTY = "org.thinkit.generator.workbook.sheetDataStore.maxBytes";
+
+    /**
+     * 保存する解析結果の合計サイズの既定の上限(バイト)
+     */
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024L * 1024L;
+
+    /**
+     * 保存形式のスキーマバージョン(保存形式または解析結果の内容を変更した場合は必ず更新すること)
+     */
+    static final int SCHEMA_VERSION = 1;
+
+    /**
+     * ファイルの先頭に書き込む識別子
+     */
+    private static final int MAGIC = 0x54475344;
+
+    /**
+     * 保存するファイルの拡張子
+     */
+    private static final String FILE_EXTENSION = ".sheet";
+
+    /**
+     * 一時ファイルの拡張子
+     */
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+    /**
+     * 削除対象とする一時ファイルの経過時間(ミリ秒)
+     */
+    private static final long STALE_TEMPORARY_FILE_MILLIS = TimeUnit.HOURS.toMillis(1L);
+
+    /**
+     * 定義書の内容のハッシュ値のキャッシュの最大要素数
+     */
+    private static final int CONTENT_HASH_CACHE_SIZE = 1024;
+
+    /**
+     * {@link SheetDataStore} のシングルトンインスタンスを保持するインナークラスです。<br>
+     * {@link SheetDataStore} シングルトンインスタンスは初回参照時にメモリに読み込まれます。
+     */
+    private static class InstanceHolder {
+
+        /**
+         * シングルトンインスタンス
+         */
+        private static final SheetDataStore INSTANCE = new SheetDataStore(getDefaultDirectory(),
+                Long.getLong(MAX_BYTES_PROPERTY, DEFAULT_MAX_BYTES));
+    }
+
+    /**
+     * 保存先のディレクトリ(永続化を行わない場合は {@code null})
+     */
+    @ToString.Include
+    private Path directory;
+
+    /**
+     * 保存する解析結果の合計サイズの上限(バイト)
+     */
+    @ToString.Include
+    private long maxBytes;
+
+    /**
+     * 保存済みの解析結果の合計サイズの概算値(バイト、未集計の場合は負数)
+     */
+    private final AtomicLong storedBytes = new AtomicLong(-1L);
+
+    /**
+     * 定義書の属性毎の内容のハッシュ値のキャッシュ
+     */
+    private Cache<FileStamp, String> contentHashCache;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private SheetDataStore() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param directory 保存先のディレクトリ(永続化を行わない場合は {@code null})
+     * @param maxBytes  保存する解析結果の合計サイズの上限(バイト)
+     *
+     * @exception IllegalArgumentException 上限が1未満の場合
+     */
+    private SheetDataStore(Path directory, long maxBytes) {
+
+        if (maxBytes < 1L) {
+            throw new IllegalArgumentException(String.format("合計サイズの上限には1以上の値を指定してください。上限 = (%s)", maxBytes));
+        }
+
+        this.directory = directory == null ? null
+                : directory.toAbsolutePath().normalize().resolve("v" + SCHEMA_VERSION);
+        this.maxBytes = maxBytes;
+        this.contentHashCache = CacheBuilder.newBuilder().maximumSize(CONTENT_HASH_CACHE_SIZE).build();
+    }
+
+    /**
+     * {@link SheetDataStore} クラスのシングルトンインスタンスを返却します。<br>
+     * 保存先のディレクトリはシステムプロパティ {@value #DIRECTORY_PROPERTY} の値となり、指定されない場合は永続化を行いません。
+     *
+     * @return {@link SheetDataStore} クラスのシングルトンインスタンス
+     */
+    public static SheetDataStore getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * 引数として指定されたディレクトリへ解析結果を保存する {@link SheetDataStore} クラスの新しいインスタンスを生成し返却します。<br>
+     * 保存する解析結果の合計サイズの上限は {@value #DEFAULT_MAX_BYTES} バイトとなります。
+     *
+     * @param directory 保存先のディレクトリ
+     * @return {@link SheetDataStore} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static SheetDataStore of(@NonNull Path directory) {
+        return of(directory, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * 引数として指定されたディレクトリへ指定された合計サイズを上限として解析結果を保存する {@link SheetDataStore}
+     * クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param directory 保存先のディレクトリ
+     * @param maxBytes  保存する解析結果の合計サイズの上限(バイト)
+     * @return {@link SheetDataStore} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 上限が1未満の場合
+     */
+    public static SheetDataStore of(@NonNull Path directory, long maxBytes) {
+        return new SheetDataStore(directory, maxBytes);
+    }
+
+    /**
+     * 永続化を行わない {@link SheetDataStore} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @return 永続化を行わない {@link SheetDataStore} クラスの新しいインスタンス
+     */
+    public static SheetDataStore disabled() {
+        return new SheetDataStore(null, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * 永続化を行うか判定します。
+     *
+     * @return 永続化を行う場合は {@code true} 、それ以外は {@code false}
+     */
+    public boolean isEnabled() {
+        return this.directory != null;
+    }
+
+    /**
+     * 引数として指定された定義書のシートの保存済みの解析結果を返却します。<br>
+     * 解析結果が保存されていない場合、または保存された解析結果の形式が不正な場合は空の {@link Optional} を返却します。
+     *
+     * @param filePath  定義書のパス
+     * @param sheetName シート名
+     * @return 保存済みの解析結果
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public Optional<SheetData> load(@NonNull Path filePath, @NonNull String sheetName) {
+
+        if (!this.isEnabled()) {
+            return Optional.empty();
+        }
+
+        final Path entryPath;
+        final String contentHash;
+
+        try {
+            contentHash = this.getContentHash(FileStamp.of(filePath));
+            entryPath = this.resolveEntry(contentHash, sheetName);
+        } catch (IOException | UncheckedIOException e) {
+            logger.atFine().withCause(e).log("定義書の内容のハッシュ値を取得できません。定義書 = (%s)", filePath);
+            return Optional.empty();
+        }
+
+        try {
+            // メモリへのマッピングはアンマップされるまでファイルの置き換えと削除を妨げるため(Windows)、ヒープへ読み込む
+            final Optional<SheetData> sheetData = decode(ByteBuffer.wrap(Files.readAllBytes(entryPath)),
+                    contentHash, sheetName);
+
+            if (sheetData.isEmpty()) {
+                logger.atWarning().log("保存された解析結果の形式が不正なため破棄します。ファイル = (%s)", entryPath);
+                deleteQuietly(entryPath);
+            } else {
+                touch(entryPath);
+            }
+
+            return sheetData;
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            logger.atWarning().withCause(e).log("保存された解析結果の読み込みに失敗しました。ファイル = (%s)", entryPath);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 引数として指定された定義書のシートの解析結果を保存します。<br>
+     * 解析結果は一時ファイルへ書き込んだ後に置き換えるため、読み込み中の他のプロセスが不完全な解析結果を参照することはありません。<br>
+     * 解析開始後に定義書が変更されていた場合、または保存に失敗した場合は保存を行いません。
+     *
+     * @param filePath   定義書のパス
+     * @param parsedFrom 解析を開始した時点の定義書の属性
+     * @param sheetData  シートの解析結果
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    void store(@NonNull Path filePath, @NonNull FileStamp parsedFrom, @NonNull SheetData sheetData) {
+
+        if (!this.isEnabled()) {
+            return;
+        }
+
+        try {
+            if (!FileStamp.of(filePath).equals(parsedFrom)) {
+                logger.atFine().log("解析中に定義書が変更されたため保存を省略します。定義書 = (%s)", filePath);
+                return;
+            }
+
+            final String contentHash = this.getContentHash(parsedFrom);
+            final Path entryPath = this.resolveEntry(contentHash, sheetData.getSheetName());
+            Files.createDirectories(entryPath.getParent());
+
+            final Path temporaryPath = Files.createTempFile(entryPath.getParent(),
+                    entryPath.getFileName().toString(), TEMPORARY_FILE_EXTENSION);
+            final byte[] bytes = encode(contentHash, sheetData);
+
+            try {
+                Files.write(temporaryPath, bytes);
+                moveAtomically(temporaryPath, entryPath);
+            } catch (FileSystemException e) {
+                // 保存先のファイルを他のプロセスが読み込み中の場合は置き換えに失敗する(Windows)。
+                // キーが同一であれば内容も同一であるため既存のファイルをそのまま使用する
+                if (!Files.exists(entryPath)) {
+                    throw e;
+                }
+
+                logger.atFine().withCause(e).log("保存済みの解析結果を置き換えられないため保存を省略します。ファイル = (%s)", entryPath);
+                return;
+            } finally {
+                deleteQuietly(temporaryPath);
+            }
+
+            this.addStoredBytes(bytes.length);
+        } catch (IOException | UncheckedIOException e) {
+            logger.atWarning().withCause(e).log("解析結果の保存に失敗しました。定義書 = (%s)", filePath);
+        }
+    }
+
+    /**
+     * 保存済みの解析結果の合計サイズの概算値に引数として指定されたサイズを加算し、上限を超えた場合は古い解析結果を削除します。
+     *
+     * @param bytes 保存した解析結果のサイズ
+     */
+    private void addStoredBytes(long bytes) {
+
+        if (this.storedBytes.get() < 0L) {
+            this.prune();
+        } else if (this.storedBytes.addAndGet(bytes) > this.maxBytes) {
+            this.prune();
+        }
+    }
+
+    /**
+     * 保存済みの解析結果の合計サイズを集計し、上限を超えている場合は最後に使用された日時が古い解析結果から上限の4分の3以下になるまで削除します。<br>
+     * 一定時間が経過した一時ファイルは保存に失敗して残されたものとして削除します。
+     */
+    synchronized void prune() {
+
+        if (!this.isEnabled() || !Files.isDirectory(this.directory)) {
+            return;
+        }
+
+        final List<Map.Entry<Path, BasicFileAttributes>> entries = new ArrayList<>();
+        final long staleTime = System.currentTimeMillis() - STALE_TEMPORARY_FILE_MILLIS;
+        long totalBytes = 0L;
+
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(this.directory)) {
+            for (Path path : paths) {
+                final String fileName = path.getFileName().toString();
+                final BasicFileAttributes attributes;
+
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+
+                if (fileName.endsWith(FILE_EXTENSION)) {
+                    entries.add(Map.entry(path, attributes));
+                    totalBytes += attributes.size();
+                } else if (fileName.endsWith(TEMPORARY_FILE_EXTENSION)
+                        && attributes.lastModifiedTime().toMillis() < staleTime) {
+                    deleteQuietly(path);
+                }
+            }
+        } catch (IOException e) {
+            logger.atWarning().withCause(e).log("保存された解析結果の集計に失敗しました。ディレクトリ = (%s)", this.directory);
+            return;
+        }
+
+        if (totalBytes > this.maxBytes) {
+            final long targetBytes = this.maxBytes / 4L * 3L;
+            entries.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+
+            for (Map.Entry<Path, BasicFileAttributes> entry : entries) {
+                if (totalBytes <= targetBytes) {
+                    break;
+                }
+
+                if (deleteQuietly(entry.getKey())) {
+                    totalBytes -= entry.getValue().size();
+                }
+            }
+
+            logger.atFine().log("保存された解析結果の合計サイズが上限を超えたため古い解析結果を削除しました。合計サイズ = (%s)", totalBytes);
+        }
+
+        this.storedBytes.set(totalBytes);
+    }
+
+    /**
+     * 保存された全ての解析結果を削除します。
+     *
+     * @exception UncheckedIOException 削除に失敗した場合
+     */
+    public void clear() {
+
+        if (!this.isEnabled() || !Files.isDirectory(this.directory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(this.directory)) {
+            for (Path entry : entries) {
+                Files.deleteIfExists(entry);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.storedBytes.set(0L);
+        this.contentHashCache.invalidateAll();
+    }
+
+    /**
+     * 引数として指定された属性を持つ定義書の内容のハッシュ値を返却します。<br>
+     * ハッシュ値は定義書の属性毎にキャッシュされるため、同一の定義書の複数のシートを読み込む場合でも計算は1度のみ行われます。
+     *
+     * @param fileStamp 定義書の属性
+     * @return 定義書の内容のハッシュ値
+     *
+     * @throws IOException 定義書の読み込みに失敗した場合
+     */
+    private String getContentHash(@NonNull FileStamp fileStamp) throws IOException {
+        try {
+            return this.contentHashCache.get(fileStamp, () -> com.google.common.io.Files
+                    .asByteSource(fileStamp.getFilePath().toFile()).hash(Hashing.sha256()).toString());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 引数として指定されたキーに対応する保存先のファイルのパスを返却します。<br>
+     * シート名はファイル名に使用できない文字を含む可能性があるため、ハッシュ値に変換して使用します。
+     *
+     * @param contentHash 定義書の内容のハッシュ値
+     * @param sheetName   シート名
+     * @return 保存先のファイルのパス
+     */
+    private Path resolveEntry(@NonNull String contentHash, @NonNull String sheetName) {
+        return this.directory.resolve(contentHash + "-"
+                + Hashing.sha256().hashString(sheetName, StandardCharsets.UTF_8).toString().substring(0, 16)
+                + FILE_EXTENSION);
+    }
+
+    /**
+     * 引数として指定されたファイルの最終更新日時を現在日時へ更新し、最後に使用された日時として記録します。<br>
+     * 更新に失敗した場合は無視します。
+     *
+     * @param path ファイルのパス
+     */
+    private static void touch(@NonNull Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            logger.atFine().withCause(e).log("最終更新日時の更新に失敗しました。ファイル = (%s)", path);
+        }
+    }
+
+    /**
+     * 引数として指定されたファイルを削除します。<br>
+     * 他のプロセスが使用中のため削除できない場合(Windows)等、削除に失敗した場合は無視します。
+     *
+     * @param path ファイルのパス
+     * @return 削除した場合は {@code true} 、それ以外は {@code false}
+     */
+    private static boolean deleteQuietly(@NonNull Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.atFine().withCause(e).log("ファイルの削除に失敗しました。ファイル = (%s)", path);
+            return false;
+        }
+    }
+
+    /**
+     * 引数として指定された一時ファイルを保存先のファイルへ置き換えます。<br>
+     * ファイルシステムが不可分な移動に対応していない場合は通常の置き換えを行います。
+     *
+     * @param source 一時ファイル
+     * @param target 保存先のファイル
+     *
+     * @throws IOException 置き換えに失敗した場合
+     */
+    private static void moveAtomically(@NonNull Path source, @NonNull Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 引数として指定された解析結果を保存形式へ変換し返却します。
+     *
+     * @param contentHash 定義書の内容のハッシュ値
+     * @param sheetData   シートの解析結果
+     * @return 保存形式のバイト列
+     */
+    private static byte[] encode(@NonNull String contentHash, @NonNull SheetData sheetData) {
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(
+                (int) Math.min(Integer.MAX_VALUE - 8, sheetData.getEstimatedBytes() / 2 + 64));
+
+        output.write(MAGIC >>> 24);
+        output.write(MAGIC >>> 16);
+        output.write(MAGIC >>> 8);
+        output.write(MAGIC);
+        writeVarint(output, SCHEMA_VERSION);
+        writeString(output, contentHash);
+        writeString(output, sheetData.getSheetName());
+        writeVarint(output, sheetData.getRows().size());
+
+        for (WorkbookRow row : sheetData.getRows()) {
+            writeVarint(output, row.getRowIndex());
+            writeVarint(output, row.getCellCount());
+
+            for (String cell : row.getCells()) {
+                writeString(output, cell);
+            }
+        }
+
+        return output.toByteArray();
+    }
+
+    /**
+     * 引数として指定された保存形式のバッファから解析結果を復元し返却します。<br>
+     * 形式が不正な場合、またはキーが一致しない場合は空の {@link Optional} を返却します。
+     *
+     * @param buffer      保存形式のバッファ
+     * @param contentHash 定義書の内容のハッシュ値
+     * @param sheetName   シート名
+     * @return 復元した解析結果
+     */
+    private static Optional<SheetData> decode(@NonNull ByteBuffer buffer, @NonNull String contentHash,
+            @NonNull String sheetName) {
+        try {
+            if (buffer.getInt() != MAGIC || readVarint(buffer) != SCHEMA_VERSION
+                    || !contentHash.equals(readString(buffer)) || !sheetName.equals(readString(buffer))) {
+                return Optional.empty();
+            }
+
+            final int rowCount = readVarint(buffer);
+            final List<WorkbookRow> rows = new ArrayList<>(Math.min(rowCount, buffer.remaining()));
+
+            for (int i = 0; i < rowCount; i++) {
+                final int rowIndex = readVarint(buffer);
+                final int cellCount = readVarint(buffer);
+                final List<String> cells = new ArrayList<>(Math.min(cellCount, buffer.remaining()));
+
+                for (int j = 0; j < cellCount; j++) {
+                    cells.add(readString(buffer));
+                }
+
+                rows.add(WorkbookRow.of(rowIndex, cells));
+            }
+
+            return buffer.hasRemaining() ? Optional.empty() : Optional.of(SheetData.of(sheetName, rows));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 引数として指定された値を可変長の符号なし整数として書き込みます。
+     *
+     * @param output 出力先
+     * @param value  値
+     */
+    private static void writeVarint(@NonNull ByteArrayOutputStream output, int value) {
+        while ((value & ~0x7F) != 0) {
+            output.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        output.write(value);
+    }
+
+    /**
+     * 引数として指定された文字列をバイト長とUTF-8のバイト列として書き込みます。
+     *
+     * @param output 出力先
+     * @param value  文字列
+     */
+    private static void writeString(@NonNull ByteArrayOutputStream output, @NonNull String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(output, bytes.length);
+        output.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 引数として指定されたバッファから可変長の符号なし整数を読み込みます。
+     *
+     * @param buffer バッファ
+     * @return 値
+     *
+     * @exception IllegalArgumentException 値が32ビットを超える場合
+     */
+    private static int readVarint(@NonNull ByteBuffer buffer) {
+
+        int value = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("可変長整数が32ビットを超えています。");
+    }
+
+    /**
+     * 引数として指定されたバッファからバイト長とUTF-8のバイト列で表現された文字列を読み込みます。
+     *
+     * @param buffer バッファ
+     * @return 文字列
+     *
+     * @exception IllegalArgumentException バイト長が不正な場合
+     */
+    private static String readString(@NonNull ByteBuffer buffer) {
+
+        final int length = readVarint(buffer);
+
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException(String.format("文字列のバイト長が不正です。バイト長 = (%s)", length));
+        }
+
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 既定の保存先のディレクトリを返却します。
+     *
+     * @return 既定の保存先のディレクトリ(永続化を行わない場合は {@code null})
+     */
+    private static Path getDefaultDirectory() {
+        final String directory = System.getProperty(DIRECTORY_PROPERTY);
+        return StringUtils.isBlank(directory) ? null : Paths.get(directory);
+    }
+
+    /**
+     * 定義書の内容を識別する属性を管理するデータクラスです。
+     */
+    @ToString
+    @EqualsAndHashCode
+    static final class FileStamp {
+
+        /**
+         * 定義書の絶対パス
+         */
+        @Getter
+        private final Path filePath;
+
+        /**
+         * 定義書のファイルサイズ
+         */
+        private final long size;
+
+        /**
+         * 定義書の最終更新日時(エポックミリ秒)
+         */
+        private final long lastModified;
+
+        /**
+         * コンストラクタ
+         *
+         * @param filePath     定義書の絶対パス
+         * @param size         定義書のファイルサイズ
+         * @param lastModified 定義書の最終更新日時(エポックミリ秒)
+         */
+        private FileStamp(@NonNull Path filePath, long size, long lastModified) {
+            this.filePath = filePath;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * 引数として指定された定義書の現在の属性を返却します。
+         *
+         * @param filePath 定義書のパス
+         * @return 定義書の属性
+         *
+         * @throws IOException 定義書の属性の取得に失敗した場合
+         */
+        static FileStamp of(@NonNull Path filePath) throws IOException {
+
+            final Path normalizedPath = filePath.toAbsolutePath().normalize();
+            final BasicFileAttributes attributes = Files.readAttributes(normalizedPath, BasicFileAttributes.class);
+
+            return new FileStamp(normalizedPath, attributes.size(), attributes.lastModifiedTime().toMillis());
+        }
+    }
+}
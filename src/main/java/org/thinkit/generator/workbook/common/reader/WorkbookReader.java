@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.reader;
+
+import java.io.Closeable;
+
+import org.thinkit.generator.workbook.common.Sheet;
+
+/**
+ * 定義書のシートを1行ずつ読み込む処理を定義したインターフェースです。
+ * <p>
+ * 実装クラスはブック全体をメモリへ展開せずに、シートの行を読み込んだ順に {@link RowHandler} へ渡す必要があります。<br>
+ * 読み込みが終了した際は {@link #close()} を呼び出してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see WorkbookReaders
+ */
+public interface WorkbookReader extends Closeable {
+
+    /**
+     * 引数として指定されたシートを1行ずつ読み込み、読み込んだ行を {@link RowHandler} へ渡します。<br>
+     * 値が設定された行のみが渡されるため、行番号は連続しない場合があります。
+     *
+     * @param sheet   読み込むシート
+     * @param handler 読み込んだ行を処理するオブジェクト
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 指定されたシートがブックに存在しない場合
+     * @exception java.io.UncheckedIOException ブックの読み込みに失敗した場合
+     */
+    public void read(Sheet sheet, RowHandler handler);
+
+    /**
+     * 異なるシートであれば複数のスレッドから同時に {@link #read(Sheet, RowHandler)} を呼び出せるか判定します。<br>
+     * 既定では {@code false} を返却します。{@link SharedWorkbook} は {@code false} の場合にシートの読み込みを1つずつ行います。
+     *
+     * @return 同時に呼び出せる場合は {@code true} 、それ以外は {@code false}
+     */
+    public default boolean isConcurrentReadSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.reader;
+
+import java.nio.file.Path;
+
+/**
+ * 定義書の形式に対応した {@link WorkbookReader} を提供する処理を定義したインターフェースです。
+ * <p>
+ * 当インターフェースの実装クラスは {@link java.util.ServiceLoader} によって読み込まれます。<br>
+ * 実装クラスを登録する際は
+ * {@code META-INF/services/org.thinkit.generator.workbook.common.reader.WorkbookReaderProvider}
+ * に実装クラスの完全修飾名を記述してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see WorkbookReaders
+ */
+public interface WorkbookReaderProvider {
+
+    /**
+     * 引数として指定された定義書を読み込めるか判定します。
+     *
+     * @param filePath 定義書のパス
+     * @return 読み込める場合は {@code true} 、それ以外は {@code false}
+     */
+    public boolean supports(Path filePath);
+
+    /**
+     * 引数として指定された定義書を読み込む {@link WorkbookReader} を生成し返却します。
+     *
+     * @param filePath 定義書のパス
+     * @return 定義書を読み込むオブジェクト
+     *
+     * @exception java.io.UncheckedIOException 定義書を開けなかった場合
+     */
+    public WorkbookReader open(Path filePath);
+}
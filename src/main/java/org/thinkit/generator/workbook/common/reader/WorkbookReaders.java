@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.reader;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import org.thinkit.generator.workbook.common.DefinitionPath;
+
+import lombok.NonNull;
+
+/**
+ * 定義書の形式に対応した {@link WorkbookReader} を取得する処理を定義したクラスです。
+ * <p>
+ * {@link java.util.ServiceLoader} で読み込まれた {@link WorkbookReaderProvider} が優先して使用され、<br>
+ * 対応する {@link WorkbookReaderProvider} が存在しない場合は組み込みの {@link XlsxWorkbookReader} が使用されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see WorkbookReaderProvider
+ */
+public final class WorkbookReaders {
+
+    /**
+     * {@link WorkbookReaderProvider} の一覧を保持するインナークラスです。<br>
+     * {@link WorkbookReaderProvider} の一覧は初回参照時に読み込まれます。
+     */
+    private static class ProviderHolder {
+
+        /**
+         * {@link java.util.ServiceLoader} で読み込まれた {@link WorkbookReaderProvider} の一覧
+         */
+        private static final List<WorkbookReaderProvider> PROVIDERS = loadProviders();
+
+        /**
+         * {@link WorkbookReaderProvider} の一覧を読み込みます。
+         *
+         * @return {@link WorkbookReaderProvider} の一覧
+         */
+        private static List<WorkbookReaderProvider> loadProviders() {
+            final List<WorkbookReaderProvider> providers = new ArrayList<>();
+            ServiceLoader.load(WorkbookReaderProvider.class).forEach(providers::add);
+            return Collections.unmodifiableList(providers);
+        }
+    }
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private WorkbookReaders() {
+    }
+
+    /**
+     * 引数として指定された定義書を読み込む {@link WorkbookReader} を生成し返却します。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return 定義書を読み込むオブジェクト
+     *
+     * @exception NullPointerException         引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException     定義書の形式に対応する {@link WorkbookReader} が存在しない場合
+     * @exception java.io.UncheckedIOException 定義書を開けなかった場合
+     */
+    public static WorkbookReader open(@NonNull DefinitionPath definitionPath) {
+        return open(Paths.get(definitionPath.getFilePath()));
+    }
+
+    /**
+     * 引数として指定された定義書を読み込む {@link WorkbookReader} を生成し返却します。
+     *
+     * @param filePath 定義書のパス
+     * @return 定義書を読み込むオブジェクト
+     *
+     * @exception NullPointerException         引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException     定義書の形式に対応する {@link WorkbookReader} が存在しない場合
+     * @exception java.io.UncheckedIOException 定義書を開けなかった場合
+     */
+    public static WorkbookReader open(@NonNull Path filePath) {
+
+        for (WorkbookReaderProvider provider : ProviderHolder.PROVIDERS) {
+            if (provider.supports(filePath)) {
+                return provider.open(filePath);
+            }
+        }
+
+        if (XlsxWorkbookReader.supports(filePath)) {
+            return XlsxWorkbookReader.of(filePath);
+        }
+
+        throw new IllegalArgumentException(String.format("定義書の形式に対応する読み込み処理が存在しません。定義書 = (%s)", filePath));
+    }
+}
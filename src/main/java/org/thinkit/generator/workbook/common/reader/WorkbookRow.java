@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.reader;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 定義書のシートから読み込んだ1行分のセルの値を管理するデータクラスです。
+ * <p>
+ * セルの値は文字列として保持されます。数値や真偽値のセルはブックに保存された値の文字列表現となります。<br>
+ * 値が設定されていないセルは空文字列として扱われます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class WorkbookRow {
+
+    /**
+     * 行番号(0始まり)
+     */
+    @Getter
+    private int rowIndex;
+
+    /**
+     * セルの値
+     */
+    @Getter
+    private List<String> cells;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private WorkbookRow() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param rowIndex 行番号(0始まり)
+     * @param cells    セルの値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private WorkbookRow(int rowIndex, @NonNull List<String> cells) {
+        this.rowIndex = rowIndex;
+        this.cells = Collections.unmodifiableList(cells);
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link WorkbookRow} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param rowIndex 行番号(0始まり)
+     * @param cells    セルの値
+     * @return {@link WorkbookRow} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static WorkbookRow of(int rowIndex, @NonNull List<String> cells) {
+        return new WorkbookRow(rowIndex, cells);
+    }
+
+    /**
+     * 引数として指定された列番号のセルの値を返却します。<br>
+     * 列番号が範囲外の場合は空文字列を返却します。
+     *
+     * @param columnIndex 列番号(0始まり)
+     * @return セルの値
+     */
+    public String getCell(int columnIndex) {
+        return columnIndex >= 0 && columnIndex < this.cells.size() ? this.cells.get(columnIndex) : "";
+    }
+
+    /**
+     * セル数を返却します。
+     *
+     * @return セル数
+     */
+    public int getCellCount() {
+        return this.cells.size();
+    }
+}
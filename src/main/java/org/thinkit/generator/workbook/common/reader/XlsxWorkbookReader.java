@@ -0,0 +1,616 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.thinkit.generator.workbook.common.Sheet;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Office Open XML形式(.xlsx)の定義書をSAXで1行ずつ読み込むクラスです。
+ * <p>
+ * シートのXMLはイベント駆動で解析されるため、シートの行数に関わらず読み込み中に保持される行は1行のみです。<br>
+ * ただし共有文字列テーブルはセルの値の解決に必要なため、初回の読み込み時にメモリへ展開されます。
+ * <p>
+ * 異なるシートであれば複数のスレッドから同時に {@link #read(Sheet, RowHandler)} を呼び出すことができます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+public final class XlsxWorkbookReader implements WorkbookReader {
+
+    /**
+     * 対応する拡張子
+     */
+    private static final String[] SUPPORTED_EXTENSIONS = { ".xlsx", ".xlsm" };
+
+    /**
+     * ブックのエントリ名
+     */
+    private static final String WORKBOOK_ENTRY = "xl/workbook.xml";
+
+    /**
+     * ブックのリレーションのエントリ名
+     */
+    private static final String WORKBOOK_RELATIONSHIPS_ENTRY = "xl/_rels/workbook.xml.rels";
+
+    /**
+     * 共有文字列テーブルのエントリ名
+     */
+    private static final String SHARED_STRINGS_ENTRY = "xl/sharedStrings.xml";
+
+    /**
+     * リレーションの名前空間
+     */
+    private static final String RELATIONSHIPS_NAMESPACE = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    /**
+     * 定義書のパス
+     */
+    @Getter
+    private Path filePath;
+
+    /**
+     * 定義書のアーカイブ
+     */
+    @ToString.Exclude
+    private ZipFile zipFile;
+
+    /**
+     * シート名とシートのエントリ名の対応
+     */
+    @ToString.Exclude
+    private Map<String, String> sheetEntries;
+
+    /**
+     * 共有文字列テーブル
+     */
+    @ToString.Exclude
+    private List<String> sharedStrings;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private XlsxWorkbookReader() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param filePath 定義書のパス
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 定義書を開けなかった場合
+     */
+    private XlsxWorkbookReader(@NonNull Path filePath) {
+        this.filePath = filePath;
+
+        try {
+            this.zipFile = new ZipFile(filePath.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された定義書を読み込む {@link XlsxWorkbookReader} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param filePath 定義書のパス
+     * @return {@link XlsxWorkbookReader} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception UncheckedIOException 定義書を開けなかった場合
+     */
+    public static XlsxWorkbookReader of(@NonNull Path filePath) {
+        return new XlsxWorkbookReader(filePath);
+    }
+
+    /**
+     * 引数として指定された定義書を読み込めるか拡張子から判定します。
+     *
+     * @param filePath 定義書のパス
+     * @return 読み込める場合は {@code true} 、それ以外は {@code false}
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static boolean supports(@NonNull Path filePath) {
+
+        final Path fileName = filePath.getFileName();
+
+        if (fileName == null) {
+            return false;
+        }
+
+        final String lowerCaseFileName = fileName.toString().toLowerCase(Locale.ROOT);
+
+        for (String extension : SUPPORTED_EXTENSIONS) {
+            if (lowerCaseFileName.endsWith(extension)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void read(@NonNull Sheet sheet, @NonNull RowHandler handler) {
+
+        final String sheetEntry = this.getSheetEntries().get(sheet.getString());
+
+        if (sheetEntry == null) {
+            throw new IllegalArgumentException(
+                    String.format("指定されたシートが定義書に存在しません。シート = (%s), 定義書 = (%s)", sheet.getString(), this.filePath));
+        }
+
+        try {
+            this.parse(sheetEntry, new SheetHandler(this.getSharedStrings(), handler));
+        } catch (StopReadingException e) {
+            // 行の処理から読み込みの終了が要求された場合は正常終了とする
+        }
+    }
+
+    @Override
+    public boolean isConcurrentReadSupported() {
+        return true;
+    }
+
+    /**
+     * ブックに含まれるシート名を定義順に返却します。
+     *
+     * @return シート名の一覧
+     */
+    public List<String> getSheetNames() {
+        return new ArrayList<>(this.getSheetEntries().keySet());
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.zipFile.close();
+    }
+
+    /**
+     * シート名とシートのエントリ名の対応を返却します。<br>
+     * 対応は初回呼び出し時にブックとリレーションを解析して生成されます。
+     *
+     * @return シート名とシートのエントリ名の対応
+     */
+    private synchronized Map<String, String> getSheetEntries() {
+
+        if (this.sheetEntries == null) {
+            final WorkbookHandler workbookHandler = new WorkbookHandler();
+            this.parse(WORKBOOK_ENTRY, workbookHandler);
+
+            final RelationshipsHandler relationshipsHandler = new RelationshipsHandler();
+            this.parse(WORKBOOK_RELATIONSHIPS_ENTRY, relationshipsHandler);
+
+            final Map<String, String> sheetEntries = new LinkedHashMap<>();
+
+            workbookHandler.relationshipIds.forEach((sheetName, relationshipId) -> {
+                final String target = relationshipsHandler.targets.get(relationshipId);
+
+                if (target != null) {
+                    sheetEntries.put(sheetName, target.startsWith("/") ? target.substring(1) : "xl/" + target);
+                }
+            });
+
+            this.sheetEntries = Collections.unmodifiableMap(sheetEntries);
+        }
+
+        return this.sheetEntries;
+    }
+
+    /**
+     * 共有文字列テーブルを返却します。<br>
+     * 共有文字列テーブルは初回呼び出し時に解析されます。
+     *
+     * @return 共有文字列テーブル
+     */
+    private synchronized List<String> getSharedStrings() {
+
+        if (this.sharedStrings == null) {
+            if (this.zipFile.getEntry(SHARED_STRINGS_ENTRY) == null) {
+                this.sharedStrings = Collections.emptyList();
+            } else {
+                final SharedStringsHandler sharedStringsHandler = new SharedStringsHandler();
+                this.parse(SHARED_STRINGS_ENTRY, sharedStringsHandler);
+                this.sharedStrings = Collections.unmodifiableList(sharedStringsHandler.sharedStrings);
+            }
+        }
+
+        return this.sharedStrings;
+    }
+
+    /**
+     * 引数として指定されたエントリを解析します。
+     *
+     * @param entryName エントリ名
+     * @param handler   解析イベントを処理するオブジェクト
+     *
+     * @exception IllegalStateException 定義書の構造が不正な場合
+     * @exception UncheckedIOException  定義書の読み込みに失敗した場合
+     * @exception StopReadingException  行の処理から読み込みの終了が要求された場合
+     */
+    private void parse(@NonNull String entryName, @NonNull DefaultHandler handler) {
+
+        final ZipEntry entry = this.zipFile.getEntry(entryName);
+
+        if (entry == null) {
+            throw new IllegalStateException(
+                    String.format("定義書の構造が不正です。エントリ = (%s), 定義書 = (%s)", entryName, this.filePath));
+        }
+
+        try (InputStream inputStream = this.zipFile.getInputStream(entry)) {
+            newParser().parse(inputStream, handler);
+        } catch (StopReadingException e) {
+            throw e;
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IllegalStateException(
+                    String.format("定義書の解析に失敗しました。エントリ = (%s), 定義書 = (%s)", entryName, this.filePath), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 名前空間に対応したSAXパーサを生成し返却します。<br>
+     * 外部エンティティによる攻撃を防ぐためDTDは無効化されます。
+     *
+     * @return SAXパーサ
+     *
+     * @throws ParserConfigurationException パーサの生成に失敗した場合
+     * @throws SAXException                 パーサの生成に失敗した場合
+     */
+    private static SAXParser newParser() throws ParserConfigurationException, SAXException {
+        final SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        return factory.newSAXParser();
+    }
+
+    /**
+     * 行の処理から読み込みの終了が要求されたことを通知する例外です。
+     */
+    private static final class StopReadingException extends RuntimeException {
+
+        /**
+         * シリアルバージョンUID
+         */
+        private static final long serialVersionUID = 4207385733049584107L;
+
+        /**
+         * コンストラクタ
+         */
+        private StopReadingException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * ブックからシート名とリレーションIDの対応を取得するハンドラです。
+     */
+    private static final class WorkbookHandler extends DefaultHandler {
+
+        /**
+         * シート名とリレーションIDの対応
+         */
+        private final Map<String, String> relationshipIds = new LinkedHashMap<>();
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if ("sheet".equals(localName)) {
+                this.relationshipIds.put(attributes.getValue("name"),
+                        attributes.getValue(RELATIONSHIPS_NAMESPACE, "id"));
+            }
+        }
+    }
+
+    /**
+     * ブックのリレーションからリレーションIDと参照先の対応を取得するハンドラです。
+     */
+    private static final class RelationshipsHandler extends DefaultHandler {
+
+        /**
+         * リレーションIDと参照先の対応
+         */
+        private final Map<String, String> targets = new HashMap<>();
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if ("Relationship".equals(localName)) {
+                this.targets.put(attributes.getValue("Id"), attributes.getValue("Target"));
+            }
+        }
+    }
+
+    /**
+     * 共有文字列テーブルを取得するハンドラです。<br>
+     * ふりがな({@code rPh})の文字列はセルの値に含めません。
+     */
+    private static final class SharedStringsHandler extends DefaultHandler {
+
+        /**
+         * 共有文字列テーブル
+         */
+        private List<String> sharedStrings = new ArrayList<>();
+
+        /**
+         * 文字列の値
+         */
+        private final StringBuilder value = new StringBuilder();
+
+        /**
+         * ふりがなの要素の深さ
+         */
+        private int phoneticDepth = 0;
+
+        /**
+         * 文字列の値を取得中か
+         */
+        private boolean capturing = false;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "sst":
+                    final String uniqueCount = attributes.getValue("uniqueCount");
+
+                    if (uniqueCount != null) {
+                        try {
+                            this.sharedStrings = new ArrayList<>(Integer.parseInt(uniqueCount));
+                        } catch (NumberFormatException e) {
+                            // 要素数が不正な場合は既定の容量で読み込む
+                        }
+                    }
+                    break;
+                case "si":
+                    this.value.setLength(0);
+                    break;
+                case "rPh":
+                    this.phoneticDepth++;
+                    break;
+                case "t":
+                    this.capturing = this.phoneticDepth == 0;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "si":
+                    this.sharedStrings.add(this.value.toString());
+                    break;
+                case "rPh":
+                    this.phoneticDepth--;
+                    break;
+                case "t":
+                    this.capturing = false;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (this.capturing) {
+                this.value.append(ch, start, length);
+            }
+        }
+    }
+
+    /**
+     * シートの行を1行ずつ {@link RowHandler} へ渡すハンドラです。
+     */
+    private static final class SheetHandler extends DefaultHandler {
+
+        /**
+         * 共有文字列テーブル
+         */
+        private final List<String> sharedStrings;
+
+        /**
+         * 読み込んだ行を処理するオブジェクト
+         */
+        private final RowHandler rowHandler;
+
+        /**
+         * 読み込み中の行のセルの値
+         */
+        private List<String> cells = null;
+
+        /**
+         * 読み込み中の行番号
+         */
+        private int rowIndex = -1;
+
+        /**
+         * 読み込み中のセルの列番号
+         */
+        private int columnIndex = -1;
+
+        /**
+         * 読み込み中のセルの型
+         */
+        private String cellType = null;
+
+        /**
+         * 読み込み中のセルの値
+         */
+        private final StringBuilder value = new StringBuilder();
+
+        /**
+         * ふりがなの要素の深さ
+         */
+        private int phoneticDepth = 0;
+
+        /**
+         * セルの値を取得中か
+         */
+        private boolean capturing = false;
+
+        /**
+         * コンストラクタ
+         *
+         * @param sharedStrings 共有文字列テーブル
+         * @param rowHandler    読み込んだ行を処理するオブジェクト
+         */
+        private SheetHandler(@NonNull List<String> sharedStrings, @NonNull RowHandler rowHandler) {
+            this.sharedStrings = sharedStrings;
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    final String rowReference = attributes.getValue("r");
+                    this.rowIndex = rowReference == null ? this.rowIndex + 1 : Integer.parseInt(rowReference) - 1;
+                    this.cells = new ArrayList<>();
+                    break;
+                case "c":
+                    final String cellReference = attributes.getValue("r");
+                    this.columnIndex = cellReference == null ? this.cells.size() : toColumnIndex(cellReference);
+                    this.cellType = attributes.getValue("t");
+                    this.value.setLength(0);
+                    break;
+                case "rPh":
+                    this.phoneticDepth++;
+                    break;
+                case "v":
+                case "t":
+                    this.capturing = this.cells != null && this.phoneticDepth == 0;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "row":
+                    if (!this.rowHandler.handle(WorkbookRow.of(this.rowIndex, this.cells))) {
+                        throw new StopReadingException();
+                    }
+
+                    this.cells = null;
+                    break;
+                case "c":
+                    while (this.cells.size() < this.columnIndex) {
+                        this.cells.add("");
+                    }
+
+                    final String cellValue = this.toCellValue();
+
+                    if (this.columnIndex < this.cells.size()) {
+                        this.cells.set(this.columnIndex, cellValue);
+                    } else {
+                        this.cells.add(cellValue);
+                    }
+                    break;
+                case "rPh":
+                    this.phoneticDepth--;
+                    break;
+                case "v":
+                case "t":
+                    this.capturing = false;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (this.capturing) {
+                this.value.append(ch, start, length);
+            }
+        }
+
+        /**
+         * 読み込み中のセルの型に応じてセルの値を返却します。
+         *
+         * @return セルの値
+         */
+        private String toCellValue() {
+
+            final String rawValue = this.value.toString();
+
+            if (this.cellType == null || rawValue.isEmpty()) {
+                return rawValue;
+            }
+
+            switch (this.cellType) {
+                case "s":
+                    return this.sharedStrings.get(Integer.parseInt(rawValue.trim()));
+                case "b":
+                    return String.valueOf("1".equals(rawValue));
+                default:
+                    return rawValue;
+            }
+        }
+
+        /**
+         * セル参照から列番号を返却します。
+         *
+         * @param cellReference セル参照(例: {@code "AB12"})
+         * @return 列番号(0始まり)
+         */
+        private static int toColumnIndex(@NonNull String cellReference) {
+
+            int columnIndex = 0;
+
+            for (int i = 0, length = cellReference.length(); i < length; i++) {
+                final char character = cellReference.charAt(i);
+
+                if (character < 'A' || character > 'Z') {
+                    break;
+                }
+
+                columnIndex = columnIndex * 26 + (character - 'A' + 1);
+            }
+
+            return columnIndex - 1;
+        }
+    }
+}
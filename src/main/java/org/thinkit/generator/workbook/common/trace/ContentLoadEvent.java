@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import lombok.NonNull;
+
+/**
+ * 生成器が使用するコンテンツの読み込みを記録するJFRイベントです。<br>
+ * ビルド時に生成された一覧から取得した場合とコンテンツを解析した場合は {@code source} で区別されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see TraceContext
+ */
+@Name("org.thinkit.generator.workbook.ContentLoad")
+@Label("Content Load")
+@Description("Loading of a content used by the generator")
+@Category({ "Generator", "Workbook" })
+@StackTrace(false)
+public final class ContentLoadEvent extends Event {
+
+    /**
+     * 生成器区分
+     */
+    @Label("Generator Division")
+    private String generatorDivision;
+
+    /**
+     * 定義書のパス
+     */
+    @Label("Definition File")
+    private String filePath;
+
+    /**
+     * コンテンツ名
+     */
+    @Label("Content Name")
+    private String contentName;
+
+    /**
+     * 取得元
+     */
+    @Label("Source")
+    private String source;
+
+    /**
+     * 計測を終了し、イベントが記録対象の場合は引数として指定された情報と共に記録します。
+     *
+     * @param traceContext 実行中の生成器の情報
+     * @param contentName  コンテンツ名
+     * @param source       取得元
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void complete(@NonNull TraceContext traceContext, @NonNull String contentName, @NonNull String source) {
+
+        this.end();
+
+        if (this.shouldCommit()) {
+            this.generatorDivision = traceContext.getGeneratorDivision();
+            this.filePath = traceContext.getFilePath();
+            this.contentName = contentName;
+            this.source = source;
+            this.commit();
+        }
+    }
+}
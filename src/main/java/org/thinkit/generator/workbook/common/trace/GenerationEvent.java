@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import lombok.NonNull;
+
+/**
+ * 生成器の実行を記録するJFRイベントです。<br>
+ * {@code AbstractGenerator} の実行開始から終了までを1つのイベントとして記録します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see TraceContext
+ */
+@Name("org.thinkit.generator.workbook.Generation")
+@Label("Generation")
+@Description("Execution of a generator")
+@Category({ "Generator", "Workbook" })
+@StackTrace(false)
+public final class GenerationEvent extends Event {
+
+    /**
+     * 生成器区分
+     */
+    @Label("Generator Division")
+    private String generatorDivision;
+
+    /**
+     * 定義書のパス
+     */
+    @Label("Definition File")
+    private String filePath;
+
+    /**
+     * 生成器のクラス名
+     */
+    @Label("Generator Class")
+    private String generatorClass;
+
+    /**
+     * 実行結果の状態
+     */
+    @Label("Status")
+    private String status;
+
+    /**
+     * 書き込んだファイル数
+     */
+    @Label("Files Written")
+    private long filesWritten;
+
+    /**
+     * 計測を終了し、イベントが記録対象の場合は引数として指定された情報と共に記録します。
+     *
+     * @param traceContext   実行中の生成器の情報
+     * @param generatorClass 生成器のクラス名
+     * @param status         実行結果の状態
+     * @param filesWritten   書き込んだファイル数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void complete(@NonNull TraceContext traceContext, @NonNull String generatorClass, @NonNull String status,
+            long filesWritten) {
+
+        this.end();
+
+        if (this.shouldCommit()) {
+            this.generatorDivision = traceContext.getGeneratorDivision();
+            this.filePath = traceContext.getFilePath();
+            this.generatorClass = generatorClass;
+            this.status = status;
+            this.filesWritten = filesWritten;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import lombok.NonNull;
+
+/**
+ * 生成されたファイルの書き込みを記録するJFRイベントです。<br>
+ * 内容が同一のため書き込みを省略した場合も {@code written} を {@code false} として記録します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see TraceContext
+ */
+@Name("org.thinkit.generator.workbook.OutputWrite")
+@Label("Output Write")
+@Description("Writing of a generated file")
+@Category({ "Generator", "Workbook" })
+@StackTrace(false)
+public final class OutputWriteEvent extends Event {
+
+    /**
+     * 生成器区分
+     */
+    @Label("Generator Division")
+    private String generatorDivision;
+
+    /**
+     * 定義書のパス
+     */
+    @Label("Definition File")
+    private String filePath;
+
+    /**
+     * 出力先のファイル
+     */
+    @Label("Output File")
+    private String outputFile;
+
+    /**
+     * ファイルの大きさ
+     */
+    @Label("Size")
+    @DataAmount
+    private long bytes;
+
+    /**
+     * 書き込んだか否か
+     */
+    @Label("Written")
+    private boolean written;
+
+    /**
+     * 計測を終了し、イベントが記録対象の場合は引数として指定された情報と共に記録します。
+     *
+     * @param traceContext 実行中の生成器の情報
+     * @param outputFile   出力先のファイル
+     * @param bytes        ファイルの大きさ(バイト)
+     * @param written      書き込んだ場合は {@code true} 、省略した場合は {@code false}
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void complete(@NonNull TraceContext traceContext, @NonNull String outputFile, long bytes, boolean written) {
+
+        this.end();
+
+        if (this.shouldCommit()) {
+            this.generatorDivision = traceContext.getGeneratorDivision();
+            this.filePath = traceContext.getFilePath();
+            this.outputFile = outputFile;
+            this.bytes = bytes;
+            this.written = written;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import lombok.NonNull;
+
+/**
+ * 定義書のシートの解析を記録するJFRイベントです。<br>
+ * 解析結果がキャッシュから取得された場合は記録されません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see TraceContext
+ */
+@Name("org.thinkit.generator.workbook.SheetParse")
+@Label("Sheet Parse")
+@Description("Parsing of a definition sheet")
+@Category({ "Generator", "Workbook" })
+@StackTrace(false)
+public final class SheetParseEvent extends Event {
+
+    /**
+     * 生成器区分
+     */
+    @Label("Generator Division")
+    private String generatorDivision;
+
+    /**
+     * 定義書のパス
+     */
+    @Label("Definition File")
+    private String filePath;
+
+    /**
+     * シート名
+     */
+    @Label("Sheet Name")
+    private String sheetName;
+
+    /**
+     * 行数
+     */
+    @Label("Row Count")
+    private int rowCount;
+
+    /**
+     * 計測を終了し、イベントが記録対象の場合は引数として指定された情報と共に記録します。
+     *
+     * @param traceContext 実行中の生成器の情報
+     * @param sheetName    シート名
+     * @param rowCount     行数
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public void complete(@NonNull TraceContext traceContext, @NonNull String sheetName, int rowCount) {
+
+        this.end();
+
+        if (this.shouldCommit()) {
+            this.generatorDivision = traceContext.getGeneratorDivision();
+            this.filePath = traceContext.getFilePath();
+            this.sheetName = sheetName;
+            this.rowCount = rowCount;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.trace;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 実行中の生成器の情報をトレースイベントへ伝搬するためのコンテキストクラスです。
+ * <p>
+ * {@link #enter()} で現在のスレッドにコンテキストを設定すると、同一スレッドで記録される全てのトレースイベントに<br>
+ * 生成器区分と定義書のパスが設定されます。他のスレッドへ処理を委譲する場合は {@link #current()}
+ * で取得したコンテキストを委譲先のスレッドで {@link #enter()} してください。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class TraceContext {
+
+    /**
+     * 生成器の情報を持たない空のコンテキスト
+     */
+    private static final TraceContext EMPTY = new TraceContext("", "");
+
+    /**
+     * スレッド毎の現在のコンテキスト
+     */
+    private static final ThreadLocal<TraceContext> CURRENT = ThreadLocal.withInitial(() -> EMPTY);
+
+    /**
+     * 生成器区分
+     */
+    @Getter
+    private String generatorDivision;
+
+    /**
+     * 定義書のパス
+     */
+    @Getter
+    private String filePath;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private TraceContext() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param generatorDivision 生成器区分
+     * @param filePath          定義書のパス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    private TraceContext(@NonNull String generatorDivision, @NonNull String filePath) {
+        this.generatorDivision = generatorDivision;
+        this.filePath = filePath;
+    }
+
+    /**
+     * 引数として指定された情報を基に {@link TraceContext} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param generatorDivision 生成器区分(不明な場合は空文字列)
+     * @param filePath          定義書のパス
+     * @return {@link TraceContext} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static TraceContext of(@NonNull String generatorDivision, @NonNull String filePath) {
+        return new TraceContext(generatorDivision, filePath);
+    }
+
+    /**
+     * 現在のスレッドに設定されたコンテキストを返却します。<br>
+     * コンテキストが設定されていない場合は生成器区分と定義書のパスが空文字列のコンテキストを返却します。
+     *
+     * @return 現在のスレッドのコンテキスト
+     */
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 当コンテキストを現在のスレッドに設定します。<br>
+     * 返却された {@link Scope} をクローズすると設定前のコンテキストに戻ります。
+     *
+     * @return コンテキストの設定範囲
+     */
+    public Scope enter() {
+        final TraceContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return new Scope(previous);
+    }
+
+    /**
+     * コンテキストの設定範囲を表すクラスです。<br>
+     * try-with-resources 文で使用してください。
+     */
+    public static final class Scope implements AutoCloseable {
+
+        /**
+         * 設定前のコンテキスト
+         */
+        private final TraceContext previous;
+
+        /**
+         * コンストラクタ
+         *
+         * @param previous 設定前のコンテキスト
+         */
+        private Scope(@NonNull TraceContext previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * 設定前のコンテキストに戻します。
+         */
+        @Override
+        public void close() {
+            if (this.previous == EMPTY) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(this.previous);
+            }
+        }
+    }
+}
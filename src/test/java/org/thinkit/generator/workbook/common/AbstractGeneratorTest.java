@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.workbook.common.TestGeneratorProvider.TestGenerator;
+
+/**
+ * {@link AbstractGenerator} クラスの非同期実行と取り消しのテストです。
+ * <p>
+ * 生成器は {@link TestGeneratorProvider} から提供されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class AbstractGeneratorTest {
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TestGeneratorProvider.clearExecutedFilePaths();
+        this.workDirectory = Files.createTempDirectory("abstract-generator").toRealPath();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.workDirectory.toFile());
+    }
+
+    @Test
+    void testCancelBeforeExecute() {
+
+        final TestGenerator generator = this.generator("success");
+        generator.cancel();
+
+        final GenerationResult result = generator.executeForResult();
+
+        assertEquals(GenerationStatus.CANCELLED, result.getStatus());
+        assertEquals(List.of(), TestGeneratorProvider.getExecutedFilePaths());
+        assertTrue(generator.execute());
+    }
+
+    @Test
+    void testFutureCancelledBeforeStart() {
+
+        final TestGenerator generator = this.generator("success");
+        final List<Runnable> tasks = new ArrayList<>();
+        final CompletableFuture<GenerationResult> future = generator.executeAsync(tasks::add);
+
+        assertTrue(future.cancel(true));
+        tasks.forEach(Runnable::run);
+
+        assertEquals(List.of(), TestGeneratorProvider.getExecutedFilePaths());
+        assertFalse(generator.isCancelled());
+        assertTrue(generator.execute());
+    }
+
+    @Test
+    void testFutureCancelledWhileRunning() throws Exception {
+
+        final TestGenerator generator = this.generator(TestGeneratorProvider.COOPERATIVE_MARKER);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            final CompletableFuture<GenerationResult> future = generator.executeAsync(executor);
+
+            await(() -> TestGeneratorProvider.getExecutedFilePaths().size() == 1);
+            final long cancelledTime = System.nanoTime();
+            assertTrue(future.cancel(true));
+
+            await(() -> TestGeneratorProvider.getFinishedFilePaths().size() == 1);
+            assertTrue(System.nanoTime() - cancelledTime < TimeUnit.SECONDS.toNanos(5L));
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10L, TimeUnit.SECONDS);
+        }
+
+        assertFalse(generator.isCancelled());
+    }
+
+    @Test
+    void testFutureCancelledAfterFinish() throws Exception {
+
+        final TestGenerator generator = this.generator("success");
+        final CompletableFuture<GenerationResult> future = generator.executeAsync(Runnable::run);
+
+        assertEquals(GenerationStatus.SUCCESS, future.get().getStatus());
+        assertFalse(future.cancel(true));
+        assertFalse(generator.isCancelled());
+
+        assertEquals(GenerationStatus.SUCCESS, generator.executeForResult().getStatus());
+        assertEquals(2, TestGeneratorProvider.getExecutedFilePaths().size());
+    }
+
+    /**
+     * 作業ディレクトリの引数として指定されたファイル名の定義書を実行する生成器を返却します。
+     *
+     * @param fileName ファイル名
+     * @return 生成器
+     */
+    private TestGenerator generator(String fileName) {
+        return new TestGenerator(DefinitionPath.of(this.workDirectory.resolve(fileName).toString(),
+                this.workDirectory.resolve("output").toString()));
+    }
+
+    /**
+     * 引数として指定された条件を満たすまで最大10秒待機します。
+     *
+     * @param condition 条件
+     *
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link AdmissionController} クラスのテストです。
+ * <p>
+ * メモリ使用量の見積もりを定義書のファイルサイズと等しくするため、係数を1、固定の使用量を0としてテストします。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class AdmissionControllerTest {
+
+    /**
+     * メモリ上限(バイト)
+     */
+    private static final long MAX_BYTES = 4096L;
+
+    /**
+     * 待機状態になるまでの待機時間の上限(ミリ秒)
+     */
+    private static final long WAIT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10L);
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * メモリの割り当てを行うオブジェクト
+     */
+    private AdmissionController admissionController;
+
+    /**
+     * メモリを割り当てられた定義書のパス
+     */
+    private final Queue<String> admittedFilePaths = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.workDirectory = Files.createTempDirectory("admission-controller");
+        this.admissionController = AdmissionController.of(MAX_BYTES, 1L, 0L);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.workDirectory.toFile());
+    }
+
+    @Test
+    void testEstimate() throws IOException {
+        assertEquals(1024L, this.admissionController.estimate(this.definition("small", 1024)));
+        assertEquals(MAX_BYTES, this.admissionController.estimate(this.definition("huge", 8192)));
+        assertEquals(0L, this.admissionController.estimate(DefinitionPath.of(
+                this.workDirectory.resolve("missing").toString(), this.workDirectory.toString())));
+    }
+
+    @Test
+    void testSmallDoesNotOvertakeWaitingLarge() throws Exception {
+
+        final DefinitionPath large = this.definition("large", 4096);
+        final DefinitionPath small = this.definition("small", 1024);
+
+        final AdmissionController.Admission holder = this.admissionController
+                .acquire(this.definition("holder", 2048));
+
+        final Thread largeThread = this.startAcquiring(large);
+        awaitWaiting(largeThread);
+
+        // 空きメモリで実行可能な見積もりであっても先に待機している生成器を追い越さない
+        final Thread smallThread = this.startAcquiring(small);
+        awaitWaiting(smallThread);
+        assertTrue(this.admittedFilePaths.isEmpty());
+
+        holder.close();
+        largeThread.join(WAIT_TIMEOUT_MILLIS);
+        smallThread.join(WAIT_TIMEOUT_MILLIS);
+
+        assertEquals(List.of(large.getFilePath(), small.getFilePath()), List.copyOf(this.admittedFilePaths));
+        assertEquals(MAX_BYTES, this.admissionController.getAvailableBytes());
+    }
+
+    @Test
+    void testArrivalOrder() throws Exception {
+
+        final AdmissionController.Admission holder = this.admissionController
+                .acquire(this.definition("holder", 4096));
+
+        // 連続する2つの見積もりの合計がメモリ上限を超えるため、メモリは1つずつ到着順に割り当てられる
+        final List<DefinitionPath> definitionPaths = List.of(this.definition("first", 4096),
+                this.definition("second", 3072), this.definition("third", 2048));
+        final Thread[] threads = new Thread[definitionPaths.size()];
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = this.startAcquiring(definitionPaths.get(i));
+            awaitWaiting(threads[i]);
+        }
+
+        holder.close();
+
+        for (Thread thread : threads) {
+            thread.join(WAIT_TIMEOUT_MILLIS);
+        }
+
+        assertEquals(definitionPaths.stream().map(DefinitionPath::getFilePath).collect(Collectors.toList()),
+                List.copyOf(this.admittedFilePaths));
+    }
+
+    /**
+     * 引数として指定されたファイルサイズの定義書を作成し、そのパスを管理するオブジェクトを返却します。
+     *
+     * @param fileName ファイル名
+     * @param size     ファイルサイズ
+     * @return 生成する定義のパスを管理するオブジェクト
+     */
+    private DefinitionPath definition(String fileName, int size) throws IOException {
+        final Path filePath = Files.write(this.workDirectory.resolve(fileName), new byte[size]);
+        return DefinitionPath.of(filePath.toString(), this.workDirectory.toString());
+    }
+
+    /**
+     * 引数として指定された定義に対するメモリの割り当てを別スレッドで開始します。<br>
+     * 割り当てられたメモリは記録した後に直ちに解放されます。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @return メモリの割り当てを行うスレッド
+     */
+    private Thread startAcquiring(DefinitionPath definitionPath) {
+
+        final Thread thread = new Thread(() -> {
+            try {
+                final AdmissionController.Admission admission = this.admissionController.acquire(definitionPath);
+                this.admittedFilePaths.add(definitionPath.getFilePath());
+                admission.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * 引数として指定されたスレッドがメモリの割り当てを待機するまで待機します。
+     *
+     * @param thread スレッド
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+
+        final long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MILLIS;
+
+        while (thread.getState() != Thread.State.WAITING) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("スレッドがメモリの割り当てを待機しませんでした。");
+            }
+
+            Thread.sleep(1L);
+        }
+    }
+}
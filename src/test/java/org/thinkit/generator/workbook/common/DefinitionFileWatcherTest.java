@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link DefinitionFileWatcher} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DefinitionFileWatcherTest {
+
+    /**
+     * 通知を待機する時間(秒)
+     */
+    private static final long NOTIFY_TIMEOUT_SECONDS = 10L;
+
+    /**
+     * 通知されないことを確認する時間(ミリ秒)
+     */
+    private static final long QUIET_MILLIS = 500L;
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * 通知された定義書のパス
+     */
+    private BlockingQueue<Path> notifiedPaths;
+
+    /**
+     * テスト対象のオブジェクト
+     */
+    private DefinitionFileWatcher definitionFileWatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.workDirectory = Files.createTempDirectory("definition-file-watcher").toRealPath();
+        this.notifiedPaths = new LinkedBlockingQueue<>();
+        this.definitionFileWatcher = DefinitionFileWatcher.of(this.notifiedPaths::add);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.definitionFileWatcher.close();
+        FileUtils.deleteDirectory(this.workDirectory.toFile());
+    }
+
+    @Test
+    void testChangeRightAfterWatchIsNotified() throws Exception {
+
+        final Path definition = this.workDirectory.resolve("definition.xlsx");
+
+        // 監視の登録直後の変更も監視キーからディレクトリを特定して通知される
+        this.definitionFileWatcher.watch(definition);
+        Files.writeString(definition, "changed");
+
+        assertEquals(definition, this.notifiedPaths.poll(NOTIFY_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testUnwatchedFileIsNotNotified() throws Exception {
+
+        final Path definition = this.workDirectory.resolve("definition.xlsx");
+        final Path unwatched = this.workDirectory.resolve("unwatched.xlsx");
+
+        this.definitionFileWatcher.watch(definition);
+        Files.writeString(unwatched, "changed");
+
+        assertNull(this.notifiedPaths.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS));
+
+        Files.writeString(definition, "changed");
+
+        assertEquals(definition, this.notifiedPaths.poll(NOTIFY_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFilesInSameDirectoryShareWatch() throws Exception {
+
+        final Path first = this.workDirectory.resolve("first.xlsx");
+        final Path second = this.workDirectory.resolve("second.xlsx");
+
+        this.definitionFileWatcher.watch(first);
+        this.definitionFileWatcher.watch(second);
+        Files.writeString(second, "changed");
+
+        assertEquals(second, this.notifiedPaths.poll(NOTIFY_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+}
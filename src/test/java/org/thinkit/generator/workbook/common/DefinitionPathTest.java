@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.workbook.common.content.entity.DefaultOutputPath;
+import org.thinkit.generator.workbook.common.content.entity.OutputSharding;
+
+/**
+ * {@link DefinitionPath} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DefinitionPathTest {
+
+    /**
+     * 出力先ルートの一覧
+     */
+    private static final List<String> OUTPUT_ROOTS = List.of("/root-0", "/root-1", "/root-2", "/root-3");
+
+    /**
+     * 振り分けの分布を確認する定義書の数
+     */
+    private static final int DEFINITION_COUNT = 200;
+
+    @Test
+    void testSingleOutputRoot() {
+        assertEquals("/root-0", DefinitionPath.of("/definitions/a.xlsx")
+                .selectOutputRoot(outputPath(List.of("/root-0"), "team-a", OutputSharding.DEFINITION_HASH)));
+    }
+
+    @Test
+    void testTenantShardingUsesSameRootForTenant() {
+
+        final DefaultOutputPath defaultOutputPath = outputPath(OUTPUT_ROOTS, "team-a", OutputSharding.TENANT);
+        final String outputRoot = DefinitionPath.of("/definitions/0.xlsx").selectOutputRoot(defaultOutputPath);
+
+        for (int i = 1; i < DEFINITION_COUNT; i++) {
+            assertEquals(outputRoot,
+                    DefinitionPath.of(String.format("/definitions/%d.xlsx", i)).selectOutputRoot(defaultOutputPath));
+        }
+    }
+
+    @Test
+    void testDefinitionHashShardingIsStableAndSpread() {
+
+        final DefaultOutputPath defaultOutputPath = outputPath(OUTPUT_ROOTS, "", OutputSharding.DEFINITION_HASH);
+
+        assertEquals(DefinitionPath.of("/definitions/a.xlsx").selectOutputRoot(defaultOutputPath),
+                DefinitionPath.of("/definitions/./a.xlsx", "").selectOutputRoot(defaultOutputPath));
+        assertEquals(Set.copyOf(OUTPUT_ROOTS), selectOutputRoots(defaultOutputPath));
+    }
+
+    @Test
+    void testTenantShardingWithoutTenantFallsBackToDefinitionHash() {
+        assertEquals(Set.copyOf(OUTPUT_ROOTS), selectOutputRoots(outputPath(OUTPUT_ROOTS, "", OutputSharding.TENANT)));
+    }
+
+    @Test
+    void testEqualityDoesNotUseDefaultOutputPath() {
+
+        assertEquals(DefinitionPath.of("/definitions/a.xlsx"), DefinitionPath.of("/definitions/a.xlsx", ""));
+        assertEquals(DefinitionPath.of("/definitions/a.xlsx").hashCode(),
+                DefinitionPath.of("/definitions/a.xlsx").hashCode());
+        assertNotEquals(DefinitionPath.of("/definitions/a.xlsx"), DefinitionPath.of("/definitions/a.xlsx", "/out"));
+    }
+
+    /**
+     * 引数として指定された出力先ルートの設定を持つ既定出力先を返却します。
+     *
+     * @param outputRoots    出力先ルートの一覧
+     * @param tenant         テナント名
+     * @param outputSharding 出力先ルートの振り分け方法
+     * @return 既定出力先
+     */
+    private static DefaultOutputPath outputPath(List<String> outputRoots, String tenant,
+            OutputSharding outputSharding) {
+        return DefaultOutputPath.of("GENERATOR_HOME", "output").withOutputRoots(outputRoots, tenant, outputSharding);
+    }
+
+    /**
+     * 複数の定義書に対して選択された出力先ルートを返却します。
+     *
+     * @param defaultOutputPath 既定出力先
+     * @return 選択された出力先ルート
+     */
+    private static Set<String> selectOutputRoots(DefaultOutputPath defaultOutputPath) {
+
+        final Set<String> outputRoots = new HashSet<>();
+
+        for (int i = 0; i < DEFINITION_COUNT; i++) {
+            outputRoots.add(
+                    DefinitionPath.of(String.format("/definitions/%d.xlsx", i)).selectOutputRoot(defaultOutputPath));
+        }
+
+        return outputRoots;
+    }
+}
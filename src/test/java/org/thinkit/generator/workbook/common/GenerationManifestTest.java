@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link GenerationManifest} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class GenerationManifestTest {
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * マニフェストファイルのパス
+     */
+    private Path manifestPath;
+
+    /**
+     * 生成する定義のパスを管理するオブジェクト
+     */
+    private DefinitionPath definitionPath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.workDirectory = Files.createTempDirectory("generation-manifest").toRealPath();
+        this.manifestPath = this.workDirectory.resolve(GenerationManifest.DEFAULT_FILE_NAME);
+        this.definitionPath = DefinitionPath.of(this.workDirectory.resolve("definition.xlsx").toString(),
+                this.workDirectory.resolve("output").toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.workDirectory.toFile());
+    }
+
+    @Test
+    void testMissingManifestIsEmpty() {
+        assertNull(GenerationManifest.load(this.manifestPath).get(GenerationManifestTest.class, this.definitionPath));
+    }
+
+    @Test
+    void testSaveAndLoad() {
+
+        final DefinitionFingerprint fingerprint = DefinitionFingerprint
+                .of(10L, 20L, "hash", this.definitionPath.getOutputPath())
+                .withOutputFiles(List.of(OutputFileStamp.of("/output/a,b.txt", 1L, 2L),
+                        OutputFileStamp.of("/output/c.txt", 3L, 4L)));
+
+        final GenerationManifest manifest = GenerationManifest.load(this.manifestPath);
+        manifest.put(GenerationManifestTest.class, this.definitionPath, fingerprint);
+        manifest.save();
+
+        final DefinitionFingerprint loaded = GenerationManifest.load(this.manifestPath)
+                .get(GenerationManifestTest.class, this.definitionPath);
+
+        assertNotNull(loaded);
+        assertEquals(fingerprint.getSize(), loaded.getSize());
+        assertEquals(fingerprint.getLastModified(), loaded.getLastModified());
+        assertEquals(fingerprint.getContentHash(), loaded.getContentHash());
+        assertEquals(fingerprint.getOutputPath(), loaded.getOutputPath());
+        assertEquals(Set.copyOf(fingerprint.getOutputFiles()), Set.copyOf(loaded.getOutputFiles()));
+    }
+
+    @Test
+    void testRemove() {
+
+        final GenerationManifest manifest = GenerationManifest.load(this.manifestPath);
+        manifest.put(GenerationManifestTest.class, this.definitionPath,
+                DefinitionFingerprint.of(10L, 20L, "hash", this.definitionPath.getOutputPath()));
+        manifest.remove(GenerationManifestTest.class, this.definitionPath);
+
+        assertNull(manifest.get(GenerationManifestTest.class, this.definitionPath));
+    }
+
+    @Test
+    void testMalformedEntryIsSkipped() throws IOException {
+
+        final GenerationManifest manifest = GenerationManifest.load(this.manifestPath);
+        manifest.put(GenerationManifestTest.class, this.definitionPath,
+                DefinitionFingerprint.of(10L, 20L, "hash", this.definitionPath.getOutputPath()));
+        manifest.save();
+
+        replaceInManifest("10,20,", "ten,20,");
+
+        assertNull(GenerationManifest.load(this.manifestPath).get(GenerationManifestTest.class, this.definitionPath));
+    }
+
+    @Test
+    void testMalformedOutputFileDropsEntry() throws IOException {
+
+        final GenerationManifest manifest = GenerationManifest.load(this.manifestPath);
+        manifest.put(GenerationManifestTest.class, this.definitionPath,
+                DefinitionFingerprint.of(10L, 20L, "hash", this.definitionPath.getOutputPath())
+                        .withOutputFiles(List.of(OutputFileStamp.of("/output/a.txt", 1L, 2L))));
+        manifest.save();
+
+        // 出力ファイルの状態を確認できないエントリは生成を省略しないように破棄される
+        replaceInManifest("=1,2,", "=one,2,");
+
+        assertNull(GenerationManifest.load(this.manifestPath).get(GenerationManifestTest.class, this.definitionPath));
+    }
+
+    /**
+     * マニフェストファイルの内容を置換します。
+     *
+     * @param target      置換対象の文字列
+     * @param replacement 置換後の文字列
+     */
+    private void replaceInManifest(String target, String replacement) throws IOException {
+
+        final String content = Files.readString(this.manifestPath, StandardCharsets.ISO_8859_1);
+        final String replaced = content.replace(target, replacement);
+
+        assertNotEquals(content, replaced);
+        Files.writeString(this.manifestPath, replaced, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link GenerationScheduler} クラスのテストです。
+ * <p>
+ * 生成器は {@link TestGeneratorProvider} から提供されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class GenerationSchedulerTest {
+
+    /**
+     * テストで使用するメモリの割り当て
+     */
+    private static final AdmissionController ADMISSION_CONTROLLER = AdmissionController.of(1024L * 1024L, 0L, 0L);
+
+    @BeforeAll
+    static void setUpClass() {
+        // 生成器プロバイダは初回参照時のスレッドのコンテキストクラスローダから読み込まれるため、生成処理の実行スレッドより先に読み込む
+        GeneratorFactory.getInstance();
+    }
+
+    @BeforeEach
+    void setUp() {
+        TestGeneratorProvider.clearExecutedFilePaths();
+    }
+
+    @Test
+    void testDependencyOrder() {
+
+        final GenerationTask first = task("first");
+        final GenerationTask second = task("second");
+        final GenerationTask dependent = task("dependent");
+
+        final BatchResult batchResult = GenerationScheduler.of(4, ADMISSION_CONTROLLER).addTask(dependent)
+                .addDependency(dependent, first).addDependency(dependent, second).execute();
+
+        assertEquals(List.of(GenerationStatus.SUCCESS, GenerationStatus.SUCCESS, GenerationStatus.SUCCESS),
+                toStatuses(batchResult));
+
+        final List<String> executedFilePaths = TestGeneratorProvider.getExecutedFilePaths();
+        assertEquals(3, executedFilePaths.size());
+        assertEquals("dependent", executedFilePaths.get(2));
+    }
+
+    @Test
+    void testFailurePropagation() {
+
+        final GenerationTask failure = task(TestGeneratorProvider.FAILURE_MARKER);
+        final GenerationTask dependent = task("dependent");
+        final GenerationTask transitive = task("transitive");
+        final GenerationTask independent = task("independent");
+
+        final GenerationScheduler scheduler = GenerationScheduler.of(4, ADMISSION_CONTROLLER)
+                .addDependency(transitive, dependent).addDependency(dependent, failure).addTask(independent);
+        final BatchResult batchResult = scheduler.execute();
+
+        // 実行結果は登録順に返却される
+        assertEquals(List.of(dependent, transitive, failure, independent), scheduler.getTasks());
+        assertEquals(List.of(GenerationStatus.BLOCKED, GenerationStatus.BLOCKED, GenerationStatus.FAILURE,
+                GenerationStatus.SUCCESS), toStatuses(batchResult));
+
+        final List<String> executedFilePaths = TestGeneratorProvider.getExecutedFilePaths();
+        assertEquals(2, executedFilePaths.size());
+        assertTrue(executedFilePaths.containsAll(List.of(TestGeneratorProvider.FAILURE_MARKER, "independent")));
+    }
+
+    @Test
+    void testErrorIsContained() {
+
+        final GenerationTask error = task(TestGeneratorProvider.ERROR_MARKER);
+        final GenerationTask dependent = task("dependent");
+        final GenerationTask independent = task("independent");
+
+        final BatchResult batchResult = GenerationScheduler.of(4, ADMISSION_CONTROLLER)
+                .addDependency(dependent, error).addTask(independent).execute();
+
+        assertEquals(List.of(GenerationStatus.FAILURE, GenerationStatus.BLOCKED, GenerationStatus.SUCCESS),
+                toStatuses(batchResult));
+        assertTrue(batchResult.getResults().get(0).getCause().orElseThrow() instanceof AssertionError);
+    }
+
+    @Test
+    void testCycle() {
+
+        final GenerationTask first = task("first");
+        final GenerationTask second = task("second");
+        final GenerationTask third = task("third");
+
+        final GenerationScheduler scheduler = GenerationScheduler.of(2, ADMISSION_CONTROLLER)
+                .addDependency(first, second).addDependency(second, third).addDependency(third, first)
+                .addTask(task("independent"));
+
+        assertThrows(IllegalStateException.class, scheduler::execute);
+        assertTrue(TestGeneratorProvider.getExecutedFilePaths().isEmpty());
+    }
+
+    @Test
+    void testSelfDependency() {
+
+        final GenerationTask task = task("self");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> GenerationScheduler.of(1, ADMISSION_CONTROLLER).addDependency(task, task));
+    }
+
+    /**
+     * 引数として指定された定義書のパスに対する生成処理を生成し返却します。
+     *
+     * @param filePath 定義書のパス
+     * @return 生成処理
+     */
+    private static GenerationTask task(String filePath) {
+        return GenerationTask.of(TestGeneratorProvider.getTestGeneratorDivision(),
+                DefinitionPath.of(filePath, "output"));
+    }
+
+    /**
+     * 引数として指定された実行結果の状態を登録順に返却します。
+     *
+     * @param batchResult 全ての生成処理の実行結果
+     * @return 実行結果の状態
+     */
+    private static List<GenerationStatus> toStatuses(BatchResult batchResult) {
+        return batchResult.getResults().stream().map(GenerationResult::getStatus).collect(Collectors.toList());
+    }
+}
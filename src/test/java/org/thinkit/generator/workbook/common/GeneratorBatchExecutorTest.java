@@ -0,0 +1,246 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.workbook.common.TestGeneratorProvider.TestGenerator;
+
+/**
+ * {@link GeneratorBatchExecutor} クラスのテストです。
+ * <p>
+ * 生成器は {@link TestGeneratorProvider} から提供されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class GeneratorBatchExecutorTest {
+
+    /**
+     * メモリ上限(バイト)
+     */
+    private static final long MAX_BYTES = 1024L * 1024L;
+
+    /**
+     * 生成器毎のタイムアウト時間
+     */
+    private static final Duration TIMEOUT = Duration.ofMillis(100L);
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * メモリの割り当てを行うオブジェクト
+     */
+    private AdmissionController admissionController;
+
+    @BeforeAll
+    static void setUpClass() {
+        // 生成器プロバイダは初回参照時のスレッドのコンテキストクラスローダから読み込まれるため、生成器の実行スレッドより先に読み込む
+        GeneratorFactory.getInstance();
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TestGeneratorProvider.clearExecutedFilePaths();
+        this.workDirectory = Files.createTempDirectory("generator-batch-executor");
+        this.admissionController = AdmissionController.of(MAX_BYTES, 0L, 64L * 1024L);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        System.clearProperty(GeneratorBatchExecutor.TIMEOUT_GRACE_MILLIS_PROPERTY);
+        awaitFinished(TestGeneratorProvider.getExecutedFilePaths().size());
+        FileUtils.deleteDirectory(this.workDirectory.toFile());
+    }
+
+    @Test
+    void testErrorIsContained() {
+
+        final BatchResult batchResult = this.newExecutor(Duration.ZERO)
+                .execute(List.of(this.definition("success"), this.definition(TestGeneratorProvider.ERROR_MARKER),
+                        this.definition(TestGeneratorProvider.FAILURE_MARKER)));
+
+        assertEquals(List.of(GenerationStatus.SUCCESS, GenerationStatus.FAILURE, GenerationStatus.FAILURE),
+                toStatuses(batchResult));
+        assertTrue(batchResult.getResults().get(1).getCause().orElseThrow() instanceof AssertionError);
+        assertEquals(MAX_BYTES, this.admissionController.getAvailableBytes());
+    }
+
+    @Test
+    void testCooperativeTimeout() {
+
+        final long startTime = System.nanoTime();
+        final BatchResult batchResult = this.newExecutor(TIMEOUT).execute(
+                List.of(this.definition(TestGeneratorProvider.COOPERATIVE_MARKER), this.definition("success")));
+
+        assertEquals(List.of(GenerationStatus.TIMEOUT, GenerationStatus.SUCCESS), toStatuses(batchResult));
+        assertTrue(System.nanoTime() - startTime < TimeUnit.SECONDS.toNanos(5L));
+        assertEquals(2, TestGeneratorProvider.getFinishedFilePaths().size());
+        assertEquals(MAX_BYTES, this.admissionController.getAvailableBytes());
+    }
+
+    @Test
+    void testFinishedGeneratorIsReused() {
+
+        final DefinitionPath success = this.definition("success");
+
+        this.newExecutor(TIMEOUT).execute(List.of(success));
+        this.newExecutor(TIMEOUT).execute(List.of(success));
+
+        assertEquals(2, TestGeneratorProvider.getExecutedFilePaths().size());
+        assertEquals(1, TestGeneratorProvider.getCreatedCount());
+    }
+
+    @Test
+    void testTimedOutGeneratorIsNotReused() {
+
+        final DefinitionPath cooperative = this.definition(TestGeneratorProvider.COOPERATIVE_MARKER);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(List.of(GenerationStatus.TIMEOUT),
+                    toStatuses(this.newExecutor(TIMEOUT).execute(List.of(cooperative))));
+        }
+
+        // タイムアウト後に取り消しが要求される可能性がある生成器はプールへ返却されない
+        assertEquals(2, TestGeneratorProvider.getCreatedCount());
+    }
+
+    @Test
+    void testTimeoutWaitsForRunawayGenerator() {
+
+        final BatchResult batchResult = this.newExecutor(TIMEOUT)
+                .execute(List.of(this.definition(TestGeneratorProvider.RUNAWAY_MARKER)));
+
+        assertEquals(List.of(GenerationStatus.TIMEOUT), toStatuses(batchResult));
+
+        // 取り消しに応答しない生成器の終了を待機してからメモリを解放し返却する
+        assertEquals(1, TestGeneratorProvider.getFinishedFilePaths().size());
+        assertEquals(MAX_BYTES, this.admissionController.getAvailableBytes());
+    }
+
+    @Test
+    void testTimeoutGracePeriodExpired() {
+
+        System.setProperty(GeneratorBatchExecutor.TIMEOUT_GRACE_MILLIS_PROPERTY, "50");
+
+        final long startTime = System.nanoTime();
+        final BatchResult batchResult = this.newExecutor(TIMEOUT)
+                .execute(List.of(this.definition(TestGeneratorProvider.RUNAWAY_MARKER)));
+
+        assertEquals(List.of(GenerationStatus.TIMEOUT), toStatuses(batchResult));
+        assertTrue(System.nanoTime() - startTime < TimeUnit.MILLISECONDS.toNanos(TestGeneratorProvider.RUNAWAY_MILLIS));
+        assertTrue(TestGeneratorProvider.getFinishedFilePaths().isEmpty());
+    }
+
+    @Test
+    void testTimedOutDefinitionIsNotRecorded() throws IOException {
+
+        final DefinitionPath runaway = this.createDefinition(TestGeneratorProvider.RUNAWAY_MARKER);
+        final DefinitionPath success = this.createDefinition("success");
+        final IncrementalExecutor incrementalExecutor = IncrementalExecutor
+                .of(GenerationManifest.load(this.workDirectory.resolve(GenerationManifest.DEFAULT_FILE_NAME)));
+
+        final BatchResult batchResult = this.newExecutor(TIMEOUT).executeIncrementally(List.of(runaway, success),
+                incrementalExecutor);
+
+        assertEquals(List.of(GenerationStatus.TIMEOUT, GenerationStatus.SUCCESS), toStatuses(batchResult));
+
+        final GenerationManifest manifest = GenerationManifest
+                .load(this.workDirectory.resolve(GenerationManifest.DEFAULT_FILE_NAME));
+        assertNull(manifest.get(TestGenerator.class, runaway));
+        assertNotNull(manifest.get(TestGenerator.class, success));
+    }
+
+    /**
+     * 引数として指定されたタイムアウト時間で実行する {@link GeneratorBatchExecutor} を生成し返却します。
+     *
+     * @param timeout 生成器毎のタイムアウト時間
+     * @return {@link GeneratorBatchExecutor} クラスの新しいインスタンス
+     */
+    private GeneratorBatchExecutor newExecutor(Duration timeout) {
+        return GeneratorBatchExecutor.of(TestGeneratorProvider.getTestGeneratorDivision(), 4, timeout,
+                this.admissionController);
+    }
+
+    /**
+     * 引数として指定されたファイル名の定義書のパスを管理するオブジェクトを返却します。<br>
+     * 定義書のファイルは作成されません。
+     *
+     * @param fileName ファイル名
+     * @return 生成する定義のパスを管理するオブジェクト
+     */
+    private DefinitionPath definition(String fileName) {
+        return DefinitionPath.of(this.workDirectory.resolve(fileName).toString(),
+                this.workDirectory.resolve("output").toString());
+    }
+
+    /**
+     * 引数として指定されたファイル名の定義書を作成し、そのパスを管理するオブジェクトを返却します。
+     *
+     * @param fileName ファイル名
+     * @return 生成する定義のパスを管理するオブジェクト
+     */
+    private DefinitionPath createDefinition(String fileName) throws IOException {
+        final DefinitionPath definitionPath = this.definition(fileName);
+        Files.writeString(Path.of(definitionPath.getFilePath()), fileName);
+        Files.createDirectories(Path.of(definitionPath.getOutputPath()));
+        return definitionPath;
+    }
+
+    /**
+     * 引数として指定された数の生成器の実行が終了するまで待機します。
+     *
+     * @param count 生成器の数
+     */
+    private static void awaitFinished(int count) throws InterruptedException {
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+
+        while (TestGeneratorProvider.getFinishedFilePaths().size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+    }
+
+    /**
+     * 引数として指定された実行結果の状態を登録順に返却します。
+     *
+     * @param batchResult 全ての生成器の実行結果
+     * @return 実行結果の状態
+     */
+    private static List<GenerationStatus> toStatuses(BatchResult batchResult) {
+        return batchResult.getResults().stream().map(GenerationResult::getStatus).collect(Collectors.toList());
+    }
+}
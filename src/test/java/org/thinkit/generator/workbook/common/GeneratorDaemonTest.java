@@ -0,0 +1,235 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link GeneratorDaemon} クラスのテストです。
+ * <p>
+ * 生成器は {@link TestGeneratorProvider} から提供されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class GeneratorDaemonTest {
+
+    /**
+     * 待ち受けの開始と終了を待機する時間(秒)
+     */
+    private static final long SERVE_TIMEOUT_SECONDS = 10L;
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * テスト対象のオブジェクト
+     */
+    private GeneratorDaemon generatorDaemon;
+
+    @BeforeAll
+    static void setUpClass() {
+        // 生成器プロバイダは初回参照時のスレッドのコンテキストクラスローダから読み込まれるため、生成器の実行スレッドより先に読み込む
+        GeneratorFactory.getInstance();
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.workDirectory = Files.createTempDirectory("generator-daemon").toRealPath();
+        this.generatorDaemon = GeneratorDaemon.of();
+        System.setProperty(GeneratorDaemon.TOKEN_DIRECTORY_PROPERTY, this.workDirectory.resolve("token").toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.generatorDaemon.close();
+        System.clearProperty(GeneratorDaemon.TOKEN_DIRECTORY_PROPERTY);
+        FileUtils.deleteDirectory(this.workDirectory.toFile());
+    }
+
+    @Test
+    void testRelativePathIsRejected() {
+
+        final String response = this.generatorDaemon
+                .handle(String.format("GENERATE %s relative.xlsx", TestGeneratorProvider.getTestGeneratorDivision()));
+
+        assertTrue(response.startsWith("ERROR "));
+        assertTrue(response.contains("relative.xlsx"));
+    }
+
+    @Test
+    void testRelativeOutputPathIsRejected() {
+
+        final String response = this.generatorDaemon.handle(String.format("GENERATE %s \"%s\" relative",
+                TestGeneratorProvider.getTestGeneratorDivision(), this.workDirectory.resolve("definition.xlsx")));
+
+        assertTrue(response.startsWith("ERROR "));
+    }
+
+    @Test
+    void testGenerateKeepsOtherOutputDirectories() throws IOException {
+
+        final Path otherDirectory = this.workDirectory.resolve("other");
+        OutputDirectoryRegistry.getInstance().createDirectories(otherDirectory);
+        Files.delete(otherDirectory);
+
+        final Path definition = this.workDirectory.resolve("definition.xlsx");
+        Files.writeString(definition, "definition");
+
+        final String response = this.generatorDaemon.handle(String.format("GENERATE %s \"%s\" \"%s\"",
+                TestGeneratorProvider.getTestGeneratorDivision(), definition, this.workDirectory.resolve("output")));
+
+        assertTrue(response.startsWith("OK " + GenerationStatus.SUCCESS.name()), response);
+
+        // 要求された出力先以外の作成済みディレクトリは破棄されない
+        OutputDirectoryRegistry.getInstance().createDirectories(otherDirectory);
+        assertFalse(Files.exists(otherDirectory));
+        OutputDirectoryRegistry.getInstance().invalidate(otherDirectory);
+    }
+
+    @Test
+    void testSocketRequiresAuthentication() throws Exception {
+
+        final Thread serveThread = this.startServing();
+
+        try (Socket socket = this.connect()) {
+            final BufferedReader reader = reader(socket);
+            final PrintWriter writer = writer(socket);
+
+            writer.println("AUTH invalid");
+            writer.flush();
+
+            assertTrue(reader.readLine().startsWith("ERROR "));
+            assertNull(reader.readLine());
+        }
+
+        try (Socket socket = this.connect()) {
+            final BufferedReader reader = reader(socket);
+            final PrintWriter writer = writer(socket);
+
+            writer.println("STATS");
+            writer.flush();
+
+            assertTrue(reader.readLine().startsWith("ERROR "));
+            assertNull(reader.readLine());
+        }
+
+        final Path tokenFile = this.generatorDaemon.getTokenFile();
+
+        try (Socket socket = this.connect()) {
+            final BufferedReader reader = reader(socket);
+            final PrintWriter writer = writer(socket);
+
+            writer.println("AUTH " + Files.readString(tokenFile, StandardCharsets.US_ASCII));
+            writer.flush();
+            assertEquals("OK", reader.readLine());
+
+            writer.println("STATS");
+            writer.flush();
+            assertTrue(reader.readLine().startsWith("OK "));
+
+            writer.println("SHUTDOWN");
+            writer.flush();
+            assertEquals("OK", reader.readLine());
+        }
+
+        serveThread.join(TimeUnit.SECONDS.toMillis(SERVE_TIMEOUT_SECONDS));
+
+        assertFalse(serveThread.isAlive());
+        assertFalse(Files.exists(tokenFile));
+    }
+
+    /**
+     * 空いているポートでの待ち受けを別スレッドで開始し、トークンファイルが書き込まれるまで待機します。
+     *
+     * @return 待ち受けを行うスレッド
+     */
+    private Thread startServing() throws InterruptedException {
+
+        final Thread serveThread = new Thread(() -> {
+            try {
+                this.generatorDaemon.serve(0);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }, "generator-daemon-test");
+        serveThread.setDaemon(true);
+        serveThread.start();
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SERVE_TIMEOUT_SECONDS);
+
+        while (this.generatorDaemon.getLocalPort() < 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        assertNotNull(this.generatorDaemon.getTokenFile());
+
+        return serveThread;
+    }
+
+    /**
+     * 待ち受け中のポートへ接続します。
+     *
+     * @return ソケット
+     */
+    private Socket connect() throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), this.generatorDaemon.getLocalPort());
+    }
+
+    /**
+     * 引数として指定されたソケットから応答を読み込むオブジェクトを返却します。
+     *
+     * @param socket ソケット
+     * @return 応答を読み込むオブジェクト
+     */
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 引数として指定されたソケットへ生成要求を書き込むオブジェクトを返却します。
+     *
+     * @param socket ソケット
+     * @return 生成要求を書き込むオブジェクト
+     */
+    private static PrintWriter writer(Socket socket) throws IOException {
+        return new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+}
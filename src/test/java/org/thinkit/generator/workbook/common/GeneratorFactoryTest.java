@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.common.Generator;
+import org.thinkit.generator.common.catalog.GeneratorDivision;
+
+/**
+ * {@link GeneratorFactory} クラスのテストです。
+ * <p>
+ * 生成器は再利用可能な生成器を提供する {@link TestGeneratorProvider} から提供されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class GeneratorFactoryTest {
+
+    /**
+     * テスト用の生成器区分
+     */
+    private static final GeneratorDivision GENERATOR_DIVISION = TestGeneratorProvider.getTestGeneratorDivision();
+
+    /**
+     * 生成する定義のパスを管理するオブジェクト
+     */
+    private DefinitionPath definitionPath;
+
+    @BeforeEach
+    void setUp() {
+        final Path filePath = Path.of(System.getProperty("java.io.tmpdir"), "generator-factory", "definition.xlsx")
+                .toAbsolutePath();
+        this.definitionPath = DefinitionPath.of(filePath.toString(), filePath.resolveSibling("output").toString());
+        GeneratorFactory.invalidateGeneratorPools(filePath);
+    }
+
+    @Test
+    void testPooledGeneratorIsLentExclusively() {
+
+        final AbstractGeneratorFactory generatorFactory = GeneratorFactory.getInstance();
+        final Generator first = generatorFactory.create(GENERATOR_DIVISION, this.definitionPath);
+        final Generator second = generatorFactory.create(GENERATOR_DIVISION, this.definitionPath);
+
+        assertNotNull(first);
+        assertNotSame(first, second);
+
+        generatorFactory.release(GENERATOR_DIVISION, this.definitionPath, first);
+
+        // 返却された生成器は1度だけ貸し出され、貸し出し中は他の生成要求へ貸し出されない
+        assertSame(first, generatorFactory.create(GENERATOR_DIVISION, this.definitionPath));
+        assertNotSame(first, generatorFactory.create(GENERATOR_DIVISION, this.definitionPath));
+    }
+
+    @Test
+    void testEqualDefinitionPathSharesPool() {
+
+        final AbstractGeneratorFactory generatorFactory = GeneratorFactory.getInstance();
+        final Generator generator = generatorFactory.create(GENERATOR_DIVISION, this.definitionPath);
+
+        generatorFactory.release(GENERATOR_DIVISION, this.definitionPath, generator);
+
+        assertSame(generator, generatorFactory.create(GENERATOR_DIVISION,
+                DefinitionPath.of(this.definitionPath.getFilePath(), this.definitionPath.getOutputPath())));
+    }
+
+    @Test
+    void testInvalidateGeneratorPools() {
+
+        final AbstractGeneratorFactory generatorFactory = GeneratorFactory.getInstance();
+        final Generator generator = generatorFactory.create(GENERATOR_DIVISION, this.definitionPath);
+
+        generatorFactory.release(GENERATOR_DIVISION, this.definitionPath, generator);
+        GeneratorFactory.invalidateGeneratorPools(Path.of(this.definitionPath.getFilePath()));
+
+        assertNotSame(generator, generatorFactory.create(GENERATOR_DIVISION, this.definitionPath));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link GeneratorWatchExecutor} クラスのテストです。
+ * <p>
+ * 生成器は {@link TestGeneratorProvider} から提供されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class GeneratorWatchExecutorTest {
+
+    /**
+     * 最後の変更から再実行までの待機時間
+     */
+    private static final Duration DEBOUNCE = Duration.ofMillis(300L);
+
+    /**
+     * 再実行を待機する時間(秒)
+     */
+    private static final long RUN_TIMEOUT_SECONDS = 10L;
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * 通知された再実行の結果
+     */
+    private BlockingQueue<BatchResult> batchResults;
+
+    @BeforeAll
+    static void setUpClass() {
+        // 生成器プロバイダは初回参照時のスレッドのコンテキストクラスローダから読み込まれるため、生成器の実行スレッドより先に読み込む
+        GeneratorFactory.getInstance();
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TestGeneratorProvider.clearExecutedFilePaths();
+        this.workDirectory = Files.createTempDirectory("generator-watch-executor").toRealPath();
+        this.batchResults = new LinkedBlockingQueue<>();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.workDirectory.toFile());
+    }
+
+    @Test
+    void testChangesWithinDebounceAreMerged() throws Exception {
+
+        final DefinitionPath first = this.createDefinition("first");
+        final DefinitionPath second = this.createDefinition("second");
+        final DefinitionPath unchanged = this.createDefinition("unchanged");
+
+        final GeneratorWatchExecutor generatorWatchExecutor = GeneratorWatchExecutor.of(
+                TestGeneratorProvider.getTestGeneratorDivision(), List.of(first, second, unchanged), DEBOUNCE,
+                this.batchResults::add);
+
+        try {
+
+            for (int i = 0; i < 3; i++) {
+                Files.writeString(Path.of(first.getFilePath()), "first" + i);
+                Files.writeString(Path.of(second.getFilePath()), "second" + i);
+            }
+
+            final BatchResult batchResult = this.batchResults.poll(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            assertNotNull(batchResult);
+            assertEquals(Set.of(first, second), batchResult.getResults().stream()
+                    .map(GenerationResult::getDefinitionPath).collect(Collectors.toSet()));
+            assertNull(this.batchResults.poll(DEBOUNCE.toMillis() * 2L, TimeUnit.MILLISECONDS));
+        } finally {
+            generatorWatchExecutor.close();
+        }
+
+        assertEquals(2, TestGeneratorProvider.getExecutedFilePaths().size());
+    }
+
+    @Test
+    void testDeletedDefinitionIsNotRerun() throws Exception {
+
+        final DefinitionPath deleted = this.createDefinition("deleted");
+
+        final GeneratorWatchExecutor generatorWatchExecutor = GeneratorWatchExecutor.of(
+                TestGeneratorProvider.getTestGeneratorDivision(), List.of(deleted), DEBOUNCE, this.batchResults::add);
+
+        try {
+
+            Files.delete(Path.of(deleted.getFilePath()));
+
+            assertNull(this.batchResults.poll(DEBOUNCE.toMillis() * 3L, TimeUnit.MILLISECONDS));
+        } finally {
+            generatorWatchExecutor.close();
+        }
+
+        assertEquals(0, TestGeneratorProvider.getExecutedFilePaths().size());
+    }
+
+    /**
+     * 引数として指定されたファイル名の定義書を作成し、そのパスを管理するオブジェクトを返却します。
+     *
+     * @param fileName ファイル名
+     * @return 生成する定義のパスを管理するオブジェクト
+     */
+    private DefinitionPath createDefinition(String fileName) throws IOException {
+        final Path filePath = this.workDirectory.resolve(fileName);
+        Files.writeString(filePath, fileName);
+        return DefinitionPath.of(filePath.toString(), this.workDirectory.resolve("output").toString());
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.workbook.common.TestGeneratorProvider.TestGenerator;
+
+/**
+ * {@link IncrementalExecutor} クラスのテストです。
+ * <p>
+ * 生成器は {@link TestGeneratorProvider} の {@link TestGenerator} を使用します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class IncrementalExecutorTest {
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * マニフェスト
+     */
+    private GenerationManifest manifest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TestGeneratorProvider.clearExecutedFilePaths();
+        this.workDirectory = Files.createTempDirectory("incremental-executor").toRealPath();
+        this.manifest = GenerationManifest.load(this.workDirectory.resolve(GenerationManifest.DEFAULT_FILE_NAME));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.workDirectory.toFile());
+    }
+
+    @Test
+    void testUnchangedDefinitionIsSkipped() throws IOException {
+
+        final DefinitionPath definitionPath = this.createDefinition("success", "content");
+
+        assertEquals(GenerationStatus.SUCCESS, this.execute(definitionPath, false));
+        assertEquals(GenerationStatus.SKIPPED, this.execute(definitionPath, false));
+        assertEquals(1, TestGeneratorProvider.getExecutedFilePaths().size());
+    }
+
+    @Test
+    void testChangedDefinitionIsRebuilt() throws IOException {
+
+        final DefinitionPath definitionPath = this.createDefinition("success", "content");
+
+        assertEquals(GenerationStatus.SUCCESS, this.execute(definitionPath, false));
+
+        Files.writeString(Path.of(definitionPath.getFilePath()), "changed content");
+
+        assertEquals(GenerationStatus.SUCCESS, this.execute(definitionPath, false));
+        assertEquals(2, TestGeneratorProvider.getExecutedFilePaths().size());
+    }
+
+    @Test
+    void testTouchedDefinitionWithSameContentIsSkipped() throws IOException {
+
+        final DefinitionPath definitionPath = this.createDefinition("success", "content");
+        final Path filePath = Path.of(definitionPath.getFilePath());
+
+        assertEquals(GenerationStatus.SUCCESS, this.execute(definitionPath, false));
+
+        final FileTime touched = FileTime.fromMillis(Files.getLastModifiedTime(filePath).toMillis() + 60_000L);
+        Files.setLastModifiedTime(filePath, touched);
+
+        assertEquals(GenerationStatus.SKIPPED, this.execute(definitionPath, false));
+
+        // 内容のハッシュ値が一致した場合は次回以降の比較のために最終更新日時が更新される
+        assertEquals(touched.toMillis(), this.manifest.get(TestGenerator.class, definitionPath).getLastModified());
+    }
+
+    @Test
+    void testDeletedOutputFileIsRebuilt() throws IOException {
+
+        final DefinitionPath definitionPath = this.createDefinition(TestGeneratorProvider.WRITE_MARKER, "content");
+        final Path outputFile = Path.of(definitionPath.getOutputPath(), TestGeneratorProvider.OUTPUT_FILE_NAME);
+
+        assertEquals(GenerationStatus.SUCCESS, this.execute(definitionPath, false));
+        assertEquals(1, this.manifest.get(TestGenerator.class, definitionPath).getOutputFiles().size());
+
+        Files.delete(outputFile);
+
+        assertEquals(GenerationStatus.SUCCESS, this.execute(definitionPath, false));
+        assertEquals(GenerationStatus.SKIPPED, this.execute(definitionPath, false));
+        assertEquals(2, TestGeneratorProvider.getExecutedFilePaths().size());
+    }
+
+    @Test
+    void testModifiedOutputFileIsRebuilt() throws IOException {
+
+        final DefinitionPath definitionPath = this.createDefinition(TestGeneratorProvider.WRITE_MARKER, "content");
+        final Path outputFile = Path.of(definitionPath.getOutputPath(), TestGeneratorProvider.OUTPUT_FILE_NAME);
+
+        assertEquals(GenerationStatus.SUCCESS, this.execute(definitionPath, false));
+
+        Files.writeString(outputFile, "edited by hand");
+
+        assertEquals(GenerationStatus.SUCCESS, this.execute(definitionPath, false));
+    }
+
+    @Test
+    void testForceRebuild() throws IOException {
+
+        final DefinitionPath definitionPath = this.createDefinition("success", "content");
+
+        assertEquals(GenerationStatus.SUCCESS, this.execute(definitionPath, false));
+        assertEquals(GenerationStatus.SUCCESS, this.execute(definitionPath, true));
+        assertEquals(2, TestGeneratorProvider.getExecutedFilePaths().size());
+    }
+
+    @Test
+    void testFailureIsNotRecorded() throws IOException {
+
+        final DefinitionPath definitionPath = this.createDefinition(TestGeneratorProvider.FAILURE_MARKER, "content");
+
+        assertEquals(GenerationStatus.FAILURE, this.execute(definitionPath, false));
+        assertNull(this.manifest.get(TestGenerator.class, definitionPath));
+        assertEquals(GenerationStatus.FAILURE, this.execute(definitionPath, false));
+    }
+
+    @Test
+    void testSavedManifestIsReused() throws IOException {
+
+        final DefinitionPath definitionPath = this.createDefinition(TestGeneratorProvider.WRITE_MARKER, "content");
+
+        assertEquals(GenerationStatus.SUCCESS, this.execute(definitionPath, false));
+        this.manifest.save();
+
+        this.manifest = GenerationManifest.load(this.manifest.getManifestPath());
+
+        assertNotNull(this.manifest.get(TestGenerator.class, definitionPath));
+        assertEquals(GenerationStatus.SKIPPED, this.execute(definitionPath, false));
+    }
+
+    /**
+     * 引数として指定された定義書に対する生成器を増分生成として実行し、実行結果の状態を返却します。
+     *
+     * @param definitionPath 生成する定義のパスを管理するオブジェクト
+     * @param forceRebuild   強制再生成フラグ
+     * @return 実行結果の状態
+     */
+    private GenerationStatus execute(DefinitionPath definitionPath, boolean forceRebuild) {
+        return IncrementalExecutor.of(this.manifest, forceRebuild).execute(new TestGenerator(definitionPath))
+                .getStatus();
+    }
+
+    /**
+     * 引数として指定されたファイル名と内容の定義書と出力先を作成し、そのパスを管理するオブジェクトを返却します。
+     *
+     * @param fileName ファイル名
+     * @param content  定義書の内容
+     * @return 生成する定義のパスを管理するオブジェクト
+     */
+    private DefinitionPath createDefinition(String fileName, String content) throws IOException {
+        final Path filePath = this.workDirectory.resolve(fileName);
+        Files.writeString(filePath, content);
+        return DefinitionPath.of(filePath.toString(),
+                Files.createDirectories(this.workDirectory.resolve("output")).toString());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.workbook.common.reader.SheetDataCache;
+
+/**
+ * {@link SheetExecutor} クラスのテストです。
+ * <p>
+ * 定義書にはテスト用のリソース {@code workbook/basic.xlsx} を使用します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class SheetExecutorTest {
+
+    /**
+     * 定義書に存在するシート名
+     */
+    private static final List<String> SHEET_NAMES = List.of("定義", "Second");
+
+    /**
+     * 生成する定義のパスを管理するオブジェクト
+     */
+    private DefinitionPath definitionPath;
+
+    @BeforeEach
+    void setUp() throws URISyntaxException {
+        final String filePath = Paths.get(SheetExecutorTest.class.getResource("/workbook/basic.xlsx").toURI())
+                .toString();
+        this.definitionPath = DefinitionPath.of(filePath, Paths.get(filePath).resolveSibling("output").toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SheetDataCache.getInstance().invalidate(this.definitionPath);
+    }
+
+    @Test
+    void testResultsAreMergedInSheetOrder() throws Exception {
+
+        final List<IndexedSheet> sheets = createSheets(16);
+        final List<Integer> results = SheetExecutor.process(this.definitionPath, sheets, (sheet, sheetData) -> {
+            // 先頭のシートほど処理を遅らせ、終了順と登録順を異ならせる
+            Thread.sleep((sheets.size() - sheet.getIndex()) * 5L);
+            return sheet.getIndex();
+        });
+
+        assertEquals(IntStream.range(0, sheets.size()).boxed().collect(Collectors.toList()), results);
+    }
+
+    @Test
+    void testFailureCancelsRemainingSheets() throws Exception {
+
+        final List<IndexedSheet> sheets = createSheets(Runtime.getRuntime().availableProcessors() * 4 + 16);
+        final IOException failure = new IOException("failure");
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger startedCount = new AtomicInteger();
+
+        final IOException thrown = assertThrows(IOException.class,
+                () -> SheetExecutor.process(this.definitionPath, sheets, (sheet, sheetData) -> {
+                    startedCount.incrementAndGet();
+
+                    if (sheet.getIndex() == 0) {
+                        throw failure;
+                    }
+
+                    release.await(10L, TimeUnit.SECONDS);
+                    return sheet.getIndex();
+                }));
+
+        release.countDown();
+
+        // 取り消されていないシートは待機の解除後に速やかに開始されるため、一定時間待機して開始されないことを確認する
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500L);
+
+        while (startedCount.get() < sheets.size() && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        assertSame(failure, thrown);
+        assertTrue(startedCount.get() < sheets.size());
+    }
+
+    /**
+     * 定義書に存在するシートを交互に参照する指定された数のシートを生成し返却します。
+     *
+     * @param count シートの数
+     * @return シートの一覧
+     */
+    private static List<IndexedSheet> createSheets(int count) {
+
+        final List<IndexedSheet> sheets = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            sheets.add(new IndexedSheet(i, SHEET_NAMES.get(i % SHEET_NAMES.size())));
+        }
+
+        return sheets;
+    }
+
+    /**
+     * 登録順を保持するテスト用のシートです。
+     */
+    private static final class IndexedSheet implements Sheet {
+
+        /**
+         * 登録順
+         */
+        private final int index;
+
+        /**
+         * シート名
+         */
+        private final String sheetName;
+
+        /**
+         * コンストラクタ
+         *
+         * @param index     登録順
+         * @param sheetName シート名
+         */
+        IndexedSheet(int index, String sheetName) {
+            this.index = index;
+            this.sheetName = sheetName;
+        }
+
+        /**
+         * 登録順を返却します。
+         *
+         * @return 登録順
+         */
+        int getIndex() {
+            return this.index;
+        }
+
+        @Override
+        public String getString() {
+            return this.sheetName;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package org.thinkit.generator.workbook.common;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.thinkit.generator.common.Generator;
+import org.thinkit.generator.common.catalog.GeneratorDivision;
+
+/**
+ * テストで使用する生成器を提供するプロバイダです。
+ * <p>
+ * 当プロバイダは {@code META-INF/services} に登録され、生成器区分の先頭の定数に対する再利用可能な生成器を提供します。<br>
+ * 提供する生成器は実行した定義書のパスを記録し、定義書のパスに含まれる文字列に応じて以下の動作をします。
+ * <ul>
+ * <li>{@value #FAILURE_MARKER} : 異常終了します。</li>
+ * <li>{@value #ERROR_MARKER} : {@link AssertionError} を送出します。</li>
+ * <li>{@value #RUNAWAY_MARKER} : 割り込みと取り消しを無視して {@value #RUNAWAY_MILLIS} ミリ秒実行した後に正常終了します。</li>
+ * <li>{@value #COOPERATIVE_MARKER} : 取り消しが要求されるまで実行を続けます。</li>
+ * <li>{@value #WRITE_MARKER} : 出力先へ {@value #OUTPUT_FILE_NAME} を出力します。</li>
+ * </ul>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class TestGeneratorProvider implements GeneratorProvider {
+
+    /**
+     * 生成器を異常終了させる定義書のパスに含まれる文字列
+     */
+    static final String FAILURE_MARKER = "failure";
+
+    /**
+     * 生成器に {@link Error} を送出させる定義書のパスに含まれる文字列
+     */
+    static final String ERROR_MARKER = "error";
+
+    /**
+     * 生成器に割り込みと取り消しを無視させる定義書のパスに含まれる文字列
+     */
+    static final String RUNAWAY_MARKER = "runaway";
+
+    /**
+     * 生成器に取り消しが要求されるまで実行を続けさせる定義書のパスに含まれる文字列
+     */
+    static final String COOPERATIVE_MARKER = "cooperative";
+
+    /**
+     * 生成器にファイルを出力させる定義書のパスに含まれる文字列
+     */
+    static final String WRITE_MARKER = "write";
+
+    /**
+     * 生成器が出力するファイル名
+     */
+    static final String OUTPUT_FILE_NAME = "Output.txt";
+
+    /**
+     * 割り込みと取り消しを無視する生成器の実行時間(ミリ秒)
+     */
+    static final long RUNAWAY_MILLIS = 800L;
+
+    /**
+     * 実行された定義書のパス
+     */
+    private static final Queue<String> EXECUTED_FILE_PATHS = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 実行を終了した定義書のパス
+     */
+    private static final Queue<String> FINISHED_FILE_PATHS = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 生成した生成器の数
+     */
+    private static final AtomicInteger CREATED_COUNT = new AtomicInteger();
+
+    /**
+     * 当プロバイダが提供する生成器の生成器区分を返却します。
+     *
+     * @return 生成器区分
+     */
+    static GeneratorDivision getTestGeneratorDivision() {
+        return GeneratorDivision.values()[0];
+    }
+
+    /**
+     * 実行された定義書のパスを実行順に返却します。
+     *
+     * @return 実行された定義書のパス
+     */
+    static List<String> getExecutedFilePaths() {
+        return List.copyOf(EXECUTED_FILE_PATHS);
+    }
+
+    /**
+     * 実行を終了した定義書のパスを終了順に返却します。
+     *
+     * @return 実行を終了した定義書のパス
+     */
+    static List<String> getFinishedFilePaths() {
+        return List.copyOf(FINISHED_FILE_PATHS);
+    }
+
+    /**
+     * 当プロバイダが生成した生成器の数を返却します。
+     *
+     * @return 生成した生成器の数
+     */
+    static int getCreatedCount() {
+        return CREATED_COUNT.get();
+    }
+
+    /**
+     * 実行された定義書のパスと生成した生成器の数の記録を消去します。
+     */
+    static void clearExecutedFilePaths() {
+        EXECUTED_FILE_PATHS.clear();
+        FINISHED_FILE_PATHS.clear();
+        CREATED_COUNT.set(0);
+    }
+
+    @Override
+    public GeneratorDivision getGeneratorDivision() {
+        return getTestGeneratorDivision();
+    }
+
+    @Override
+    public Generator create(DefinitionPath definitionPath) {
+        CREATED_COUNT.incrementAndGet();
+        return new TestGenerator(definitionPath);
+    }
+
+    @Override
+    public boolean isReusable() {
+        return true;
+    }
+
+    /**
+     * 定義書のパスに応じて動作するテスト用の生成器です。
+     */
+    static final class TestGenerator extends AbstractGenerator {
+
+        /**
+         * コンストラクタ
+         *
+         * @param definitionPath 生成する定義のパスを管理するオブジェクト
+         */
+        TestGenerator(DefinitionPath definitionPath) {
+            super(definitionPath);
+        }
+
+        @Override
+        protected boolean run() {
+
+            final String filePath = this.getFilePath();
+            EXECUTED_FILE_PATHS.add(filePath);
+
+            try {
+                if (filePath.contains(ERROR_MARKER)) {
+                    throw new AssertionError(filePath);
+                }
+
+                if (filePath.contains(RUNAWAY_MARKER)) {
+                    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUNAWAY_MILLIS);
+
+                    while (System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                    }
+                }
+
+                if (filePath.contains(COOPERATIVE_MARKER)) {
+                    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+
+                    while (System.nanoTime() < deadline) {
+                        this.checkCancelled();
+                        Thread.onSpinWait();
+                    }
+                }
+
+                if (filePath.contains(WRITE_MARKER)) {
+                    this.submitOutput("", OUTPUT_FILE_NAME, filePath);
+                }
+
+                return !filePath.contains(FAILURE_MARKER);
+            } finally {
+                FINISHED_FILE_PATHS.add(filePath);
+            }
+        }
+    }
+}
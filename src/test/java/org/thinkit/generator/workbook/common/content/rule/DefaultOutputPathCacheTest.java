@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.content.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.common.catalog.Platform;
+import org.thinkit.generator.workbook.common.content.entity.DefaultOutputPath;
+
+/**
+ * {@link DefaultOutputPathCache} クラスのテストです。
+ * <p>
+ * キャッシュは全体で共有されるため、ヒット数とミス数はテスト開始時からの差分で検証します。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class DefaultOutputPathCacheTest {
+
+    /**
+     * 検証に使用するプラットフォーム
+     */
+    private static final Platform PLATFORM = Platform.getPlatform();
+
+    /**
+     * 出力先のデフォルトパスのキャッシュ
+     */
+    private final DefaultOutputPathCache cache = DefaultOutputPathCache.getInstance();
+
+    /**
+     * テスト開始時のヒット数
+     */
+    private long initialHitCount;
+
+    /**
+     * テスト開始時のミス数
+     */
+    private long initialMissCount;
+
+    @BeforeEach
+    void setUp() {
+        this.cache.invalidateAll();
+        this.initialHitCount = this.cache.getHitCount();
+        this.initialMissCount = this.cache.getMissCount();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.cache.invalidateAll();
+    }
+
+    @Test
+    void testSecondGetIsHit() {
+
+        final DefaultOutputPath defaultOutputPath = this.cache.get(PLATFORM);
+
+        assertSame(defaultOutputPath, this.cache.get(PLATFORM));
+        assertEquals(1L, this.cache.getHitCount() - this.initialHitCount);
+        assertEquals(1L, this.cache.getMissCount() - this.initialMissCount);
+    }
+
+    @Test
+    void testInvalidateReloads() {
+
+        this.cache.get(PLATFORM);
+        this.cache.invalidate(PLATFORM);
+        this.cache.get(PLATFORM);
+
+        assertEquals(0L, this.cache.getHitCount() - this.initialHitCount);
+        assertEquals(2L, this.cache.getMissCount() - this.initialMissCount);
+    }
+
+    @Test
+    void testInvalidateAllReloads() {
+
+        this.cache.get(PLATFORM);
+        this.cache.invalidateAll();
+        this.cache.get(PLATFORM);
+        this.cache.get(PLATFORM);
+
+        assertEquals(1L, this.cache.getHitCount() - this.initialHitCount);
+        assertEquals(2L, this.cache.getMissCount() - this.initialMissCount);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.content.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.workbook.common.content.entity.OutputSharding;
+
+/**
+ * {@link OutputRootConfiguration} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class OutputRootConfigurationTest {
+
+    /**
+     * システムプロパティ名の接頭辞
+     */
+    private static final String PROPERTY_PREFIX = "org.thinkit.generator.workbook.";
+
+    @Test
+    void testSystemPropertyPrecedesEnvironmentAndConfigFile() {
+
+        final OutputRootConfiguration configuration = OutputRootConfiguration.load(
+                properties("outputRoots", "/property"), Map.of("GENERATOR_OUTPUT_ROOTS", "/environment"),
+                config("outputRoots", "/config"));
+
+        assertEquals(List.of("/property"), configuration.getOutputRoots());
+    }
+
+    @Test
+    void testEnvironmentPrecedesConfigFile() {
+
+        final OutputRootConfiguration configuration = OutputRootConfiguration.load(new Properties(),
+                Map.of("GENERATOR_OUTPUT_ROOTS", "/environment"), config("outputRoots", "/config"));
+
+        assertEquals(List.of("/environment"), configuration.getOutputRoots());
+    }
+
+    @Test
+    void testBlankValueFallsThrough() {
+
+        final OutputRootConfiguration configuration = OutputRootConfiguration.load(properties("outputRoots", " "),
+                Map.of("GENERATOR_OUTPUT_ROOTS", ""), config("outputRoots", "/config"));
+
+        assertEquals(List.of("/config"), configuration.getOutputRoots());
+    }
+
+    @Test
+    void testTenantOverridePrecedesOutputRoots() {
+
+        final Properties systemProperties = properties("outputRoots", "/property");
+        systemProperties.setProperty(PROPERTY_PREFIX + "tenant", "team-a");
+
+        final OutputRootConfiguration configuration = OutputRootConfiguration.load(systemProperties, Map.of(),
+                config("outputRoots.team-a", "/config-team-a"));
+
+        assertEquals(List.of("/config-team-a"), configuration.getOutputRoots());
+        assertEquals("team-a", configuration.getTenant());
+        assertEquals(OutputSharding.TENANT, configuration.getOutputSharding());
+    }
+
+    @Test
+    void testTenantOverrideFromEnvironment() {
+
+        final Properties configFile = config("outputRoots.team-a", "/config-team-a");
+        configFile.setProperty("outputRoots", "/config");
+
+        final OutputRootConfiguration configuration = OutputRootConfiguration.load(new Properties(),
+                Map.of("GENERATOR_TENANT", "team-a", "GENERATOR_OUTPUT_ROOTS_TEAM_A", "/environment-team-a"),
+                configFile);
+
+        assertEquals(List.of("/environment-team-a"), configuration.getOutputRoots());
+    }
+
+    @Test
+    void testTenantOverrideFromSystemPropertyPrecedesEnvironment() {
+
+        final OutputRootConfiguration configuration = OutputRootConfiguration.load(
+                properties("outputRoots.team-a", "/property-team-a"),
+                Map.of("GENERATOR_TENANT", "team-a", "GENERATOR_OUTPUT_ROOTS_TEAM_A", "/environment-team-a"),
+                new Properties());
+
+        assertEquals(List.of("/property-team-a"), configuration.getOutputRoots());
+    }
+
+    @Test
+    void testTenantEnvironmentName() {
+        assertEquals("GENERATOR_OUTPUT_ROOTS_TEAM_A_1", OutputRootConfiguration.toTenantEnvironmentName("team.a-1"));
+    }
+
+    @Test
+    void testOutputRootsAreSplit() {
+
+        final OutputRootConfiguration configuration = OutputRootConfiguration.load(
+                properties("outputRoots", " /first, ,/second" + File.pathSeparator + "/third "), Map.of(),
+                new Properties());
+
+        assertEquals(List.of("/first", "/second", "/third"), configuration.getOutputRoots());
+    }
+
+    @Test
+    void testOutputSharding() {
+
+        assertEquals(OutputSharding.DEFINITION_HASH,
+                OutputRootConfiguration.load(new Properties(), Map.of(), new Properties()).getOutputSharding());
+        assertEquals(OutputSharding.DEFINITION_HASH, OutputRootConfiguration
+                .load(new Properties(), Map.of("GENERATOR_OUTPUT_SHARDING", " definition_hash "), new Properties())
+                .getOutputSharding());
+        assertThrows(IllegalArgumentException.class, () -> OutputRootConfiguration
+                .load(properties("outputSharding", "unknown"), Map.of(), new Properties()));
+    }
+
+    /**
+     * 引数として指定された設定キーと値を持つシステムプロパティを返却します。
+     *
+     * @param key   設定キー
+     * @param value 設定値
+     * @return システムプロパティ
+     */
+    private static Properties properties(String key, String value) {
+        final Properties properties = new Properties();
+        properties.setProperty(PROPERTY_PREFIX + key, value);
+        return properties;
+    }
+
+    /**
+     * 引数として指定された設定キーと値を持つ設定ファイルの内容を返却します。
+     *
+     * @param key   設定キー
+     * @param value 設定値
+     * @return 設定ファイルの内容
+     */
+    private static Properties config(String key, String value) {
+        final Properties properties = new Properties();
+        properties.setProperty(key, value);
+        return properties;
+    }
+}
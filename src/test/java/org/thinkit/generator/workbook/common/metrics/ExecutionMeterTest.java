@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.workbook.common.DefinitionPath;
+import org.thinkit.generator.workbook.common.GenerationStatus;
+
+/**
+ * {@link ExecutionMeter} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class ExecutionMeterTest {
+
+    /**
+     * ワーカースレッドで割り当てるバイト数
+     */
+    private static final int WORKER_ALLOCATED_BYTES = 8 * 1024 * 1024;
+
+    /**
+     * ワーカースレッドで消費するCPU時間(ミリ秒)
+     */
+    private static final long WORKER_CPU_MILLIS = 100L;
+
+    /**
+     * 割り当てたバイト列(最適化で割り当てが省略されないように保持する)
+     */
+    private static volatile byte[] allocated;
+
+    @Test
+    void testWorkerThreadsAreAggregated() {
+
+        final ExecutionMeter executionMeter = ExecutionMeter.start();
+
+        // 計測を開始したスレッドはワーカースレッドの終了を待機するだけでCPU時間と割り当てをほとんど消費しない
+        CompletableFuture.runAsync(() -> {
+            final ExecutionMeter.WorkerMeter workerMeter = executionMeter.startWorker();
+
+            try {
+                allocated = new byte[WORKER_ALLOCATED_BYTES];
+                spin(WORKER_CPU_MILLIS);
+            } finally {
+                workerMeter.stop();
+            }
+        }).join();
+
+        final ExecutionMetric executionMetric = executionMeter.stop("generator",
+                DefinitionPath.of("definition.xlsx", "output"), GenerationStatus.SUCCESS);
+
+        assumeTrue(executionMetric.getAllocatedBytes() != ExecutionMetric.UNSUPPORTED);
+        assertTrue(executionMetric.getAllocatedBytes() >= WORKER_ALLOCATED_BYTES);
+
+        assumeTrue(executionMetric.getCpuNanos() != ExecutionMetric.UNSUPPORTED);
+        assertTrue(executionMetric.getCpuNanos() >= TimeUnit.MILLISECONDS.toNanos(WORKER_CPU_MILLIS) / 2L);
+    }
+
+    /**
+     * 引数として指定された時間だけCPUを消費します。
+     *
+     * @param millis CPUを消費する時間(ミリ秒)
+     */
+    private static void spin(long millis) {
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
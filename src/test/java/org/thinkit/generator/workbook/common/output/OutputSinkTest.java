@@ -0,0 +1,287 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.generator.workbook.common.output;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link OutputSink} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class OutputSinkTest {
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * 出力先のディレクトリ
+     */
+    private Path outputDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.workDirectory = Files.createTempDirectory("output-sink").toRealPath();
+        this.outputDirectory = Files.createDirectory(this.workDirectory.resolve("output"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        OutputHashIndex.clear();
+        FileUtils.deleteDirectory(this.workDirectory.toFile());
+    }
+
+    @Test
+    void testFlushWaitsForEarlierSubmits() throws IOException {
+
+        final OutputSink outputSink = OutputSink.of(packageName -> this.outputDirectory, 4);
+
+        try {
+            for (int i = 0; i < 200; i++) {
+                outputSink.submit("", "File" + i + ".txt", "content" + i);
+            }
+
+            outputSink.flush();
+
+            assertEquals(200, outputSink.getWrittenCount());
+
+            for (int i = 0; i < 200; i++) {
+                assertEquals("content" + i, this.read("File" + i + ".txt"));
+            }
+        } finally {
+            outputSink.close();
+        }
+
+        assertEquals(200, outputSink.getOutputFiles().size());
+    }
+
+    @Test
+    void testOverwriteLeavesNoTemporaryFiles() throws IOException {
+
+        Files.writeString(this.outputDirectory.resolve("File.txt"), "before");
+
+        final OutputSink outputSink = OutputSink.of(packageName -> this.outputDirectory, 4);
+
+        try {
+            outputSink.submit("", "File.txt", "after");
+        } finally {
+            outputSink.close();
+        }
+
+        assertEquals("after", this.read("File.txt"));
+        assertEquals(List.of("File.txt"), this.listFileNames());
+    }
+
+    @Test
+    void testFlushThrowsWriteFailure() throws IOException {
+
+        final Path missingDirectory = this.outputDirectory.resolve("missing");
+        final OutputSink outputSink = OutputSink.of(packageName -> missingDirectory, 4);
+
+        try {
+            outputSink.submit("", "File.txt", "content");
+
+            assertThrows(UncheckedIOException.class, outputSink::flush);
+        } finally {
+            outputSink.close();
+        }
+
+        assertEquals(0, outputSink.getWrittenCount());
+        assertEquals(List.of(), this.listFileNames());
+    }
+
+    @Test
+    void testCompareContentSkipsUnchangedFile() throws IOException {
+
+        final FileTime lastModified = this.writeOld("Same.txt", "same");
+        this.writeOld("Changed.txt", "before");
+
+        final OutputSink outputSink = this.open(WriteMode.COMPARE_CONTENT);
+
+        try {
+            outputSink.submit("", "Same.txt", "same");
+            outputSink.submit("", "Changed.txt", "after");
+        } finally {
+            outputSink.close();
+        }
+
+        assertEquals(1, outputSink.getWrittenCount());
+        assertEquals(1, outputSink.getSkippedCount());
+        assertEquals(2, outputSink.getOutputFiles().size());
+        assertEquals(lastModified, Files.getLastModifiedTime(this.outputDirectory.resolve("Same.txt")));
+        assertEquals("after", this.read("Changed.txt"));
+    }
+
+    @Test
+    void testAlwaysRewritesUnchangedFile() throws IOException {
+
+        final FileTime lastModified = this.writeOld("Same.txt", "same");
+        final OutputSink outputSink = this.open(WriteMode.ALWAYS);
+
+        try {
+            outputSink.submit("", "Same.txt", "same");
+        } finally {
+            outputSink.close();
+        }
+
+        assertEquals(1, outputSink.getWrittenCount());
+        assertEquals(0, outputSink.getSkippedCount());
+        assertNotEquals(lastModified, Files.getLastModifiedTime(this.outputDirectory.resolve("Same.txt")));
+    }
+
+    @Test
+    void testHashIndexSkipsUnchangedFile() throws IOException {
+
+        final OutputSink firstSink = this.open(WriteMode.HASH_INDEX);
+
+        try {
+            firstSink.submit("", "Same.txt", "same");
+        } finally {
+            firstSink.close();
+        }
+
+        final Path indexPath = OutputHashIndex.forDirectory(this.outputDirectory).getIndexPath();
+        final FileTime lastModified = Files.getLastModifiedTime(this.outputDirectory.resolve("Same.txt"));
+
+        assertEquals(1, firstSink.getWrittenCount());
+        assertTrue(Files.exists(indexPath));
+
+        OutputHashIndex.clear();
+        final OutputSink secondSink = this.open(WriteMode.HASH_INDEX);
+
+        try {
+            secondSink.submit("", "Same.txt", "same");
+        } finally {
+            secondSink.close();
+        }
+
+        assertEquals(0, secondSink.getWrittenCount());
+        assertEquals(1, secondSink.getSkippedCount());
+        assertEquals(lastModified, Files.getLastModifiedTime(this.outputDirectory.resolve("Same.txt")));
+    }
+
+    @Test
+    void testHashIndexRewritesFileChangedSinceIndexed() throws IOException {
+
+        final OutputSink firstSink = this.open(WriteMode.HASH_INDEX);
+
+        try {
+            firstSink.submit("", "File.txt", "same");
+        } finally {
+            firstSink.close();
+        }
+
+        this.writeOld("File.txt", "edit");
+
+        final OutputSink secondSink = this.open(WriteMode.HASH_INDEX);
+
+        try {
+            secondSink.submit("", "File.txt", "same");
+        } finally {
+            secondSink.close();
+        }
+
+        assertEquals(1, secondSink.getWrittenCount());
+        assertEquals(0, secondSink.getSkippedCount());
+        assertEquals("same", this.read("File.txt"));
+    }
+
+    @Test
+    void testSubmitAfterCloseIsRejected() {
+
+        final OutputSink outputSink = OutputSink.of(packageName -> this.outputDirectory, 4);
+        outputSink.close();
+
+        assertThrows(IllegalStateException.class, () -> outputSink.submit("", "File.txt", "content"));
+        assertThrows(IllegalStateException.class, outputSink::flush);
+    }
+
+    /**
+     * 出力先のディレクトリへ引数として指定された書き込み方法で書き込む {@link OutputSink} を生成し返却します。
+     *
+     * @param writeMode 書き込み方法
+     * @return {@link OutputSink} クラスの新しいインスタンス
+     */
+    private OutputSink open(WriteMode writeMode) {
+        return OutputSink.of(packageName -> this.outputDirectory, 4, writeMode, this.outputDirectory);
+    }
+
+    /**
+     * 出力先のディレクトリへ引数として指定された内容のファイルを書き込み、最終更新日時を過去の日時に設定します。
+     *
+     * @param fileName ファイル名
+     * @param content  ファイルの内容
+     * @return 設定した最終更新日時
+     *
+     * @throws IOException ファイルの書き込みに失敗した場合
+     */
+    private FileTime writeOld(String fileName, String content) throws IOException {
+
+        final Path filePath = this.outputDirectory.resolve(fileName);
+        final FileTime lastModified = FileTime.fromMillis(1_000_000_000_000L);
+
+        Files.writeString(filePath, content, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(filePath, lastModified);
+
+        return lastModified;
+    }
+
+    /**
+     * 出力先のディレクトリにある引数として指定されたファイルの内容を返却します。
+     *
+     * @param fileName ファイル名
+     * @return ファイルの内容
+     *
+     * @throws IOException ファイルの読み込みに失敗した場合
+     */
+    private String read(String fileName) throws IOException {
+        return Files.readString(this.outputDirectory.resolve(fileName), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 出力先のディレクトリにあるファイル名の一覧を返却します。
+     *
+     * @return ファイル名の一覧
+     *
+     * @throws IOException ディレクトリの読み込みに失敗した場合
+     */
+    private List<String> listFileNames() throws IOException {
+        try (Stream<Path> files = Files.list(this.outputDirectory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package org.thinkit.generator.workbook.common.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.workbook.common.reader.SheetDataStore.FileStamp;
+
+/**
+ * {@link SheetDataStore} クラスのテストです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class SheetDataStoreTest {
+
+    /**
+     * テストで使用するシートの解析結果
+     */
+    private static final SheetData SHEET_DATA = SheetData.of("定義",
+            List.of(WorkbookRow.of(0, List.of("項目名", "", "name")), WorkbookRow.of(3, List.of()),
+                    WorkbookRow.of(200, List.of("ⅰ", "😀"))));
+
+    /**
+     * 作業ディレクトリ
+     */
+    private Path workDirectory;
+
+    /**
+     * 定義書のパス
+     */
+    private Path definitionPath;
+
+    /**
+     * 保存先のディレクトリ
+     */
+    private Path storeDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.workDirectory = Files.createTempDirectory("sheet-data-store");
+        this.definitionPath = Files.writeString(this.workDirectory.resolve("definition.xlsx"), "definition");
+        this.storeDirectory = this.workDirectory.resolve("store");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.workDirectory.toFile());
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+
+        final SheetDataStore store = SheetDataStore.of(this.storeDirectory);
+        store.store(this.definitionPath, FileStamp.of(this.definitionPath), SHEET_DATA);
+
+        assertEquals(Optional.of(SHEET_DATA), store.load(this.definitionPath, "定義"));
+        assertEquals(Optional.of(SHEET_DATA),
+                SheetDataStore.of(this.storeDirectory).load(this.definitionPath, "定義"));
+        assertEquals(Optional.empty(), store.load(this.definitionPath, "Second"));
+    }
+
+    @Test
+    void testLoadAfterDefinitionChanged() throws IOException {
+
+        final SheetDataStore store = SheetDataStore.of(this.storeDirectory);
+        store.store(this.definitionPath, FileStamp.of(this.definitionPath), SHEET_DATA);
+        Files.writeString(this.definitionPath, "changed definition");
+
+        assertEquals(Optional.empty(), store.load(this.definitionPath, "定義"));
+    }
+
+    @Test
+    void testStoreAfterDefinitionChanged() throws IOException {
+
+        final SheetDataStore store = SheetDataStore.of(this.storeDirectory);
+        final FileStamp parsedFrom = FileStamp.of(this.definitionPath);
+        Files.writeString(this.definitionPath, "changed during parsing");
+        store.store(this.definitionPath, parsedFrom, SHEET_DATA);
+
+        assertTrue(this.listEntries().isEmpty());
+    }
+
+    @Test
+    void testSchemaVersionMismatch() throws IOException {
+
+        final SheetDataStore store = SheetDataStore.of(this.storeDirectory);
+        store.store(this.definitionPath, FileStamp.of(this.definitionPath), SHEET_DATA);
+
+        final List<Path> entries = this.listEntries();
+        assertEquals(1, entries.size());
+
+        // マジックナンバー(4バイト)の直後に1バイトの可変長整数としてスキーマバージョンが書き込まれる
+        final byte[] bytes = Files.readAllBytes(entries.get(0));
+        assertEquals(SheetDataStore.SCHEMA_VERSION, bytes[4]);
+        bytes[4] = (byte) (SheetDataStore.SCHEMA_VERSION + 1);
+        Files.write(entries.get(0), bytes);
+
+        assertEquals(Optional.empty(), store.load(this.definitionPath, "定義"));
+        assertFalse(Files.exists(entries.get(0)));
+    }
+
+    @Test
+    void testSchemaVersionDirectory() throws IOException {
+
+        SheetDataStore.of(this.storeDirectory).store(this.definitionPath, FileStamp.of(this.definitionPath),
+                SHEET_DATA);
+
+        assertTrue(Files.isDirectory(this.storeDirectory.resolve("v" + SheetDataStore.SCHEMA_VERSION)));
+    }
+
+    @Test
+    void testCorruptedEntry() throws IOException {
+
+        final SheetDataStore store = SheetDataStore.of(this.storeDirectory);
+        store.store(this.definitionPath, FileStamp.of(this.definitionPath), SHEET_DATA);
+
+        final Path entry = this.listEntries().get(0);
+        final byte[] bytes = Files.readAllBytes(entry);
+        Files.write(entry, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertEquals(Optional.empty(), store.load(this.definitionPath, "定義"));
+        assertFalse(Files.exists(entry));
+    }
+
+    @Test
+    void testDisabled() throws IOException {
+
+        final SheetDataStore store = SheetDataStore.disabled();
+        store.store(this.definitionPath, FileStamp.of(this.definitionPath), SHEET_DATA);
+
+        assertFalse(store.isEnabled());
+        assertEquals(Optional.empty(), store.load(this.definitionPath, "定義"));
+        assertFalse(Files.exists(this.storeDirectory));
+    }
+
+    /**
+     * 保存先のディレクトリに保存された解析結果のファイルを返却します。
+     *
+     * @return 保存された解析結果のファイル
+     */
+    private List<Path> listEntries() throws IOException {
+
+        if (!Files.exists(this.storeDirectory)) {
+            return List.of();
+        }
+
+        try (Stream<Path> paths = Files.walk(this.storeDirectory)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(".sheet")).collect(Collectors.toList());
+        }
+    }
+}
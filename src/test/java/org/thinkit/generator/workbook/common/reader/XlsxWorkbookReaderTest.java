@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package org.thinkit.generator.workbook.common.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.thinkit.generator.workbook.common.Sheet;
+
+/**
+ * {@link XlsxWorkbookReader} クラスのテストです。
+ * <p>
+ * テストに使用する定義書は {@code src/test/resources/workbook} に配置されています。<br>
+ * {@code basic.xlsx} はふりがな付きの共有文字列、リッチテキスト、インライン文字列、数値、真偽値、数式と欠落したセルを含むシート
+ * {@code 定義} と、セル参照と行番号を持たないシート {@code Second} から構成されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class XlsxWorkbookReaderTest {
+
+    /**
+     * テストで使用するシートを定義したEnumです。
+     */
+    private enum TestSheet implements Sheet {
+
+        /**
+         * 様々な形式のセルを含むシート
+         */
+        DEFINITION("定義"),
+
+        /**
+         * セル参照と行番号を持たないシート
+         */
+        SECOND("Second"),
+
+        /**
+         * 定義書に存在しないシート
+         */
+        MISSING("Missing");
+
+        /**
+         * シート名
+         */
+        private final String sheetName;
+
+        /**
+         * コンストラクタ
+         *
+         * @param sheetName シート名
+         */
+        TestSheet(String sheetName) {
+            this.sheetName = sheetName;
+        }
+
+        @Override
+        public String getString() {
+            return this.sheetName;
+        }
+    }
+
+    @Test
+    void testGetSheetNames() throws Exception {
+        try (XlsxWorkbookReader reader = XlsxWorkbookReader.of(getFixture("basic.xlsx"))) {
+            assertEquals(List.of("定義", "Second"), reader.getSheetNames());
+        }
+    }
+
+    @Test
+    void testReadCellValues() throws Exception {
+
+        final List<WorkbookRow> rows = read("basic.xlsx", TestSheet.DEFINITION);
+
+        assertEquals(2, rows.size());
+        assertEquals(WorkbookRow.of(0, List.of("項目名", "name", "inline")), rows.get(0));
+        assertEquals(WorkbookRow.of(2, List.of("42", "", "true", "calc", "abcd")), rows.get(1));
+    }
+
+    @Test
+    void testReadWithoutCellReferences() throws Exception {
+
+        final List<WorkbookRow> rows = read("basic.xlsx", TestSheet.SECOND);
+
+        assertEquals(List.of(WorkbookRow.of(0, List.of("1", "2")), WorkbookRow.of(1, List.of("false"))), rows);
+    }
+
+    @Test
+    void testReadWithoutSharedStrings() throws Exception {
+
+        final List<WorkbookRow> rows = new ArrayList<>();
+
+        try (XlsxWorkbookReader reader = XlsxWorkbookReader.of(getFixture("inline-only.xlsx"))) {
+            reader.read(() -> "Sheet1", rows::add);
+        }
+
+        assertEquals(List.of(WorkbookRow.of(1, List.of("", "only"))), rows);
+    }
+
+    @Test
+    void testStopReading() throws Exception {
+
+        final List<WorkbookRow> rows = new ArrayList<>();
+
+        try (XlsxWorkbookReader reader = XlsxWorkbookReader.of(getFixture("basic.xlsx"))) {
+            reader.read(TestSheet.DEFINITION, row -> {
+                rows.add(row);
+                return false;
+            });
+        }
+
+        assertEquals(1, rows.size());
+        assertEquals(0, rows.get(0).getRowIndex());
+    }
+
+    @Test
+    void testReadMissingSheet() throws Exception {
+        try (XlsxWorkbookReader reader = XlsxWorkbookReader.of(getFixture("basic.xlsx"))) {
+            assertThrows(IllegalArgumentException.class, () -> reader.read(TestSheet.MISSING, row -> true));
+        }
+    }
+
+    @Test
+    void testSupports() {
+        assertTrue(XlsxWorkbookReader.supports(Paths.get("definition.xlsx")));
+        assertTrue(XlsxWorkbookReader.supports(Paths.get("DEFINITION.XLSM")));
+        assertFalse(XlsxWorkbookReader.supports(Paths.get("definition.xls")));
+    }
+
+    /**
+     * 引数として指定された定義書のシートを全て読み込み、読み込んだ行を返却します。
+     *
+     * @param fileName 定義書のファイル名
+     * @param sheet    シート
+     * @return 読み込んだ行
+     */
+    private static List<WorkbookRow> read(String fileName, Sheet sheet) throws Exception {
+
+        final List<WorkbookRow> rows = new ArrayList<>();
+
+        try (XlsxWorkbookReader reader = XlsxWorkbookReader.of(getFixture(fileName))) {
+            reader.read(sheet, rows::add);
+        }
+
+        return rows;
+    }
+
+    /**
+     * 引数として指定されたテスト用の定義書のパスを返却します。
+     *
+     * @param fileName 定義書のファイル名
+     * @return 定義書のパス
+     */
+    static Path getFixture(String fileName) throws URISyntaxException {
+        return Paths.get(XlsxWorkbookReaderTest.class.getResource("/workbook/" + fileName).toURI());
+    }
+}